@@ -2,11 +2,13 @@ package com.fullstackmall;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * FullStackMall商城应用启动类
  */
 @SpringBootApplication
+@EnableScheduling
 public class FullStackMallApplication {
 
     public static void main(String[] args) {
@@ -13,6 +13,8 @@ import javax.sql.DataSource;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 数据初始化器
@@ -118,8 +120,10 @@ public class DataInitializer implements CommandLineRunner {
     private void initializeProducts() {
         // 如果没有商品数据，则初始化商品数据
         if (productRepository.count() == 0) {
-            // 初始化商品数据
-            createInitialProducts();
+            // 初始化商品数据，一次saveAll以便批量插入
+            List<Product> products = new ArrayList<>();
+            createInitialProducts(products);
+            productRepository.saveAll(products);
             System.out.println("初始化商品数据完成，共创建 " + productRepository.count() + " 个商品");
         } else {
             System.out.println("商品数据已存在，跳过初始化");
@@ -165,44 +169,44 @@ public class DataInitializer implements CommandLineRunner {
         }
     }
 
-    private void createInitialProducts() {
+    private void createInitialProducts(List<Product> products) {
         // 电子产品分类
-        createProduct("iPhone 15 Pro", "苹果最新旗舰手机，搭载A17 Pro芯片", new BigDecimal("7999"), 50, "电子产品",
+        createProduct(products, "iPhone 15 Pro", "苹果最新旗舰手机，搭载A17 Pro芯片", new BigDecimal("7999"), 50, "电子产品",
                 "/images/products/iphone15pro.svg");
-        createProduct("MacBook Air M3", "轻薄便携的笔记本电脑，适合办公和学习", new BigDecimal("8999"), 30, "电子产品",
+        createProduct(products, "MacBook Air M3", "轻薄便携的笔记本电脑，适合办公和学习", new BigDecimal("8999"), 30, "电子产品",
                 "/images/products/macbook.svg");
-        createProduct("AirPods Pro", "主动降噪无线耳机，音质卓越", new BigDecimal("1899"), 100, "电子产品",
+        createProduct(products, "AirPods Pro", "主动降噪无线耳机，音质卓越", new BigDecimal("1899"), 100, "电子产品",
                 "/images/products/airpods.svg");
-        createProduct("iPad Air", "多功能平板电脑，支持Apple Pencil", new BigDecimal("4399"), 40, "电子产品",
+        createProduct(products, "iPad Air", "多功能平板电脑，支持Apple Pencil", new BigDecimal("4399"), 40, "电子产品",
                 "/images/products/ipad.svg");
 
         // 服装分类
-        createProduct("经典白衬衫", "100%纯棉，商务休闲两相宜", new BigDecimal("299"), 200, "服装", "/images/products/shirt.svg");
-        createProduct("牛仔裤", "经典蓝色牛仔裤，舒适耐穿", new BigDecimal("399"), 150, "服装", "/images/products/jeans.svg");
-        createProduct("运动鞋", "透气舒适的跑步鞋，适合日常运动", new BigDecimal("699"), 80, "服装", "/images/products/shoes.svg");
-        createProduct("针织毛衣", "柔软保暖的羊毛毛衣，多色可选", new BigDecimal("599"), 120, "服装",
+        createProduct(products, "经典白衬衫", "100%纯棉，商务休闲两相宜", new BigDecimal("299"), 200, "服装", "/images/products/shirt.svg");
+        createProduct(products, "牛仔裤", "经典蓝色牛仔裤，舒适耐穿", new BigDecimal("399"), 150, "服装", "/images/products/jeans.svg");
+        createProduct(products, "运动鞋", "透气舒适的跑步鞋，适合日常运动", new BigDecimal("699"), 80, "服装", "/images/products/shoes.svg");
+        createProduct(products, "针织毛衣", "柔软保暖的羊毛毛衣，多色可选", new BigDecimal("599"), 120, "服装",
                 "/images/products/sweater.svg");
 
         // 图书分类
-        createProduct("Java编程思想", "Java编程经典教材，程序员必读", new BigDecimal("89"), 60, "图书",
+        createProduct(products, "Java编程思想", "Java编程经典教材，程序员必读", new BigDecimal("89"), 60, "图书",
                 "/images/products/java-book.svg");
-        createProduct("Spring Boot实战", "Spring Boot框架实战指南", new BigDecimal("79"), 45, "图书",
+        createProduct(products, "Spring Boot实战", "Spring Boot框架实战指南", new BigDecimal("79"), 45, "图书",
                 "/images/products/spring-book.svg");
-        createProduct("算法导论", "计算机科学经典教材", new BigDecimal("128"), 35, "图书",
+        createProduct(products, "算法导论", "计算机科学经典教材", new BigDecimal("128"), 35, "图书",
                 "/images/products/algorithm-book.svg");
-        createProduct("设计模式", "软件设计模式详解", new BigDecimal("98"), 50, "图书",
+        createProduct(products, "设计模式", "软件设计模式详解", new BigDecimal("98"), 50, "图书",
                 "/images/products/design-pattern-book.svg");
 
         // 家居用品分类
-        createProduct("北欧风台灯", "简约设计台灯，护眼LED光源", new BigDecimal("299"), 90, "家居用品", "/images/products/lamp.svg");
-        createProduct("懒人沙发", "舒适的单人沙发，适合小户型", new BigDecimal("899"), 25, "家居用品", "/images/products/sofa.svg");
-        createProduct("收纳盒套装", "多功能收纳盒，整理收纳好帮手", new BigDecimal("159"), 200, "家居用品",
+        createProduct(products, "北欧风台灯", "简约设计台灯，护眼LED光源", new BigDecimal("299"), 90, "家居用品", "/images/products/lamp.svg");
+        createProduct(products, "懒人沙发", "舒适的单人沙发，适合小户型", new BigDecimal("899"), 25, "家居用品", "/images/products/sofa.svg");
+        createProduct(products, "收纳盒套装", "多功能收纳盒，整理收纳好帮手", new BigDecimal("159"), 200, "家居用品",
                 "/images/products/storage.svg");
-        createProduct("香薰蜡烛", "天然大豆蜡香薰蜡烛，多种香型", new BigDecimal("68"), 300, "家居用品",
+        createProduct(products, "香薰蜡烛", "天然大豆蜡香薰蜡烛，多种香型", new BigDecimal("68"), 300, "家居用品",
                 "/images/products/candle.svg");
     }
 
-    private void createProduct(String name, String description, BigDecimal price, int stock, String category,
+    private void createProduct(List<Product> products, String name, String description, BigDecimal price, int stock, String category,
             String imageUrl) {
         Product product = new Product();
         product.setName(name);
@@ -211,6 +215,6 @@ public class DataInitializer implements CommandLineRunner {
         product.setStock(stock);
         product.setCategory(category);
         product.setImageUrl(imageUrl);
-        productRepository.save(product);
+        products.add(product);
     }
 }
\ No newline at end of file
@@ -1,10 +1,28 @@
 package com.fullstackmall.controller;
 
 import com.fullstackmall.dto.ApiResponse;
+import com.fullstackmall.dto.BulkStatusUpdateRequest;
+import com.fullstackmall.dto.BulkStatusUpdateResult;
+import com.fullstackmall.dto.CheckoutRequest;
 import com.fullstackmall.dto.CreateOrderRequest;
+import com.fullstackmall.dto.LiveSales;
+import com.fullstackmall.dto.OrderIntakeStatus;
+import com.fullstackmall.dto.OrderSearchCriteria;
+import com.fullstackmall.dto.OrderStatistics;
+import com.fullstackmall.dto.OrderSummaryDto;
+import com.fullstackmall.dto.ReorderResult;
 import com.fullstackmall.entity.Order;
 import com.fullstackmall.entity.User;
+import com.fullstackmall.entity.UserOrderStats;
+import com.fullstackmall.entity.UserOrderView;
+import com.fullstackmall.service.IdempotencyService;
+import com.fullstackmall.service.OrderExportService;
+import com.fullstackmall.service.OrderGroupCommitter;
+import com.fullstackmall.service.OrderIntakeService;
 import com.fullstackmall.service.OrderService;
+import com.fullstackmall.service.OrderStatisticsService;
+import com.fullstackmall.service.SalesTelemetryService;
+import com.fullstackmall.service.UserOrderStatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,15 +31,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -33,21 +63,50 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class OrderController {
 
+    private static final long INTAKE_EVENTS_TIMEOUT_MS = 60_000L;
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private OrderIntakeService orderIntakeService;
+
+    @Autowired
+    private OrderGroupCommitter orderGroupCommitter;
+
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+
+    @Autowired
+    private SalesTelemetryService salesTelemetryService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private UserOrderStatsService userOrderStatsService;
+
     /**
      * 创建订单
      * 
-     * @param user          当前登录用户
-     * @param request       创建订单请求
-     * @param bindingResult 验证结果
+     * 未携带幂等键的请求经组提交服务与同一时间窗口内的其他订单合并提交；
+     * 携带 Idempotency-Key 请求头时，同一用户重复提交相同幂等键的请求将直接返回首次创建的订单，
+     * 并发的重复请求会等待首个请求执行完成
+     * 
+     * @param user           当前登录用户
+     * @param idempotencyKey 幂等键（可选）
+     * @param request        创建订单请求
+     * @param bindingResult  验证结果
      * @return 创建的订单
      */
     @PostMapping
-    @Operation(summary = "创建订单", description = "根据购物车内容或指定商品创建订单")
+    @Operation(summary = "创建订单", description = "根据购物车内容或指定商品创建订单，支持Idempotency-Key请求头防止重复下单")
     public ResponseEntity<ApiResponse<Order>> createOrder(
             @AuthenticationPrincipal User user,
+            @Parameter(description = "幂等键") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody CreateOrderRequest request,
             BindingResult bindingResult) {
 
@@ -60,12 +119,33 @@ public class OrderController {
                     .body(ApiResponse.error("VALIDATION_ERROR", "输入验证失败: " + errorMessage));
         }
 
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > 128)) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("INVALID_IDEMPOTENCY_KEY", "幂等键不能为空且长度不能超过128个字符"));
+        }
+
         try {
-            Order order = orderService.createOrder(user, request);
+            if (idempotencyKey == null) {
+                Order order = orderGroupCommitter.createOrder(user, request);
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .body(ApiResponse.success(order, "订单创建成功"));
+            }
+
+            // 幂等键须与订单在同一事务中写入，因此不经过组提交，但与组提交共用同一条订单写入流水线
+            IdempotencyService.Result result = idempotencyService.execute(
+                    user.getId(), idempotencyKey, IdempotencyService.hashOf(request),
+                    () -> orderService.createOrder(user, request));
             return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(ApiResponse.success(order, "订单创建成功"));
+                    .header("Idempotent-Replayed", String.valueOf(result.isReplayed()))
+                    .body(ApiResponse.success(result.getOrder(), "订单创建成功"));
         } catch (RuntimeException e) {
-            if (e.getMessage().contains("商品不存在")) {
+            if (e.getMessage().contains("幂等键已被其他请求使用")) {
+                return ResponseEntity.unprocessableEntity()
+                        .body(ApiResponse.error("IDEMPOTENCY_KEY_REUSED", e.getMessage()));
+            } else if (e.getMessage().contains("正在处理中")) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResponse.error("REQUEST_IN_PROGRESS", e.getMessage()));
+            } else if (e.getMessage().contains("商品不存在")) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("PRODUCT_NOT_FOUND", e.getMessage()));
             } else if (e.getMessage().contains("库存不足")) {
@@ -81,8 +161,156 @@ public class OrderController {
         }
     }
 
+    /**
+     * 购物车结算
+     * 
+     * @param user          当前登录用户
+     * @param request       结算请求
+     * @param bindingResult 验证结果
+     * @return 创建的订单
+     */
+    @PostMapping("/checkout")
+    @Operation(summary = "购物车结算", description = "将当前用户的购物车在一个事务内转换为订单并清空购物车")
+    public ResponseEntity<ApiResponse<Order>> checkout(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody CheckoutRequest request,
+            BindingResult bindingResult) {
+
+        // 检查验证错误
+        if (bindingResult.hasErrors()) {
+            String errorMessage = bindingResult.getFieldErrors().stream()
+                    .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                    .collect(Collectors.joining(", "));
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("VALIDATION_ERROR", "输入验证失败: " + errorMessage));
+        }
+
+        try {
+            Order order = orderService.checkout(user, request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success(order, "订单创建成功"));
+        } catch (RuntimeException e) {
+            if (e.getMessage().contains("购物车为空")) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("EMPTY_CART", e.getMessage()));
+            } else if (e.getMessage().contains("库存不足")) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("INSUFFICIENT_STOCK", e.getMessage()));
+            } else {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(ApiResponse.error("CHECKOUT_ERROR", "结算失败: " + e.getMessage()));
+            }
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("CHECKOUT_ERROR", "结算失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 异步创建订单
+     *
+     * 请求校验通过后进入下单队列并立即返回受理令牌，客户端通过令牌查询或订阅下单结果；
+     * 队列已满时返回503及Retry-After
+     *
+     * @param user          当前登录用户
+     * @param request       创建订单请求
+     * @param bindingResult 验证结果
+     * @return 受理状态
+     */
+    @PostMapping("/async")
+    @Operation(summary = "异步创建订单", description = "受理下单请求并返回令牌，下单结果通过 /orders/intake/{token} 查询")
+    public ResponseEntity<ApiResponse<OrderIntakeStatus>> createOrderAsync(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody CreateOrderRequest request,
+            BindingResult bindingResult) {
+
+        // 检查验证错误
+        if (bindingResult.hasErrors()) {
+            String errorMessage = bindingResult.getFieldErrors().stream()
+                    .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                    .collect(Collectors.joining(", "));
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("VALIDATION_ERROR", "输入验证失败: " + errorMessage));
+        }
+
+        Optional<OrderIntakeStatus> status = orderIntakeService.submit(user, request);
+        if (status.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.error("INTAKE_QUEUE_FULL", "下单请求过多，请稍后重试"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/orders/intake/" + status.get().getToken()))
+                .body(ApiResponse.success(status.get(), "下单请求已受理"));
+    }
+
+    /**
+     * 查询异步下单结果
+     *
+     * @param user  当前登录用户
+     * @param token 受理令牌
+     * @return 受理状态
+     */
+    @GetMapping("/intake/{token}")
+    @Operation(summary = "查询异步下单结果", description = "根据受理令牌查询异步下单的处理状态")
+    public ResponseEntity<ApiResponse<OrderIntakeStatus>> getIntakeStatus(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "受理令牌") @PathVariable String token) {
+
+        return orderIntakeService.getStatus(user, token)
+                .map(status -> ResponseEntity.ok(ApiResponse.success(status, "获取下单状态成功")))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("INTAKE_NOT_FOUND", "受理记录不存在或已过期")));
+    }
+
+    /**
+     * 订阅异步下单结果（Server-Sent Events）
+     *
+     * @param user  当前登录用户
+     * @param token 受理令牌
+     * @return 事件流，订单处理完成时推送一次结果后关闭
+     */
+    @GetMapping(value = "/intake/{token}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "订阅异步下单结果", description = "以SSE方式推送异步下单的处理结果")
+    public ResponseEntity<SseEmitter> subscribeIntake(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "受理令牌") @PathVariable String token) {
+
+        Optional<CompletableFuture<OrderIntakeStatus>> result = orderIntakeService.subscribe(user, token);
+        if (result.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(INTAKE_EVENTS_TIMEOUT_MS);
+        result.get().whenComplete((status, error) -> {
+            try {
+                emitter.send(SseEmitter.event().name("result").data(status, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * 获取异步下单队列状态（管理员功能）
+     *
+     * @return 队列深度与容量
+     */
+    @GetMapping("/admin/intake")
+    @Operation(summary = "获取下单队列状态", description = "获取异步下单队列的当前深度与容量（管理员权限）")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Object>> getIntakeQueue() {
+        return ResponseEntity.ok(ApiResponse.success(
+                Map.of("queueDepth", orderIntakeService.getQueueDepth(),
+                        "queueCapacity", orderIntakeService.getQueueCapacity()),
+                "获取下单队列状态成功"));
+    }
+
     /**
      * 获取当前用户的订单列表
+     * 读取订单列表读模型，每个订单只含商品数量及第一个商品的名称和图片，完整订单项见订单详情
      * 
      * @param user 当前登录用户
      * @param page 页码
@@ -90,15 +318,14 @@ public class OrderController {
      * @return 用户订单列表
      */
     @GetMapping("/my")
-    @Operation(summary = "获取我的订单", description = "获取当前用户的订单列表")
-    public ResponseEntity<ApiResponse<Page<Order>>> getMyOrders(
+    @Operation(summary = "获取我的订单", description = "获取当前用户的订单列表，按下单时间倒序")
+    public ResponseEntity<ApiResponse<Page<UserOrderView>>> getMyOrders(
             @AuthenticationPrincipal User user,
             @Parameter(description = "页码") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "每页大小") @RequestParam(defaultValue = "10") int size) {
 
         try {
-            Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-            Page<Order> orders = orderService.findByUser(user, pageable);
+            Page<UserOrderView> orders = orderService.findOrderViewsByUser(user, PageRequest.of(page, size));
             return ResponseEntity.ok(ApiResponse.success(orders, "获取订单列表成功"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -106,6 +333,23 @@ public class OrderController {
         }
     }
 
+    /**
+     * 获取当前用户的订单统计（订单数、累计消费、最近下单时间），按主键读取统计行
+     * 
+     * @param user 当前登录用户
+     * @return 用户订单统计
+     */
+    @GetMapping("/my/stats")
+    @Operation(summary = "获取我的订单统计", description = "获取当前用户的订单数、累计消费金额和最近下单时间")
+    public ResponseEntity<ApiResponse<UserOrderStats>> getMyOrderStats(@AuthenticationPrincipal User user) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(userOrderStatsService.getStats(user.getId()), "获取订单统计成功"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("FETCH_ERROR", "获取订单统计失败: " + e.getMessage()));
+        }
+    }
+
     /**
      * 根据ID获取订单详情
      * 
@@ -115,15 +359,15 @@ public class OrderController {
      */
     @GetMapping("/{id}")
     @Operation(summary = "获取订单详情", description = "根据ID获取订单详情")
-    public ResponseEntity<ApiResponse<Order>> getOrder(
+    public ResponseEntity<ApiResponse<OrderSummaryDto>> getOrder(
             @AuthenticationPrincipal User user,
             @Parameter(description = "订单ID") @PathVariable Long id) {
 
         try {
-            Optional<Order> order = orderService.findById(id);
+            Optional<OrderSummaryDto> order = orderService.findSummaryById(id);
             if (order.isPresent()) {
                 // 验证订单属于当前用户或者是管理员
-                if (!order.get().getUser().getId().equals(user.getId()) &&
+                if (!order.get().getUserId().equals(user.getId()) &&
                         !user.getRole().equals(User.Role.ADMIN)) {
                     return ResponseEntity.status(HttpStatus.FORBIDDEN)
                             .body(ApiResponse.error("PERMISSION_DENIED", "无权限查看此订单"));
@@ -139,22 +383,48 @@ public class OrderController {
         }
     }
 
+    /**
+     * 再次购买：将订单中的商品一次性加入购物车
+     * 
+     * @param user 当前登录用户
+     * @param id   订单ID
+     * @return 加入购物车的商品数量及未加入的商品和原因
+     */
+    @PostMapping("/{id}/reorder")
+    @Operation(summary = "再次购买", description = "将指定订单中仍可购买的商品加入购物车")
+    public ResponseEntity<ApiResponse<ReorderResult>> reorder(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "订单ID") @PathVariable Long id) {
+
+        try {
+            ReorderResult result = orderService.reorder(user, id);
+            return ResponseEntity.ok(ApiResponse.success(result, "已加入购物车"));
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().contains("订单不存在")) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("ORDER_NOT_FOUND", "订单不存在"));
+            }
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("REORDER_ERROR", "再次购买失败: " + e.getMessage()));
+        }
+    }
+
     /**
      * 取消订单
      * 
      * @param user 当前登录用户
      * @param id   订单ID
-     * @return 取消的订单
+     * @return 取消结果
      */
     @PutMapping("/{id}/cancel")
     @Operation(summary = "取消订单", description = "取消指定的订单")
-    public ResponseEntity<ApiResponse<Order>> cancelOrder(
+    public ResponseEntity<ApiResponse<Void>> cancelOrder(
             @AuthenticationPrincipal User user,
             @Parameter(description = "订单ID") @PathVariable Long id) {
 
         try {
-            Order cancelledOrder = orderService.cancelOrder(user, id);
-            return ResponseEntity.ok(ApiResponse.success(cancelledOrder, "订单已取消"));
+            orderService.cancelOrder(user, id);
+            return ResponseEntity.ok(ApiResponse.success("订单已取消"));
         } catch (RuntimeException e) {
             if (e.getMessage().contains("订单不存在")) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -165,6 +435,9 @@ public class OrderController {
             } else if (e.getMessage().contains("不允许取消")) {
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.error("INVALID_STATUS", e.getMessage()));
+            } else if (e.getMessage().contains("订单状态已变更")) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResponse.error("STATUS_CONFLICT", e.getMessage()));
             } else {
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                         .body(ApiResponse.error("CANCEL_ERROR", "取消订单失败: " + e.getMessage()));
@@ -181,19 +454,19 @@ public class OrderController {
      * @param page   页码
      * @param size   每页大小
      * @param status 订单状态过滤
-     * @return 订单列表
+     * @return 订单列表，按下单时间倒序，包含已归档的订单
      */
     @GetMapping("/admin/all")
     @Operation(summary = "获取所有订单", description = "获取所有订单（管理员权限）")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Page<Order>>> getAllOrders(
+    public ResponseEntity<ApiResponse<Page<OrderSummaryDto>>> getAllOrders(
             @Parameter(description = "页码") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "每页大小") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "订单状态") @RequestParam(required = false) Order.OrderStatus status) {
 
         try {
-            Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-            Page<Order> orders;
+            Pageable pageable = PageRequest.of(page, size);
+            Page<OrderSummaryDto> orders;
 
             if (status != null) {
                 orders = orderService.findByStatus(status, pageable);
@@ -208,27 +481,89 @@ public class OrderController {
         }
     }
 
+    /**
+     * 按组合条件搜索订单（管理员功能）
+     * 
+     * @param status    订单状态
+     * @param userId    下单用户ID
+     * @param from      起始日期（含），与结束日期均未指定时只搜索最近90天，响应消息中给出实际的起始日期；
+     *                  早于归档水位时同时搜索归档订单
+     * @param to        结束日期（含）
+     * @param minAmount 最低订单金额（含）
+     * @param maxAmount 最高订单金额（含）
+     * @param address   收货地址包含的文本
+     * @param page      页码
+     * @param size      每页大小
+     * @return 订单列表，按下单时间倒序
+     */
+    @GetMapping("/admin/search")
+    @Operation(summary = "搜索订单", description = "按状态、下单日期、用户、金额范围和收货地址组合搜索订单（管理员权限）")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Page<OrderSummaryDto>>> searchOrders(
+            @Parameter(description = "订单状态") @RequestParam(required = false) Order.OrderStatus status,
+            @Parameter(description = "下单用户ID") @RequestParam(required = false) Long userId,
+            @Parameter(description = "起始日期（含）") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "结束日期（含）") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "最低订单金额") @RequestParam(required = false) BigDecimal minAmount,
+            @Parameter(description = "最高订单金额") @RequestParam(required = false) BigDecimal maxAmount,
+            @Parameter(description = "收货地址关键字") @RequestParam(required = false) String address,
+            @Parameter(description = "页码") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "每页大小") @RequestParam(defaultValue = "20") int size) {
+
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setStatus(status);
+        criteria.setUserId(userId);
+        criteria.setFrom(from != null ? from.atStartOfDay() : null);
+        criteria.setTo(to != null ? to.plusDays(1).atStartOfDay() : null);
+        criteria.setMinAmount(minAmount);
+        criteria.setMaxAmount(maxAmount);
+        criteria.setAddress(address);
+
+        try {
+            Page<OrderSummaryDto> orders = orderService.searchOrders(criteria, PageRequest.of(page, size));
+            String message = from == null && to == null
+                    ? "搜索订单成功（未指定下单日期，只搜索 " + criteria.getFrom().toLocalDate() + " 起的订单）"
+                    : "搜索订单成功";
+            return ResponseEntity.ok(ApiResponse.success(orders, message));
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().contains("查询条件无效")) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("VALIDATION_ERROR", e.getMessage()));
+            }
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("FETCH_ERROR", "搜索订单失败: " + e.getMessage()));
+        }
+    }
+
     /**
      * 更新订单状态（管理员功能）
      * 
      * @param id     订单ID
      * @param status 新状态
-     * @return 更新的订单
+     * @return 更新结果
      */
     @PutMapping("/admin/{id}/status")
     @Operation(summary = "更新订单状态", description = "更新订单状态（管理员权限）")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Order>> updateOrderStatus(
+    public ResponseEntity<ApiResponse<Void>> updateOrderStatus(
             @Parameter(description = "订单ID") @PathVariable Long id,
             @Parameter(description = "新状态") @RequestParam Order.OrderStatus status) {
 
         try {
-            Order updatedOrder = orderService.updateOrderStatus(id, status);
-            return ResponseEntity.ok(ApiResponse.success(updatedOrder, "订单状态已更新"));
+            orderService.updateOrderStatus(id, status);
+            return ResponseEntity.ok(ApiResponse.success("订单状态已更新"));
         } catch (RuntimeException e) {
             if (e.getMessage().contains("订单不存在")) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("ORDER_NOT_FOUND", e.getMessage()));
+            } else if (e.getMessage().contains("订单状态不允许")) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("INVALID_STATUS", e.getMessage()));
+            } else if (e.getMessage().contains("订单状态已变更")) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResponse.error("STATUS_CONFLICT", e.getMessage()));
             } else {
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                         .body(ApiResponse.error("UPDATE_ERROR", "更新订单状态失败: " + e.getMessage()));
@@ -239,25 +574,133 @@ public class OrderController {
         }
     }
 
+    /**
+     * 批量更新订单状态（管理员功能）
+     * 
+     * @param request       订单ID列表与目标状态
+     * @param bindingResult 验证结果
+     * @return 每个订单的处理结果
+     */
+    @PutMapping("/admin/status/bulk")
+    @Operation(summary = "批量更新订单状态", description = "按状态转换规则批量更新订单状态，逐个返回处理结果（管理员权限）")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResult>> bulkUpdateOrderStatus(
+            @Valid @RequestBody BulkStatusUpdateRequest request,
+            BindingResult bindingResult) {
+
+        // 检查验证错误
+        if (bindingResult.hasErrors()) {
+            String errorMessage = bindingResult.getFieldErrors().stream()
+                    .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                    .collect(Collectors.joining(", "));
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("VALIDATION_ERROR", "输入验证失败: " + errorMessage));
+        }
+
+        try {
+            BulkStatusUpdateResult result = orderService.bulkUpdateStatus(request.getOrderIds(), request.getStatus());
+            return ResponseEntity.ok(ApiResponse.success(result,
+                    "已更新 " + result.getUpdated() + " 个订单，跳过 " + result.getSkipped() + " 个"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("UPDATE_ERROR", "批量更新订单状态失败: " + e.getMessage()));
+        }
+    }
+
     /**
      * 获取订单统计信息（管理员功能）
      * 
-     * @return 订单统计
+     * @return 订单总数、营业额及按状态统计，直接读取内存计数器
      */
     @GetMapping("/admin/statistics")
-    @Operation(summary = "获取订单统计", description = "获取订单统计信息（管理员权限）")
+    @Operation(summary = "获取订单统计", description = "获取订单总数、营业额及各状态订单数量（管理员权限）")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Object>> getOrderStatistics() {
-        try {
-            // 这里可以添加更多统计信息，如不同状态的订单数量等
-            long totalOrders = orderService.findAll(Pageable.unpaged()).getTotalElements();
+    public ResponseEntity<ApiResponse<OrderStatistics>> getOrderStatistics() {
+        return ResponseEntity.ok(ApiResponse.success(orderStatisticsService.getSummary(), "获取订单统计成功"));
+    }
 
-            return ResponseEntity.ok(ApiResponse.success(
-                    java.util.Map.of("totalOrders", totalOrders),
-                    "获取订单统计成功"));
+    /**
+     * 获取订单统计报表（管理员功能）
+     * 
+     * @param days 统计最近多少天（含今天）
+     * @return 按状态、按日期、按商品分类的订单统计
+     */
+    @GetMapping("/admin/statistics/report")
+    @Operation(summary = "获取订单统计报表", description = "按状态、按日期、按商品分类聚合订单数量与金额（管理员权限）")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<OrderStatistics>> getOrderStatisticsReport(
+            @Parameter(description = "统计天数") @RequestParam(defaultValue = "30") int days) {
+
+        if (days < 1 || days > 366) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("VALIDATION_ERROR", "统计天数必须在1到366之间"));
+        }
+        try {
+            return ResponseEntity.ok(ApiResponse.success(orderStatisticsService.getReport(days), "获取订单统计成功"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("STATISTICS_ERROR", "获取订单统计失败: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取实时销售数据（管理员功能）
+     * 
+     * @return 最近一分钟逐秒、最近一小时逐分钟的订单数、销售额及分类销量，数据来自内存，不查询订单表
+     */
+    @GetMapping("/admin/live")
+    @Operation(summary = "获取实时销售数据", description = "获取最近一分钟逐秒、最近一小时逐分钟的销售汇总（管理员权限）")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<LiveSales>> getLiveSales() {
+        return ResponseEntity.ok(ApiResponse.success(salesTelemetryService.getLiveSales(), "获取实时销售数据成功"));
+    }
+
+    /**
+     * 导出订单（管理员功能）
+     * 
+     * 结果直接从数据库游标流式写入响应，不分页，内存占用与导出行数无关
+     * 
+     * @param from   起始日期（含）
+     * @param to     结束日期（含）
+     * @param status 订单状态过滤
+     * @param format 导出格式：csv 或 ndjson
+     * @return 导出文件
+     */
+    @GetMapping("/admin/export")
+    @Operation(summary = "导出订单", description = "以CSV或NDJSON格式流式导出订单（管理员权限）")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> exportOrders(
+            @Parameter(description = "起始日期（含）") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "结束日期（含）") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "订单状态") @RequestParam(required = false) Order.OrderStatus status,
+            @Parameter(description = "导出格式：csv 或 ndjson") @RequestParam(defaultValue = "csv") String format) {
+
+        OrderExportService.Format exportFormat;
+        try {
+            exportFormat = OrderExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("VALIDATION_ERROR", "导出格式只支持 csv 或 ndjson"));
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("VALIDATION_ERROR", "起始日期不能晚于结束日期"));
+        }
+
+        LocalDateTime start = from != null ? from.atStartOfDay() : null;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : null;
+        StreamingResponseBody body = out -> orderExportService.export(start, end, status, exportFormat, out);
+
+        String filename = "orders-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"))
+                + (exportFormat == OrderExportService.Format.CSV ? ".csv" : ".ndjson");
+        MediaType contentType = exportFormat == OrderExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(contentType)
+                .body(body);
+    }
+}
@@ -1,7 +1,10 @@
 package com.fullstackmall.controller;
 
 import com.fullstackmall.dto.ApiResponse;
+import com.fullstackmall.dto.ProductImportResult;
 import com.fullstackmall.entity.Product;
+import com.fullstackmall.service.ProductExportService;
+import com.fullstackmall.service.ProductImportService;
 import com.fullstackmall.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,12 +15,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -34,6 +45,12 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
     /**
      * 获取商品列表（分页）
      * 
@@ -141,6 +158,29 @@ public class ProductController {
         }
     }
 
+    /**
+     * 导出商品目录
+     * 
+     * 以 gzip 压缩的 NDJSON 流式返回全部商品，指定 since 时只返回之后更新过的商品；
+     * 增量会重复返回起点前安全窗口内的商品，调用方按 id 去重
+     * 
+     * @param since 增量起点，为空时导出全部
+     * @return 商品目录流
+     */
+    @GetMapping("/export")
+    @Operation(summary = "导出商品目录", description = "以gzip压缩的NDJSON流式导出全部商品或增量更新的商品")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "增量起点，如 2024-01-01T00:00:00；起点前安全窗口内的商品会重复返回，按 id 去重") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+
+        StreamingResponseBody body = out -> productExportService.export(since, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\"")
+                .contentType(new MediaType("application", "x-ndjson", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
     /**
      * 创建商品（管理员权限）
      * 
@@ -174,6 +214,40 @@ public class ProductController {
         }
     }
 
+    /**
+     * 批量导入商品（管理员权限）
+     * 
+     * 请求体为 CSV（首行为表头）或 NDJSON，流式读取并分批写入；不带ID的记录新增，带ID的记录更新
+     * 
+     * @param contentType 请求体类型：text/csv 或 application/x-ndjson
+     * @param body        请求体
+     * @return 导入结果
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+    @Operation(summary = "批量导入商品", description = "以CSV或NDJSON格式批量新增或更新商品（管理员权限）")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ProductImportResult>> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+
+        ProductImportService.Format format = contentType.contains("ndjson")
+                ? ProductImportService.Format.NDJSON
+                : ProductImportService.Format.CSV;
+        try {
+            ProductImportResult result = productImportService.importProducts(body, format);
+            return ResponseEntity.ok(ApiResponse.success(result, "商品导入完成"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("VALIDATION_ERROR", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("IMPORT_ERROR", "读取导入数据失败: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("IMPORT_ERROR", "商品导入失败: " + e.getMessage()));
+        }
+    }
+
     /**
      * 更新商品（管理员权限）
      * 
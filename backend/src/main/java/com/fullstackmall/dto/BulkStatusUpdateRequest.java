@@ -0,0 +1,46 @@
+package com.fullstackmall.dto;
+
+import com.fullstackmall.entity.Order;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 批量更新订单状态请求DTO
+ */
+public class BulkStatusUpdateRequest {
+    
+    @NotEmpty(message = "订单ID列表不能为空")
+    @Size(max = 10000, message = "单次最多更新10000个订单")
+    private List<Long> orderIds;
+    
+    @NotNull(message = "目标状态不能为空")
+    private Order.OrderStatus status;
+    
+    // 构造函数
+    public BulkStatusUpdateRequest() {}
+    
+    public BulkStatusUpdateRequest(List<Long> orderIds, Order.OrderStatus status) {
+        this.orderIds = orderIds;
+        this.status = status;
+    }
+    
+    // Getters and Setters
+    public List<Long> getOrderIds() {
+        return orderIds;
+    }
+    
+    public void setOrderIds(List<Long> orderIds) {
+        this.orderIds = orderIds;
+    }
+    
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+}
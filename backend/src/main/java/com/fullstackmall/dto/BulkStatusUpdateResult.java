@@ -0,0 +1,125 @@
+package com.fullstackmall.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fullstackmall.entity.Order;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量更新订单状态结果DTO
+ * 按请求中的顺序返回每个订单的处理结果，重复的订单ID只返回一次
+ */
+public class BulkStatusUpdateResult {
+    
+    /**
+     * 单个订单的处理结果枚举
+     */
+    public enum Outcome {
+        UPDATED,             // 已更新
+        UNCHANGED,           // 已是目标状态
+        INVALID_TRANSITION,  // 当前状态不允许变更为目标状态
+        NOT_FOUND            // 订单不存在
+    }
+    
+    private Order.OrderStatus status;
+    private int updated;
+    private int skipped;
+    private List<Item> results = new ArrayList<>();
+    
+    // 构造函数
+    public BulkStatusUpdateResult() {}
+    
+    public BulkStatusUpdateResult(Order.OrderStatus status) {
+        this.status = status;
+    }
+    
+    /**
+     * 记录一个订单的处理结果
+     */
+    public void add(Long orderId, Outcome outcome, Order.OrderStatus previousStatus) {
+        results.add(new Item(orderId, outcome, previousStatus));
+        if (outcome == Outcome.UPDATED) {
+            updated++;
+        } else {
+            skipped++;
+        }
+    }
+    
+    // Getters and Setters
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+    
+    public int getUpdated() {
+        return updated;
+    }
+    
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+    
+    public int getSkipped() {
+        return skipped;
+    }
+    
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+    
+    public List<Item> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<Item> results) {
+        this.results = results;
+    }
+    
+    /**
+     * 单个订单的处理结果
+     */
+    public static class Item {
+        
+        @JsonSerialize(using = ToStringSerializer.class)
+        private Long orderId;
+        private Outcome outcome;
+        private Order.OrderStatus previousStatus;
+        
+        public Item() {}
+        
+        public Item(Long orderId, Outcome outcome, Order.OrderStatus previousStatus) {
+            this.orderId = orderId;
+            this.outcome = outcome;
+            this.previousStatus = previousStatus;
+        }
+        
+        public Long getOrderId() {
+            return orderId;
+        }
+        
+        public void setOrderId(Long orderId) {
+            this.orderId = orderId;
+        }
+        
+        public Outcome getOutcome() {
+            return outcome;
+        }
+        
+        public void setOutcome(Outcome outcome) {
+            this.outcome = outcome;
+        }
+        
+        public Order.OrderStatus getPreviousStatus() {
+            return previousStatus;
+        }
+        
+        public void setPreviousStatus(Order.OrderStatus previousStatus) {
+            this.previousStatus = previousStatus;
+        }
+    }
+}
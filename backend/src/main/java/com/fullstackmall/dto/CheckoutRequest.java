@@ -0,0 +1,29 @@
+package com.fullstackmall.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * 购物车结算请求DTO
+ * 订单商品直接取自服务端购物车，客户端只需提交收货地址
+ */
+public class CheckoutRequest {
+    
+    @NotBlank(message = "收货地址不能为空")
+    private String shippingAddress;
+    
+    // 构造函数
+    public CheckoutRequest() {}
+    
+    public CheckoutRequest(String shippingAddress) {
+        this.shippingAddress = shippingAddress;
+    }
+    
+    // Getters and Setters
+    public String getShippingAddress() {
+        return shippingAddress;
+    }
+    
+    public void setShippingAddress(String shippingAddress) {
+        this.shippingAddress = shippingAddress;
+    }
+}
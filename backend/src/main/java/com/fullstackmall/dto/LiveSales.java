@@ -0,0 +1,134 @@
+package com.fullstackmall.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 实时销售数据DTO
+ * 包含最近一分钟逐秒、最近一小时逐分钟的销售汇总（无数据的时间段以0填充）
+ */
+public class LiveSales {
+
+    private Bucket lastMinute;
+    private Bucket lastHour;
+    private List<Bucket> perSecond;
+    private List<Bucket> perMinute;
+
+    // 构造函数
+    public LiveSales() {}
+
+    public LiveSales(Bucket lastMinute, Bucket lastHour, List<Bucket> perSecond, List<Bucket> perMinute) {
+        this.lastMinute = lastMinute;
+        this.lastHour = lastHour;
+        this.perSecond = perSecond;
+        this.perMinute = perMinute;
+    }
+
+    // Getters and Setters
+    public Bucket getLastMinute() {
+        return lastMinute;
+    }
+
+    public void setLastMinute(Bucket lastMinute) {
+        this.lastMinute = lastMinute;
+    }
+
+    public Bucket getLastHour() {
+        return lastHour;
+    }
+
+    public void setLastHour(Bucket lastHour) {
+        this.lastHour = lastHour;
+    }
+
+    public List<Bucket> getPerSecond() {
+        return perSecond;
+    }
+
+    public void setPerSecond(List<Bucket> perSecond) {
+        this.perSecond = perSecond;
+    }
+
+    public List<Bucket> getPerMinute() {
+        return perMinute;
+    }
+
+    public void setPerMinute(List<Bucket> perMinute) {
+        this.perMinute = perMinute;
+    }
+
+    /**
+     * 一个时间段内的销售汇总
+     */
+    public static class Bucket {
+
+        private LocalDateTime start;
+        private long orders;
+        private BigDecimal revenue;
+        private long cancelledOrders;
+        private BigDecimal refunded;
+        private Map<String, Long> unitsByCategory;
+
+        public Bucket() {}
+
+        public Bucket(LocalDateTime start, long orders, BigDecimal revenue, long cancelledOrders,
+                      BigDecimal refunded, Map<String, Long> unitsByCategory) {
+            this.start = start;
+            this.orders = orders;
+            this.revenue = revenue;
+            this.cancelledOrders = cancelledOrders;
+            this.refunded = refunded;
+            this.unitsByCategory = unitsByCategory;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public void setStart(LocalDateTime start) {
+            this.start = start;
+        }
+
+        public long getOrders() {
+            return orders;
+        }
+
+        public void setOrders(long orders) {
+            this.orders = orders;
+        }
+
+        public BigDecimal getRevenue() {
+            return revenue;
+        }
+
+        public void setRevenue(BigDecimal revenue) {
+            this.revenue = revenue;
+        }
+
+        public long getCancelledOrders() {
+            return cancelledOrders;
+        }
+
+        public void setCancelledOrders(long cancelledOrders) {
+            this.cancelledOrders = cancelledOrders;
+        }
+
+        public BigDecimal getRefunded() {
+            return refunded;
+        }
+
+        public void setRefunded(BigDecimal refunded) {
+            this.refunded = refunded;
+        }
+
+        public Map<String, Long> getUnitsByCategory() {
+            return unitsByCategory;
+        }
+
+        public void setUnitsByCategory(Map<String, Long> unitsByCategory) {
+            this.unitsByCategory = unitsByCategory;
+        }
+    }
+}
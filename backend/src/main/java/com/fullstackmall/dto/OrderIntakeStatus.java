@@ -0,0 +1,102 @@
+package com.fullstackmall.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * 异步下单受理状态DTO
+ */
+public class OrderIntakeStatus {
+    
+    /**
+     * 受理状态枚举
+     */
+    public enum Status {
+        QUEUED,      // 排队中
+        PROCESSING,  // 处理中
+        COMPLETED,   // 已创建订单
+        FAILED       // 创建失败
+    }
+    
+    private String token;
+    private Status status;
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long orderId;
+    private String errorMessage;
+    private int queueDepth;
+    private LocalDateTime acceptedAt;
+    private LocalDateTime completedAt;
+    
+    // 构造函数
+    public OrderIntakeStatus() {}
+    
+    public OrderIntakeStatus(String token, Status status, Long orderId, String errorMessage,
+                             int queueDepth, LocalDateTime acceptedAt, LocalDateTime completedAt) {
+        this.token = token;
+        this.status = status;
+        this.orderId = orderId;
+        this.errorMessage = errorMessage;
+        this.queueDepth = queueDepth;
+        this.acceptedAt = acceptedAt;
+        this.completedAt = completedAt;
+    }
+    
+    // Getters and Setters
+    public String getToken() {
+        return token;
+    }
+    
+    public void setToken(String token) {
+        this.token = token;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+    
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+    
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+    
+    public LocalDateTime getAcceptedAt() {
+        return acceptedAt;
+    }
+    
+    public void setAcceptedAt(LocalDateTime acceptedAt) {
+        this.acceptedAt = acceptedAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
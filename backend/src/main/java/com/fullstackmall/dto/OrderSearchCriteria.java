@@ -0,0 +1,89 @@
+package com.fullstackmall.dto;
+
+import com.fullstackmall.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 管理员订单搜索条件DTO
+ * 各条件均可为空，非空条件以 AND 组合
+ */
+public class OrderSearchCriteria {
+
+    private Order.OrderStatus status;
+
+    private Long userId;
+
+    // 下单时间范围：起始（含）与结束（不含）
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private BigDecimal minAmount;
+
+    private BigDecimal maxAmount;
+
+    // 收货地址包含的文本
+    private String address;
+
+    // 构造函数
+    public OrderSearchCriteria() {}
+
+    // Getters and Setters
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+}
@@ -0,0 +1,125 @@
+package com.fullstackmall.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fullstackmall.entity.Order;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 订单统计DTO
+ * 概览只包含总数与按状态统计；报表额外包含按日期和按商品分类的统计
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderStatistics {
+
+    private long totalOrders;
+    private BigDecimal totalRevenue;
+    private Map<Order.OrderStatus, Bucket> byStatus;
+    private List<Bucket> byDay;
+    private List<Bucket> byCategory;
+
+    // 构造函数
+    public OrderStatistics() {}
+
+    public OrderStatistics(long totalOrders, BigDecimal totalRevenue, Map<Order.OrderStatus, Bucket> byStatus) {
+        this.totalOrders = totalOrders;
+        this.totalRevenue = totalRevenue;
+        this.byStatus = byStatus;
+    }
+
+    // Getters and Setters
+    public long getTotalOrders() {
+        return totalOrders;
+    }
+
+    public void setTotalOrders(long totalOrders) {
+        this.totalOrders = totalOrders;
+    }
+
+    public BigDecimal getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public void setTotalRevenue(BigDecimal totalRevenue) {
+        this.totalRevenue = totalRevenue;
+    }
+
+    public Map<Order.OrderStatus, Bucket> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<Order.OrderStatus, Bucket> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public List<Bucket> getByDay() {
+        return byDay;
+    }
+
+    public void setByDay(List<Bucket> byDay) {
+        this.byDay = byDay;
+    }
+
+    public List<Bucket> getByCategory() {
+        return byCategory;
+    }
+
+    public void setByCategory(List<Bucket> byCategory) {
+        this.byCategory = byCategory;
+    }
+
+    /**
+     * 单个分组的统计值
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Bucket {
+
+        private String key;
+        private long orderCount;
+        private Long quantity;
+        private BigDecimal revenue;
+
+        public Bucket() {}
+
+        public Bucket(String key, long orderCount, Long quantity, BigDecimal revenue) {
+            this.key = key;
+            this.orderCount = orderCount;
+            this.quantity = quantity;
+            this.revenue = revenue;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public long getOrderCount() {
+            return orderCount;
+        }
+
+        public void setOrderCount(long orderCount) {
+            this.orderCount = orderCount;
+        }
+
+        public Long getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Long quantity) {
+            this.quantity = quantity;
+        }
+
+        public BigDecimal getRevenue() {
+            return revenue;
+        }
+
+        public void setRevenue(BigDecimal revenue) {
+            this.revenue = revenue;
+        }
+    }
+}
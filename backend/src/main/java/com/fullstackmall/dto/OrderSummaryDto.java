@@ -0,0 +1,279 @@
+package com.fullstackmall.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fullstackmall.entity.ArchivedOrder;
+import com.fullstackmall.entity.ArchivedOrderItem;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 订单列表DTO
+ * 字段与订单实体的JSON结构保持一致，但不包含用户等延迟加载的关联；
+ * 商品信息取自订单项中的下单快照，不读取商品表；热表订单与归档订单使用相同结构
+ */
+@Schema(description = "订单摘要对象")
+public class OrderSummaryDto {
+
+    @Schema(description = "订单ID", example = "7189234510293843968")
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
+
+    @Schema(description = "下单用户ID", example = "1")
+    private Long userId;
+
+    @Schema(description = "订单状态", example = "PENDING")
+    private Order.OrderStatus status;
+
+    @Schema(description = "订单总金额", example = "199.00")
+    private BigDecimal totalAmount;
+
+    @Schema(description = "收货地址")
+    private String shippingAddress;
+
+    @Schema(description = "下单时间", example = "2024-01-01T10:30:00")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "订单商品项")
+    private List<ItemDto> items;
+
+    @Schema(description = "是否为已归档的历史订单", example = "false")
+    private boolean archived;
+
+    // 构造函数
+    public OrderSummaryDto() {
+    }
+
+    public OrderSummaryDto(Order order) {
+        this.id = order.getId();
+        this.userId = order.getUser().getId();
+        this.status = order.getStatus();
+        this.totalAmount = order.getTotalAmount();
+        this.shippingAddress = order.getShippingAddress();
+        this.createdAt = order.getCreatedAt();
+        this.items = order.getItems().stream().map(ItemDto::new).toList();
+    }
+
+    public OrderSummaryDto(ArchivedOrder order) {
+        this.id = order.getId();
+        this.userId = order.getUserId();
+        this.status = order.getStatus();
+        this.totalAmount = order.getTotalAmount();
+        this.shippingAddress = order.getShippingAddress();
+        this.createdAt = order.getCreatedAt();
+        this.items = order.getItems().stream().map(ItemDto::new).toList();
+        this.archived = true;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public String getShippingAddress() {
+        return shippingAddress;
+    }
+
+    public void setShippingAddress(String shippingAddress) {
+        this.shippingAddress = shippingAddress;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public List<ItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemDto> items) {
+        this.items = items;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+
+    /**
+     * 订单商品项DTO
+     */
+    @Schema(description = "订单商品项对象")
+    public static class ItemDto {
+        @Schema(description = "商品项ID")
+        @JsonSerialize(using = ToStringSerializer.class)
+        private Long id;
+
+        @Schema(description = "商品信息")
+        private ProductSnapshot product;
+
+        @Schema(description = "购买数量", example = "2")
+        private Integer quantity;
+
+        @Schema(description = "成交单价", example = "99.50")
+        private BigDecimal price;
+
+        public ItemDto() {
+        }
+
+        public ItemDto(OrderItem item) {
+            this.id = item.getId();
+            this.product = new ProductSnapshot(item);
+            this.quantity = item.getQuantity();
+            this.price = item.getPrice();
+        }
+
+        public ItemDto(ArchivedOrderItem item) {
+            this.id = item.getId();
+            this.product = new ProductSnapshot(item);
+            this.quantity = item.getQuantity();
+            this.price = item.getPrice();
+        }
+
+        public BigDecimal getSubtotal() {
+            return price.multiply(BigDecimal.valueOf(quantity));
+        }
+
+        // Getters and Setters
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public ProductSnapshot getProduct() {
+            return product;
+        }
+
+        public void setProduct(ProductSnapshot product) {
+            this.product = product;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+    }
+
+    /**
+     * 下单时的商品信息
+     */
+    @Schema(description = "商品信息对象")
+    public static class ProductSnapshot {
+        @Schema(description = "商品ID", example = "1")
+        private Long id;
+
+        @Schema(description = "商品名称", example = "无线耳机")
+        private String name;
+
+        @Schema(description = "商品图片")
+        private String imageUrl;
+
+        @Schema(description = "商品分类", example = "电子产品")
+        private String category;
+
+        public ProductSnapshot() {
+        }
+
+        public ProductSnapshot(OrderItem item) {
+            // 商品已删除时ID为空；读取延迟加载代理的ID不会查询商品表
+            this.id = item.getProduct() != null ? item.getProduct().getId() : null;
+            this.name = item.getProductName();
+            this.imageUrl = item.getProductImageUrl();
+            this.category = item.getProductCategory();
+        }
+
+        public ProductSnapshot(ArchivedOrderItem item) {
+            this.id = item.getProductId();
+            this.name = item.getProductName();
+            this.imageUrl = item.getProductImageUrl();
+            this.category = item.getProductCategory();
+        }
+
+        // Getters and Setters
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getImageUrl() {
+            return imageUrl;
+        }
+
+        public void setImageUrl(String imageUrl) {
+            this.imageUrl = imageUrl;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public void setCategory(String category) {
+            this.category = category;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.fullstackmall.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 商品批量导入结果DTO
+ * 错误明细最多保留配置的条数，失败总数不受限制
+ */
+public class ProductImportResult {
+
+    private long inserted;
+    private long updated;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    // 构造函数
+    public ProductImportResult() {}
+
+    // Getters and Setters
+    public long getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(long inserted) {
+        this.inserted = inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * 单条记录的错误信息
+     */
+    public static class RowError {
+
+        private long row;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public void setRow(long row) {
+            this.row = row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.fullstackmall.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 再次购买结果DTO
+ * 可购买的商品全部加入购物车，已删除或库存不足的商品逐个返回原因
+ */
+public class ReorderResult {
+
+    /**
+     * 未加入购物车的原因枚举
+     */
+    public enum Reason {
+        PRODUCT_REMOVED,     // 商品已删除
+        INSUFFICIENT_STOCK   // 库存不足（含购物车中已有的数量）
+    }
+
+    private int addedItems;
+    private int addedQuantity;
+    private List<Skipped> skipped = new ArrayList<>();
+
+    // 构造函数
+    public ReorderResult() {}
+
+    /**
+     * 记录一个加入购物车的商品
+     */
+    public void added(int quantity) {
+        addedItems++;
+        addedQuantity += quantity;
+    }
+
+    /**
+     * 记录一个未加入购物车的商品
+     */
+    public void skip(Long productId, String productName, int quantity, Reason reason) {
+        skipped.add(new Skipped(productId, productName, quantity, reason));
+    }
+
+    // Getters and Setters
+    public int getAddedItems() {
+        return addedItems;
+    }
+
+    public void setAddedItems(int addedItems) {
+        this.addedItems = addedItems;
+    }
+
+    public int getAddedQuantity() {
+        return addedQuantity;
+    }
+
+    public void setAddedQuantity(int addedQuantity) {
+        this.addedQuantity = addedQuantity;
+    }
+
+    public List<Skipped> getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(List<Skipped> skipped) {
+        this.skipped = skipped;
+    }
+
+    /**
+     * 未加入购物车的商品
+     */
+    public static class Skipped {
+
+        private Long productId;
+        private String productName;
+        private int quantity;
+        private Reason reason;
+
+        public Skipped() {}
+
+        public Skipped(Long productId, String productName, int quantity, Reason reason) {
+            this.productId = productId;
+            this.productName = productName;
+            this.quantity = quantity;
+            this.reason = reason;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+
+        public String getProductName() {
+            return productName;
+        }
+
+        public void setProductName(String productName) {
+            this.productName = productName;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public Reason getReason() {
+            return reason;
+        }
+
+        public void setReason(Reason reason) {
+            this.reason = reason;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.fullstackmall.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 归档订单实体类
+ * 已送达或已取消且超过保留期的订单由归档任务从 orders 表整体迁移至此，只读
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive", indexes = {
+    @Index(name = "idx_orders_archive_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_orders_archive_created_at", columnList = "created_at")
+})
+public class ArchivedOrder {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Order.OrderStatus status;
+    
+    @Column(name = "shipping_address", nullable = false)
+    private String shippingAddress;
+    
+    @OneToMany(mappedBy = "order")
+    private List<ArchivedOrderItem> items = new ArrayList<>();
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    // 构造函数
+    public ArchivedOrder() {}
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+    
+    public String getShippingAddress() {
+        return shippingAddress;
+    }
+    
+    public List<ArchivedOrderItem> getItems() {
+        return items;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,79 @@
+package com.fullstackmall.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * 归档订单商品项实体类，只读
+ * 不关联商品表，展示完全依赖下单时的商品快照
+ */
+@Entity
+@Immutable
+@Table(name = "order_items_archive", indexes = {
+    @Index(name = "idx_order_items_archive_order", columnList = "order_id")
+})
+public class ArchivedOrderItem {
+    
+    @Id
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private ArchivedOrder order;
+    
+    @Column(name = "product_id")
+    private Long productId;
+    
+    @Column(name = "product_name")
+    private String productName;
+    
+    @Column(name = "product_image_url", length = 500)
+    private String productImageUrl;
+    
+    @Column(name = "product_category", length = 100)
+    private String productCategory;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+    
+    // 构造函数
+    public ArchivedOrderItem() {}
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public ArchivedOrder getOrder() {
+        return order;
+    }
+    
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public String getProductName() {
+        return productName;
+    }
+    
+    public String getProductImageUrl() {
+        return productImageUrl;
+    }
+    
+    public String getProductCategory() {
+        return productCategory;
+    }
+    
+    public Integer getQuantity() {
+        return quantity;
+    }
+    
+    public BigDecimal getPrice() {
+        return price;
+    }
+}
@@ -1,5 +1,6 @@
 package com.fullstackmall.entity;
 
+import com.fullstackmall.entity.id.PooledIdGenerator;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
@@ -10,11 +11,13 @@ import java.util.List;
  * 购物车实体类
  */
 @Entity
-@Table(name = "carts")
+@Table(name = "carts", indexes = {
+    @Index(name = "idx_carts_updated_at", columnList = "updated_at")
+})
 public class Cart {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
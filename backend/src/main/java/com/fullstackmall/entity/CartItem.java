@@ -1,18 +1,22 @@
 package com.fullstackmall.entity;
 
+import com.fullstackmall.entity.id.PooledIdGenerator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 /**
  * 购物车商品项实体类
+ * 同一购物车中每个商品只有一行，唯一键同时用于批量加购时的 INSERT ... ON DUPLICATE KEY UPDATE
  */
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_cart_items_cart_product", columnNames = {"cart_id", "product_id"})
+})
 public class CartItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,113 @@
+package com.fullstackmall.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 下单幂等键实体类
+ * 记录 (用户, 幂等键) 首次执行生成的订单，(user_id, idempotency_key) 唯一
+ */
+@Entity
+@Table(name = "idempotency_keys",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_idempotency_user_key", columnNames = {"user_id", "idempotency_key"})
+    },
+    indexes = {
+        @Index(name = "idx_idempotency_expires_at", columnList = "expires_at")
+    })
+public class IdempotencyKey {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "idempotency_key", nullable = false, length = 128)
+    private String idempotencyKey;
+    
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+    
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    // 构造函数
+    public IdempotencyKey() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    public IdempotencyKey(Long userId, String idempotencyKey, String requestHash, Long orderId, LocalDateTime expiresAt) {
+        this();
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.orderId = orderId;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+    
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+    
+    public String getRequestHash() {
+        return requestHash;
+    }
+    
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+    
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,5 +1,8 @@
 package com.fullstackmall.entity;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fullstackmall.entity.id.SnowflakeId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
@@ -8,17 +11,28 @@ import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 订单实体类
+ * 复合索引按管理员搜索的访问模式设计：等值条件列在前，下单时间（范围条件与排序列）其次，金额列在最后，
+ * 使按ID分页的搜索与计数在索引内完成
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_user_created", columnList = "user_id, created_at, total_amount"),
+    @Index(name = "idx_orders_status_created", columnList = "status, created_at, total_amount"),
+    @Index(name = "idx_orders_created_amount", columnList = "created_at, total_amount")
+})
 public class Order {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
+    @JsonSerialize(using = ToStringSerializer.class) // 超出JavaScript安全整数范围，以字符串输出
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -53,7 +67,25 @@ public class Order {
         CONFIRMED,   // 已确认
         SHIPPED,     // 已发货
         DELIVERED,   // 已送达
-        CANCELLED    // 已取消
+        CANCELLED;   // 已取消
+        
+        // 状态转换表：每个状态允许变更到的下一状态，已送达和已取消为终态
+        private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+        
+        static {
+            TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, CANCELLED));
+            TRANSITIONS.put(CONFIRMED, EnumSet.of(SHIPPED, CANCELLED));
+            TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED));
+            TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+            TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        }
+        
+        /**
+         * 是否允许从当前状态变更为目标状态
+         */
+        public boolean canTransitionTo(OrderStatus target) {
+            return TRANSITIONS.get(this).contains(target);
+        }
     }
     
     // 构造函数
@@ -1,5 +1,8 @@
 package com.fullstackmall.entity;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fullstackmall.entity.id.SnowflakeId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
@@ -15,17 +18,29 @@ import java.math.BigDecimal;
 public class OrderItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
+    @JsonSerialize(using = ToStringSerializer.class) // 超出JavaScript安全整数范围，以字符串输出
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
     
+    // 商品被删除后置空，订单项依靠下面的快照字段展示
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "product_id", nullable = false)
+    @JoinColumn(name = "product_id")
     private Product product;
     
+    // 下单时的商品快照，创建后不再修改
+    @Column(name = "product_name", updatable = false)
+    private String productName;
+    
+    @Column(name = "product_image_url", length = 500, updatable = false)
+    private String productImageUrl;
+    
+    @Column(name = "product_category", length = 100, updatable = false)
+    private String productCategory;
+    
     @Column(nullable = false)
     @NotNull(message = "商品数量不能为空")
     @Min(value = 1, message = "商品数量必须大于0")
@@ -42,6 +57,9 @@ public class OrderItem {
     public OrderItem(Order order, Product product, Integer quantity, BigDecimal price) {
         this.order = order;
         this.product = product;
+        this.productName = product.getName();
+        this.productImageUrl = product.getImageUrl();
+        this.productCategory = product.getCategory();
         this.quantity = quantity;
         this.price = price;
     }
@@ -76,6 +94,18 @@ public class OrderItem {
         this.product = product;
     }
     
+    public String getProductName() {
+        return productName;
+    }
+    
+    public String getProductImageUrl() {
+        return productImageUrl;
+    }
+    
+    public String getProductCategory() {
+        return productCategory;
+    }
+    
     public Integer getQuantity() {
         return quantity;
     }
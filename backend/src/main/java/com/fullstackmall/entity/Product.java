@@ -1,5 +1,6 @@
 package com.fullstackmall.entity;
 
+import com.fullstackmall.entity.id.PooledIdGenerator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
@@ -13,11 +14,13 @@ import java.time.LocalDateTime;
  * 商品实体类
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "idx_products_updated_at", columnList = "updated_at")
+})
 public class Product {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
     private Long id;
     
     @Column(nullable = false)
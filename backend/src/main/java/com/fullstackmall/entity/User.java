@@ -1,5 +1,6 @@
 package com.fullstackmall.entity;
 
+import com.fullstackmall.entity.id.PooledIdGenerator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -20,7 +21,7 @@ import java.util.Collections;
 public class User implements UserDetails {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIdGenerator.NAME)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -0,0 +1,82 @@
+package com.fullstackmall.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 用户订单统计实体类
+ * 每个用户一行，在下单和取消的事务中增量维护，个人中心按主键读取，不再对订单表做 COUNT
+ */
+@Entity
+@Table(name = "user_order_stats")
+public class UserOrderStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // 订单总数（含已取消和已归档的订单）
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    // 累计消费金额（不含已取消的订单）
+    @Column(name = "total_spent", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalSpent = BigDecimal.ZERO;
+
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 构造函数
+    public UserOrderStats() {}
+
+    public UserOrderStats(Long userId) {
+        this.userId = userId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getTotalSpent() {
+        return totalSpent;
+    }
+
+    public void setTotalSpent(BigDecimal totalSpent) {
+        this.totalSpent = totalSpent;
+    }
+
+    public LocalDateTime getLastOrderAt() {
+        return lastOrderAt;
+    }
+
+    public void setLastOrderAt(LocalDateTime lastOrderAt) {
+        this.lastOrderAt = lastOrderAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
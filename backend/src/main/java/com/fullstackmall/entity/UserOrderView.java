@@ -0,0 +1,129 @@
+package com.fullstackmall.entity;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 用户订单列表读模型实体类
+ * 每个订单一行，冗余存放列表页需要的全部字段，由订单事件异步维护，列表页不再连接订单项和商品表。
+ * 生产库表结构见 init.sql：主键为 (user_id, created_at, order_id)，同一用户的订单在聚簇索引上相邻存放，
+ * 一页订单是一次主键范围扫描，与历史订单数量无关；order_id 上的唯一索引用于按订单更新状态
+ */
+@Entity
+@Table(name = "user_order_view", indexes = {
+    @Index(name = "idx_user_order_view_user_created", columnList = "user_id, created_at DESC, order_id DESC")
+})
+public class UserOrderView {
+
+    @Id
+    @Column(name = "order_id")
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Order.OrderStatus status;
+
+    @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+
+    // 订单项数量
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
+    // 第一个订单项的商品名称与图片（下单快照）
+    @Column(name = "first_item_name")
+    private String firstItemName;
+
+    @Column(name = "first_item_image_url", length = 500)
+    private String firstItemImageUrl;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // 构造函数
+    public UserOrderView() {}
+
+    // Getters and Setters
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public String getFirstItemName() {
+        return firstItemName;
+    }
+
+    public void setFirstItemName(String firstItemName) {
+        this.firstItemName = firstItemName;
+    }
+
+    public String getFirstItemImageUrl() {
+        return firstItemImageUrl;
+    }
+
+    public void setFirstItemImageUrl(String firstItemImageUrl) {
+        this.firstItemImageUrl = firstItemImageUrl;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
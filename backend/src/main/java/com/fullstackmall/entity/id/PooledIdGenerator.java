@@ -0,0 +1,149 @@
+package com.fullstackmall.entity.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.jdbc.AbstractReturningWork;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * 号段（hi-lo）主键生成器
+ * 基于 id_generators 表按实体表名分段，每次从表中领取一个号段（默认50个ID）并在内存中分配，
+ * 使Hibernate在插入前即可得到主键，从而对INSERT语句进行JDBC批处理（IDENTITY主键会禁用批处理）。
+ * 号段大小由配置项 fullstackmall.id.block-size 指定。
+ *
+ * 领取号段通过Hibernate的隔离工作（JdbcIsolationDelegate）在独立事务中执行，每次领取时从连接池借用连接、
+ * 完成后立即归还；各实体表的号段行分别加锁，不同表之间的领取互不阻塞。
+ */
+public class PooledIdGenerator extends TableGenerator {
+
+    /**
+     * 生成器名称，实体通过 @GeneratedValue(generator = PooledIdGenerator.NAME) 引用
+     */
+    public static final String NAME = "pooled";
+
+    /**
+     * 号段表名
+     */
+    public static final String TABLE = "id_generators";
+
+    /**
+     * 号段大小配置项
+     */
+    public static final String BLOCK_SIZE_SETTING = "fullstackmall.id.block-size";
+
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    private String targetTable;
+    private String targetColumn;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int blockSize = serviceRegistry.getService(ConfigurationService.class)
+            .getSetting(BLOCK_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_BLOCK_SIZE);
+
+        parameters.put(TABLE_PARAM, TABLE);
+        parameters.put(SEGMENT_COLUMN_PARAM, DEF_SEGMENT_COLUMN);
+        parameters.put(VALUE_COLUMN_PARAM, DEF_VALUE_COLUMN);
+        parameters.put(CONFIG_PREFER_SEGMENT_PER_ENTITY, "true");
+        parameters.putIfAbsent(OptimizableGenerator.INCREMENT_PARAM, String.valueOf(blockSize));
+        // pooled-lo：表中保存下一个号段的起始值
+        parameters.put(OptimizableGenerator.OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+
+        targetTable = parameters.getProperty(PersistentIdentifierGenerator.TABLE);
+        targetColumn = parameters.getProperty(PersistentIdentifierGenerator.PK, "id");
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object obj) {
+        return getOptimizer().generate(new AccessCallback() {
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                long low = session.getTransactionCoordinator().createIsolationDelegate().delegateWork(
+                    new AbstractReturningWork<Long>() {
+                        @Override
+                        public Long execute(Connection connection) throws SQLException {
+                            return allocate(connection, getSegmentValue(), targetTable, targetColumn, getIncrementSize());
+                        }
+                    }, true);
+                return IdentifierGeneratorHelper.getIntegralDataTypeHolder(getIdentifierType().getReturnedClass())
+                    .initialize(low);
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return session.getTenantIdentifier();
+            }
+        });
+    }
+
+    /**
+     * 在隔离事务的连接上领取一个号段，事务的提交与回滚由隔离工作负责
+     * 号段记录不存在时以实体表当前最大ID+1作为起始值，兼容原先使用自增主键的已有数据
+     * @return 号段起始值
+     */
+    private static long allocate(Connection conn, String segment, String table, String column, int blockSize)
+            throws SQLException {
+        Long low = selectForUpdate(conn, segment);
+        if (low == null) {
+            low = maxId(conn, table, column) + 1;
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO " + TABLE + " (" + DEF_SEGMENT_COLUMN + ", " + DEF_VALUE_COLUMN + ") VALUES (?, ?)")) {
+                ps.setString(1, segment);
+                ps.setLong(2, low + blockSize);
+                ps.executeUpdate();
+                return low;
+            } catch (SQLException e) {
+                // 并发的首次领取已插入号段记录（唯一约束冲突），改为按已有记录领取
+                if (e.getSQLState() == null || !e.getSQLState().startsWith("23")) {
+                    throw e;
+                }
+                low = selectForUpdate(conn, segment);
+                if (low == null) {
+                    throw e;
+                }
+            }
+        }
+        try (PreparedStatement ps = conn.prepareStatement(
+                "UPDATE " + TABLE + " SET " + DEF_VALUE_COLUMN + " = ? WHERE " + DEF_SEGMENT_COLUMN + " = ?")) {
+            ps.setLong(1, low + blockSize);
+            ps.setString(2, segment);
+            ps.executeUpdate();
+        }
+        return low;
+    }
+
+    private static Long selectForUpdate(Connection conn, String segment) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT " + DEF_VALUE_COLUMN + " FROM " + TABLE + " WHERE " + DEF_SEGMENT_COLUMN + " = ? FOR UPDATE")) {
+            ps.setString(1, segment);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    private static long maxId(Connection conn, String table, String column) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table);
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
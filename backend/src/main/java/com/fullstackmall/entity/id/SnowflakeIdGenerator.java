@@ -0,0 +1,164 @@
+package com.fullstackmall.entity.id;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake风格的64位分布式ID生成器
+ * 位布局：1位符号（恒为0） | 41位毫秒时间戳（相对2024-01-01） | 10位节点ID | 12位毫秒内序号。
+ * 同一节点每毫秒最多生成4096个ID，不同节点使用不同节点ID即可保证全局唯一，ID大致按时间递增。
+ *
+ * 生成过程无锁：上次使用的时间戳和序号打包在一个 AtomicLong 中，通过CAS推进。
+ * 时钟小幅回拨时沿用上次的时间戳继续递增序号，单毫秒内序号用尽时自旋等待时钟进入下一毫秒，
+ * 只有回拨超过容忍范围时才拒绝生成。
+ */
+public class SnowflakeIdGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SnowflakeIdGenerator.class);
+
+    /**
+     * 时间戳纪元：2024-01-01T00:00:00Z
+     */
+    public static final long EPOCH = 1704067200000L;
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    private static final Map<Integer, SnowflakeIdGenerator> SHARED = new ConcurrentHashMap<>();
+
+    private final long nodeBits;
+    private final long maxBackwardMs;
+    private final LongSupplier clock;
+
+    /**
+     * 高位为相对纪元的毫秒数，低12位为该毫秒内已使用的序号
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId, long maxBackwardMs) {
+        this(nodeId, maxBackwardMs, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(int nodeId, long maxBackwardMs, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("节点ID必须在0到" + MAX_NODE_ID + "之间: " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.maxBackwardMs = maxBackwardMs;
+        this.clock = clock;
+    }
+
+    /**
+     * 获取指定节点的共享生成器，同一进程内的所有实体共用一个序号空间
+     * 同一节点只能有一个生成器（否则两个序号空间会产生重复ID），因此以节点ID为键；
+     * 再次获取时的回拨容忍配置与已有生成器不一致视为配置错误
+     * @param nodeId 节点ID
+     * @param maxBackwardMs 可容忍的时钟回拨毫秒数
+     * @return 生成器
+     */
+    public static SnowflakeIdGenerator shared(int nodeId, long maxBackwardMs) {
+        SnowflakeIdGenerator generator = SHARED.computeIfAbsent(nodeId, id -> new SnowflakeIdGenerator(id, maxBackwardMs));
+        if (generator.maxBackwardMs != maxBackwardMs) {
+            throw new IllegalStateException("节点 " + nodeId + " 的ID生成器已按时钟回拨容忍 "
+                + generator.maxBackwardMs + "ms 创建，不能再以 " + maxBackwardMs + "ms 获取");
+        }
+        return generator;
+    }
+
+    /**
+     * 生成下一个ID
+     * @return 正的64位ID
+     */
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long now = clock.getAsLong() - EPOCH;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                if (lastTimestamp - now > maxBackwardMs) {
+                    throw new IllegalStateException(
+                        "系统时钟回拨 " + (lastTimestamp - now) + "ms，超过容忍范围 " + maxBackwardMs + "ms");
+                }
+                if ((current & SEQUENCE_MASK) == SEQUENCE_MASK) {
+                    // 本毫秒序号已用尽，等待时钟前进，避免生成的时间戳持续超前于实际时钟
+                    Thread.onSpinWait();
+                    continue;
+                }
+                next = current + 1;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                return ((next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * 解析ID中的生成时间
+     * @param id ID
+     * @return 毫秒时间戳（Unix纪元）
+     */
+    public static long timestampOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+    }
+
+    /**
+     * 解析ID中的节点ID
+     */
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    /**
+     * 解析ID中的毫秒内序号
+     */
+    public static int sequenceOf(long id) {
+        return (int) (id & SEQUENCE_MASK);
+    }
+
+    /**
+     * 解析节点ID配置
+     * 配置为数字时直接使用；未配置或配置为 auto 时由主机名散列得到（多节点部署时可能冲突，应显式配置）
+     * @param configured 配置值
+     * @return 节点ID
+     */
+    public static int resolveNodeId(String configured) {
+        if (configured != null && !configured.isBlank() && !"auto".equalsIgnoreCase(configured.trim())) {
+            int nodeId;
+            try {
+                nodeId = Integer.parseInt(configured.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("节点ID配置无效: " + configured, e);
+            }
+            if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+                throw new IllegalArgumentException("节点ID必须在0到" + MAX_NODE_ID + "之间: " + nodeId);
+            }
+            return nodeId;
+        }
+
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = String.valueOf(ProcessHandle.current().pid());
+        }
+        int nodeId = Math.floorMod(host.hashCode(), MAX_NODE_ID + 1);
+        log.warn("未配置ID生成器节点ID，根据主机名 {} 使用节点ID {}；多节点部署时请通过 NODE_ID 显式配置", host, nodeId);
+        return nodeId;
+    }
+}
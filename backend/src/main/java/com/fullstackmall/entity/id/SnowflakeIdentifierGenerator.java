@@ -0,0 +1,51 @@
+package com.fullstackmall.entity.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+/**
+ * {@link SnowflakeId} 对应的Hibernate主键生成器
+ */
+public class SnowflakeIdentifierGenerator implements BeforeExecutionGenerator {
+
+    /**
+     * 节点ID配置项，取值为0-1023或 auto
+     */
+    public static final String NODE_ID_SETTING = "fullstackmall.id.node-id";
+
+    /**
+     * 可容忍的时钟回拨毫秒数配置项
+     */
+    public static final String MAX_BACKWARD_SETTING = "fullstackmall.id.max-clock-backward-ms";
+
+    public static final int DEFAULT_MAX_BACKWARD_MS = 1000;
+
+    private final SnowflakeIdGenerator generator;
+
+    public SnowflakeIdentifierGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+        ConfigurationService configuration = context.getServiceRegistry().getService(ConfigurationService.class);
+        int nodeId = SnowflakeIdGenerator.resolveNodeId(
+            configuration.getSetting(NODE_ID_SETTING, StandardConverters.STRING, "auto"));
+        int maxBackwardMs = configuration.getSetting(
+            MAX_BACKWARD_SETTING, StandardConverters.INTEGER, DEFAULT_MAX_BACKWARD_MS);
+        this.generator = SnowflakeIdGenerator.shared(nodeId, maxBackwardMs);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return generator.nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * 实体类
+ * 主键默认使用号段生成器，见 {@link com.fullstackmall.entity.id.PooledIdGenerator}；
+ * 订单和订单项使用Snowflake生成器，见 {@link com.fullstackmall.entity.id.SnowflakeId}
+ */
+@GenericGenerator(name = PooledIdGenerator.NAME, type = PooledIdGenerator.class)
+package com.fullstackmall.entity;
+
+import com.fullstackmall.entity.id.PooledIdGenerator;
+import org.hibernate.annotations.GenericGenerator;
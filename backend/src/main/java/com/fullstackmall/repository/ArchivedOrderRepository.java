@@ -0,0 +1,73 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.entity.ArchivedOrder;
+import com.fullstackmall.entity.Order;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 归档订单数据访问接口
+ */
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long>, ArchivedOrderRepositoryCustom {
+    
+    /**
+     * 根据ID批量查询归档订单及其订单项
+     * @param ids 订单ID
+     * @return 订单列表（顺序不保证与ID一致）
+     */
+    @Query("SELECT o FROM ArchivedOrder o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<ArchivedOrder> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 根据ID查询归档订单及其订单项
+     * @param id 订单ID
+     * @return 订单
+     */
+    @Query("SELECT o FROM ArchivedOrder o LEFT JOIN FETCH o.items WHERE o.id = :id")
+    Optional<ArchivedOrder> findWithItemsById(@Param("id") Long id);
+    
+    /**
+     * 查询已归档订单中最晚的下单时间
+     * @return 下单时间，没有归档订单时为null
+     */
+    @Query("SELECT MAX(o.createdAt) FROM ArchivedOrder o")
+    LocalDateTime findMaxCreatedAt();
+    
+    /**
+     * 按状态聚合归档订单数量与金额
+     * @return 每行为 [状态, 订单数, 金额合计]
+     */
+    @Query("SELECT o.status, COUNT(o), COALESCE(SUM(o.totalAmount), 0) FROM ArchivedOrder o GROUP BY o.status")
+    List<Object[]> aggregateByStatus();
+    
+    /**
+     * 按下单日期聚合归档订单数量与金额
+     * @param since 起始时间
+     * @param excluded 不计入的订单状态
+     * @return 每行为 [日期, 订单数, 金额合计]
+     */
+    @Query("SELECT CAST(o.createdAt AS LocalDate), COUNT(o), COALESCE(SUM(o.totalAmount), 0) FROM ArchivedOrder o " +
+           "WHERE o.createdAt >= :since AND o.status <> :excluded " +
+           "GROUP BY CAST(o.createdAt AS LocalDate)")
+    List<Object[]> aggregateByDay(@Param("since") LocalDateTime since, @Param("excluded") Order.OrderStatus excluded);
+    
+    /**
+     * 按下单时的商品分类聚合归档订单
+     * @param since 起始时间
+     * @param excluded 不计入的订单状态
+     * @return 每行为 [分类, 订单数, 销量, 销售额]
+     */
+    @Query("SELECT i.productCategory, COUNT(DISTINCT o.id), SUM(i.quantity), SUM(i.price * i.quantity) " +
+           "FROM ArchivedOrderItem i JOIN i.order o " +
+           "WHERE o.createdAt >= :since AND o.status <> :excluded " +
+           "GROUP BY i.productCategory")
+    List<Object[]> aggregateByCategory(@Param("since") LocalDateTime since, @Param("excluded") Order.OrderStatus excluded);
+}
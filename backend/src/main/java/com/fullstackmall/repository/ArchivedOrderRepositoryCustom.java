@@ -0,0 +1,27 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.dto.OrderSearchCriteria;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 归档订单组合条件搜索接口（条件与订单表搜索相同）
+ */
+public interface ArchivedOrderRepositoryCustom {
+    
+    /**
+     * 按组合条件查询归档订单的ID与下单时间，按下单时间倒序
+     * @param criteria 搜索条件
+     * @param pageable 分页参数（只使用偏移量和数量）
+     * @return 每行为 [订单ID, 下单时间]
+     */
+    List<Object[]> searchKeys(OrderSearchCriteria criteria, Pageable pageable);
+    
+    /**
+     * 按组合条件统计归档订单数量
+     * @param criteria 搜索条件
+     * @return 订单数量
+     */
+    long countSearch(OrderSearchCriteria criteria);
+}
@@ -0,0 +1,28 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.dto.OrderSearchCriteria;
+import com.fullstackmall.entity.ArchivedOrder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 归档订单组合条件搜索实现，复用订单表搜索的查询构造
+ */
+public class ArchivedOrderRepositoryImpl implements ArchivedOrderRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Object[]> searchKeys(OrderSearchCriteria criteria, Pageable pageable) {
+        return OrderRepositoryImpl.searchKeys(entityManager, ArchivedOrder.class, "userId", criteria, pageable);
+    }
+    
+    @Override
+    public long countSearch(OrderSearchCriteria criteria) {
+        return OrderRepositoryImpl.countSearch(entityManager, ArchivedOrder.class, "userId", criteria);
+    }
+}
@@ -4,8 +4,12 @@ import com.fullstackmall.entity.Cart;
 import com.fullstackmall.entity.CartItem;
 import com.fullstackmall.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +17,7 @@ import java.util.Optional;
  * 购物车商品项数据访问接口
  */
 @Repository
-public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+public interface CartItemRepository extends JpaRepository<CartItem, Long>, CartItemRepositoryCustom {
     
     /**
      * 根据购物车查找所有商品项
@@ -50,4 +54,22 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
      * @param cart 购物车
      */
     void deleteByCart(Cart cart);
-}
\ No newline at end of file
+    
+    /**
+     * 使用单条DELETE语句批量删除购物车的所有商品项
+     * @param cartId 购物车ID
+     * @return 删除的商品项数量
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.id = :cartId")
+    int deleteAllByCartId(@Param("cartId") Long cartId);
+    
+    /**
+     * 使用单条DELETE语句批量清空多个用户购物车的商品项
+     * @param userIds 用户ID集合
+     * @return 删除的商品项数量
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.id IN (SELECT c.id FROM Cart c WHERE c.user.id IN :userIds)")
+    int deleteAllByUserIds(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,17 @@
+package com.fullstackmall.repository;
+
+import java.util.Map;
+
+/**
+ * 购物车商品项批量写入接口（基于JDBC批处理实现）
+ */
+public interface CartItemRepositoryCustom {
+    
+    /**
+     * 批量加购：每个商品一条 INSERT ... ON DUPLICATE KEY UPDATE，整体作为一个JDBC批次执行
+     * 购物车中已有的商品累加数量，没有的商品新增一行
+     * @param cartId 购物车ID
+     * @param quantities 商品ID到加购数量的映射
+     */
+    void upsertBatch(Long cartId, Map<Long, Integer> quantities);
+}
@@ -0,0 +1,52 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.entity.CartItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 购物车商品项批量写入实现
+ */
+public class CartItemRepositoryImpl implements CartItemRepositoryCustom {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public void upsertBatch(Long cartId, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        
+        // 新行的主键取自实体的号段生成器（内存分配）；命中唯一键而转为更新的行不使用预分配的ID
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+            .getEntityDescriptor(CartItem.class).getGenerator();
+        
+        // 按商品ID排序，保证并发事务以相同顺序获取唯一键上的锁
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO cart_items (id, cart_id, product_id, quantity) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity)",
+            entries,
+            entries.size(),
+            (ps, entry) -> {
+                ps.setLong(1, (Long) generator.generate(session, null));
+                ps.setLong(2, cartId);
+                ps.setLong(3, entry.getKey());
+                ps.setInt(4, entry.getValue());
+            });
+    }
+}
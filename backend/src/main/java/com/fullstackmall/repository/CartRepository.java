@@ -3,6 +3,8 @@ package com.fullstackmall.repository;
 import com.fullstackmall.entity.Cart;
 import com.fullstackmall.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -26,4 +28,12 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
      * @return 购物车对象
      */
     Optional<Cart> findByUserId(Long userId);
+    
+    /**
+     * 根据用户ID查找购物车，并一次性抓取商品项及商品
+     * @param userId 用户ID
+     * @return 购物车对象
+     */
+    @Query("SELECT DISTINCT c FROM Cart c LEFT JOIN FETCH c.items i LEFT JOIN FETCH i.product WHERE c.user.id = :userId")
+    Optional<Cart> findWithItemsByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 下单幂等键数据访问接口
+ */
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+    
+    /**
+     * 根据用户ID和幂等键查找记录
+     * @param userId 用户ID
+     * @param idempotencyKey 幂等键
+     * @return 幂等键记录
+     */
+    Optional<IdempotencyKey> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+    
+    /**
+     * 删除已过期的幂等键
+     * @param now 当前时间
+     * @return 删除数量
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -3,8 +3,12 @@ package com.fullstackmall.repository;
 import com.fullstackmall.entity.Order;
 import com.fullstackmall.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -26,4 +30,48 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
      * @return 商品项列表
      */
     List<OrderItem> findByOrderId(Long orderId);
-}
\ No newline at end of file
+    
+    /**
+     * 按下单时的商品分类汇总一批订单的商品件数，用于取消订单时扣减实时销量
+     * @param orderIds 订单ID集合
+     * @return 每行为 [分类, 件数]
+     */
+    @Query("SELECT i.productCategory, SUM(i.quantity) FROM OrderItem i WHERE i.order.id IN :orderIds " +
+           "GROUP BY i.productCategory")
+    List<Object[]> sumQuantityByCategory(@Param("orderIds") Collection<Long> orderIds);
+    
+    /**
+     * 按下单时的商品分类聚合订单数、销量与销售额
+     * @param since 起始时间
+     * @param excluded 不计入的订单状态
+     * @return 每行为 [分类, 订单数, 销量, 销售额]，按销售额降序
+     */
+    @Query("SELECT i.productCategory, COUNT(DISTINCT o.id), SUM(i.quantity), SUM(i.price * i.quantity) " +
+           "FROM OrderItem i JOIN i.order o " +
+           "WHERE o.createdAt >= :since AND o.status <> :excluded " +
+           "GROUP BY i.productCategory ORDER BY SUM(i.price * i.quantity) DESC")
+    List<Object[]> aggregateByCategory(@Param("since") LocalDateTime since, @Param("excluded") Order.OrderStatus excluded);
+    
+    /**
+     * 读取再次购买所需的订单商品项：一条查询同时取得商品当前库存和购物车中已有的数量，
+     * 订单不在热表时读取归档表；只返回属于该用户的订单
+     * @param orderId 订单ID
+     * @param userId 用户ID
+     * @param cartId 用户购物车ID
+     * @return 每行为 [商品ID, 商品名称快照, 购买数量, 当前库存, 购物车中数量]，商品已删除时商品ID与库存为空
+     */
+    @Query(value = "SELECT i.product_id, i.product_name, i.quantity, p.stock, ci.quantity AS in_cart " +
+                   "FROM order_items i JOIN orders o ON o.id = i.order_id " +
+                   "LEFT JOIN products p ON p.id = i.product_id " +
+                   "LEFT JOIN cart_items ci ON ci.cart_id = :cartId AND ci.product_id = i.product_id " +
+                   "WHERE o.id = :orderId AND o.user_id = :userId " +
+                   "UNION ALL " +
+                   "SELECT i.product_id, i.product_name, i.quantity, p.stock, ci.quantity AS in_cart " +
+                   "FROM order_items_archive i JOIN orders_archive o ON o.id = i.order_id " +
+                   "LEFT JOIN products p ON p.id = i.product_id " +
+                   "LEFT JOIN cart_items ci ON ci.cart_id = :cartId AND ci.product_id = i.product_id " +
+                   "WHERE o.id = :orderId AND o.user_id = :userId",
+           nativeQuery = true)
+    List<Object[]> findReorderLines(@Param("orderId") Long orderId, @Param("userId") Long userId,
+                                    @Param("cartId") Long cartId);
+}
@@ -5,18 +5,20 @@ import com.fullstackmall.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * 订单数据访问接口
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     
     /**
      * 根据用户查找订单
@@ -34,6 +36,48 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     Page<Order> findByUserId(Long userId, Pageable pageable);
     
+    /**
+     * 根据ID批量查询订单，同一条SQL连接查询订单项（订单项自带商品快照，不连接商品表）
+     * @param ids 订单ID
+     * @return 订单列表（顺序不保证与ID一致）
+     */
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 查询订单的状态、金额与所属用户（不加载订单实体和订单项）
+     * @param id 订单ID
+     * @return 至多一行 [状态, 订单金额, 用户ID]
+     */
+    @Query("SELECT o.status, o.totalAmount, o.user.id FROM Order o WHERE o.id = :id")
+    List<Object[]> findStatusById(@Param("id") Long id);
+    
+    /**
+     * 条件更新订单状态：仅当订单仍处于预期的原状态时更新
+     * @param id 订单ID
+     * @param from 预期的原状态
+     * @param to 新状态
+     * @param now 更新时间
+     * @return 更新的行数，0 表示订单状态已被并发修改
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to, o.updatedAt = :now WHERE o.id = :id AND o.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") Order.OrderStatus from,
+                     @Param("to") Order.OrderStatus to, @Param("now") LocalDateTime now);
+    
+    /**
+     * 批量条件更新订单状态：只更新仍处于预期原状态的订单
+     * @param ids 订单ID集合
+     * @param from 预期的原状态
+     * @param to 新状态
+     * @param now 更新时间
+     * @return 更新的行数
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to, o.updatedAt = :now WHERE o.id IN :ids AND o.status = :from")
+    int updateStatusIn(@Param("ids") Collection<Long> ids, @Param("from") Order.OrderStatus from,
+                       @Param("to") Order.OrderStatus to, @Param("now") LocalDateTime now);
+    
     /**
      * 根据订单状态查找订单
      * @param status 订单状态
@@ -75,4 +119,22 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     @Query("SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.createdAt DESC")
     List<Order> findRecentOrdersByUserId(@Param("userId") Long userId, Pageable pageable);
-}
\ No newline at end of file
+    
+    /**
+     * 按状态聚合订单数量与金额
+     * @return 每行为 [状态, 订单数, 金额合计]
+     */
+    @Query("SELECT o.status, COUNT(o), COALESCE(SUM(o.totalAmount), 0) FROM Order o GROUP BY o.status")
+    List<Object[]> aggregateByStatus();
+    
+    /**
+     * 按下单日期聚合订单数量与金额
+     * @param since 起始时间
+     * @param excluded 不计入的订单状态
+     * @return 每行为 [日期, 订单数, 金额合计]，按日期升序
+     */
+    @Query("SELECT CAST(o.createdAt AS LocalDate), COUNT(o), COALESCE(SUM(o.totalAmount), 0) FROM Order o " +
+           "WHERE o.createdAt >= :since AND o.status <> :excluded " +
+           "GROUP BY CAST(o.createdAt AS LocalDate) ORDER BY CAST(o.createdAt AS LocalDate)")
+    List<Object[]> aggregateByDay(@Param("since") LocalDateTime since, @Param("excluded") Order.OrderStatus excluded);
+}
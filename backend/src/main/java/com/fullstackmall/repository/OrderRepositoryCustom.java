@@ -0,0 +1,45 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.dto.OrderSearchCriteria;
+import com.fullstackmall.entity.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 订单批量写入（基于Hibernate JDBC批处理实现）与组合条件搜索接口
+ */
+public interface OrderRepositoryCustom {
+    
+    /**
+     * 批量插入订单及其订单项
+     * 主键由Snowflake生成器在应用内分配，订单和订单项按 hibernate.jdbc.batch_size 分批写入并立即刷新
+     * @param orders 待插入的订单（需已设置用户、金额、地址及订单项）
+     */
+    void insertBatch(List<Order> orders);
+    
+    /**
+     * 按组合条件分页搜索订单ID，按下单时间倒序
+     * 只查询订单ID，条件与排序列均在复合索引中，分页与计数查询不读取数据行（收货地址条件除外）
+     * @param criteria 搜索条件
+     * @param pageable 分页参数（只使用页码和页大小）
+     * @return 订单ID分页列表
+     */
+    Page<Long> searchIds(OrderSearchCriteria criteria, Pageable pageable);
+    
+    /**
+     * 按组合条件查询订单的ID与下单时间，按下单时间倒序（用于与归档订单合并分页）
+     * @param criteria 搜索条件
+     * @param pageable 分页参数（只使用偏移量和数量）
+     * @return 每行为 [订单ID, 下单时间]
+     */
+    List<Object[]> searchKeys(OrderSearchCriteria criteria, Pageable pageable);
+    
+    /**
+     * 按组合条件统计订单数量
+     * @param criteria 搜索条件
+     * @return 订单数量
+     */
+    long countSearch(OrderSearchCriteria criteria);
+}
@@ -0,0 +1,139 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.dto.OrderSearchCriteria;
+import com.fullstackmall.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 订单批量写入与组合条件搜索实现
+ */
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    @Transactional
+    public void insertBatch(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        
+        // 订单项随订单级联持久化；开启 order_inserts 后同类INSERT合并为一个批次
+        orders.forEach(entityManager::persist);
+        entityManager.flush();
+    }
+    
+    @Override
+    public Page<Long> searchIds(OrderSearchCriteria criteria, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> order = query.from(Order.class);
+        query.select(order.get("id"))
+            .where(predicates(cb, order, order.get("user").get("id"), criteria))
+            .orderBy(cb.desc(order.get("createdAt")), cb.desc(order.get("id")));
+        List<Long> ids = entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+        
+        return PageableExecutionUtils.getPage(ids, pageable, () -> countSearch(criteria));
+    }
+    
+    @Override
+    public List<Object[]> searchKeys(OrderSearchCriteria criteria, Pageable pageable) {
+        return searchKeys(entityManager, Order.class, "user.id", criteria, pageable);
+    }
+    
+    @Override
+    public long countSearch(OrderSearchCriteria criteria) {
+        return countSearch(entityManager, Order.class, "user.id", criteria);
+    }
+    
+    /**
+     * 在订单表或归档订单表上按组合条件查询 [订单ID, 下单时间]，按下单时间倒序
+     */
+    static List<Object[]> searchKeys(EntityManager entityManager, Class<?> entity, String userIdPath,
+                                     OrderSearchCriteria criteria, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<?> order = query.from(entity);
+        query.multiselect(order.get("id"), order.get("createdAt"))
+            .where(predicates(cb, order, path(order, userIdPath), criteria))
+            .orderBy(cb.desc(order.get("createdAt")), cb.desc(order.get("id")));
+        return entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+    }
+    
+    /**
+     * 在订单表或归档订单表上按组合条件计数
+     */
+    static long countSearch(EntityManager entityManager, Class<?> entity, String userIdPath,
+                            OrderSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        Root<?> counted = count.from(entity);
+        count.select(cb.count(counted)).where(predicates(cb, counted, path(counted, userIdPath), criteria));
+        return entityManager.createQuery(count).getSingleResult();
+    }
+    
+    private static Path<Object> path(Root<?> root, String dotted) {
+        Path<Object> path = null;
+        for (String attribute : dotted.split("\\.")) {
+            path = path == null ? root.get(attribute) : path.get(attribute);
+        }
+        return path;
+    }
+    
+    /**
+     * 按非空条件构造查询谓词
+     * 用户、状态为等值条件，下单时间、金额为范围条件，分别对应 (user_id, created_at, total_amount)、
+     * (status, created_at, total_amount) 和 (created_at, total_amount) 复合索引；收货地址为包含匹配，只能逐行过滤
+     */
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<?> order, Path<?> userId,
+                                          OrderSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getUserId() != null) {
+            predicates.add(cb.equal(userId, criteria.getUserId()));
+        }
+        if (criteria.getStatus() != null) {
+            predicates.add(cb.equal(order.get("status"), criteria.getStatus()));
+        }
+        if (criteria.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("createdAt"), criteria.getFrom()));
+        }
+        if (criteria.getTo() != null) {
+            predicates.add(cb.lessThan(order.get("createdAt"), criteria.getTo()));
+        }
+        if (criteria.getMinAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("totalAmount"), criteria.getMinAmount()));
+        }
+        if (criteria.getMaxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(order.get("totalAmount"), criteria.getMaxAmount()));
+        }
+        if (criteria.getAddress() != null && !criteria.getAddress().isBlank()) {
+            predicates.add(cb.like(order.get("shippingAddress"), "%" + escapeLike(criteria.getAddress().trim()) + "%", '\\'));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+    
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,70 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 发件箱事件数据访问接口
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    /**
+     * 按写入顺序查找指定状态、已到重试时间的事件（从未失败过的事件没有重试时间）
+     * @param status 投递状态
+     * @param now 当前时间
+     * @param pageable 分页参数（只取第一页作为批次）
+     * @return 事件列表
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = :status " +
+           "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) ORDER BY e.id")
+    List<OutboxEvent> findDueByStatusOrderById(@Param("status") OutboxEvent.Status status,
+                                               @Param("now") LocalDateTime now, Pageable pageable);
+    
+    /**
+     * 将一批事件标记为已投递
+     * @param ids 事件ID集合
+     * @param published 已投递状态
+     * @param now 投递时间
+     * @return 更新数量
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :published, e.publishedAt = :now WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("published") OutboxEvent.Status published,
+                      @Param("now") LocalDateTime now);
+    
+    /**
+     * 记录一次投递失败
+     * @param id 事件ID
+     * @param attempts 已尝试次数
+     * @param status 失败后的状态（未超过重试次数时仍为待投递）
+     * @param lastError 失败原因
+     * @param nextAttemptAt 下一次重试时间
+     * @return 更新数量
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = :attempts, e.status = :status, e.lastError = :lastError, " +
+           "e.nextAttemptAt = :nextAttemptAt WHERE e.id = :id")
+    int markAttemptFailed(@Param("id") Long id, @Param("attempts") int attempts,
+                          @Param("status") OutboxEvent.Status status, @Param("lastError") String lastError,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+    
+    /**
+     * 删除早于指定时间投递完成的事件
+     * @param published 已投递状态
+     * @param before 截止时间
+     * @return 删除数量
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :published AND e.publishedAt < :before")
+    int deletePublishedBefore(@Param("published") OutboxEvent.Status published, @Param("before") LocalDateTime before);
+}
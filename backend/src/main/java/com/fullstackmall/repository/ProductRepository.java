@@ -14,7 +14,7 @@ import java.util.List;
  * 商品数据访问接口
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     
     /**
      * 根据分类查找商品
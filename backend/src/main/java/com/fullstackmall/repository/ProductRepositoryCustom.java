@@ -0,0 +1,59 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.entity.Product;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 商品批量操作接口（基于JDBC批处理实现）
+ */
+public interface ProductRepositoryCustom {
+    
+    /**
+     * 批量扣减库存
+     * 每个商品执行一次条件更新（stock >= 扣减数量），按商品ID顺序加锁以避免死锁
+     * @param quantities 商品ID到扣减数量的映射
+     * @return 库存不足（条件更新未命中）的商品ID列表，全部成功时为空
+     */
+    List<Long> decreaseStockBatch(Map<Long, Integer> quantities);
+    
+    /**
+     * 批量恢复库存
+     * 按商品ID顺序执行 stock = stock + 数量 的批量更新，已删除的商品被忽略
+     * @param quantities 商品ID到恢复数量的映射
+     */
+    void increaseStockBatch(Map<Long, Integer> quantities);
+    
+    /**
+     * 按订单项恢复一批订单占用的库存
+     * 一条 GROUP BY 查询在数据库内按商品汇总订单项数量，再以一个 JDBC 批次加回库存，
+     * 不加载订单项和商品实体；商品已删除的订单项被忽略
+     * @param orderIds 订单ID集合
+     * @return 更新的商品数量
+     */
+    int restoreStockForOrders(Collection<Long> orderIds);
+    
+    /**
+     * 按商品ID顺序锁定商品行并读取当前库存（SELECT ... FOR UPDATE）
+     * @param productIds 商品ID集合
+     * @return 商品ID到当前库存的映射，不存在的商品不在结果中
+     */
+    Map<Long, Integer> findStockForUpdate(Collection<Long> productIds);
+    
+    /**
+     * 批量插入商品
+     * 主键由号段生成器预先分配，INSERT按 hibernate.jdbc.batch_size 合并为JDBC批次；
+     * 写入后商品从持久化上下文中分离，大批量导入时内存不随导入数量增长
+     * @param products 新商品（ID为空）
+     */
+    void insertBatch(List<Product> products);
+    
+    /**
+     * 按ID批量更新商品的名称、描述、价格、库存、分类和图片
+     * @param products 待更新的商品（ID不为空）
+     * @return 不存在（未更新任何行）的商品ID列表，全部成功时为空
+     */
+    List<Long> updateBatch(List<Product> products);
+}
@@ -0,0 +1,163 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 商品批量操作实现
+ */
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Long> decreaseStockBatch(Map<Long, Integer> quantities) {
+        List<Long> failed = new ArrayList<>();
+        if (quantities.isEmpty()) {
+            return failed;
+        }
+        
+        // 按商品ID排序，保证并发事务以相同顺序获取行锁
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts = jdbcTemplate.batchUpdate(
+            "UPDATE products SET stock = stock - ?, updated_at = ? WHERE id = ? AND stock >= ?",
+            entries,
+            entries.size(),
+            (ps, entry) -> {
+                ps.setInt(1, entry.getValue());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, entry.getKey());
+                ps.setInt(4, entry.getValue());
+            })[0];
+        
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0 || (counts[i] < 0 && counts[i] != Statement.SUCCESS_NO_INFO)) {
+                failed.add(entries.get(i).getKey());
+            }
+        }
+        return failed;
+    }
+    
+    @Override
+    public void increaseStockBatch(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+            "UPDATE products SET stock = stock + ?, updated_at = ? WHERE id = ?",
+            entries,
+            entries.size(),
+            (ps, entry) -> {
+                ps.setInt(1, entry.getValue());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, entry.getKey());
+            });
+    }
+    
+    @Override
+    public int restoreStockForOrders(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Integer> quantities = new TreeMap<>();
+        namedParameterJdbcTemplate.query(
+            "SELECT product_id, SUM(quantity) AS quantity FROM order_items " +
+            "WHERE order_id IN (:orderIds) AND product_id IS NOT NULL GROUP BY product_id",
+            new MapSqlParameterSource("orderIds", orderIds),
+            rs -> {
+                quantities.put(rs.getLong("product_id"), rs.getInt("quantity"));
+            });
+        increaseStockBatch(quantities);
+        return quantities.size();
+    }
+    
+    @Override
+    public Map<Long, Integer> findStockForUpdate(Collection<Long> productIds) {
+        Map<Long, Integer> stock = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return stock;
+        }
+        namedParameterJdbcTemplate.query(
+            "SELECT id, stock FROM products WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+            new MapSqlParameterSource("ids", productIds),
+            rs -> {
+                stock.put(rs.getLong("id"), rs.getInt("stock"));
+            });
+        return stock;
+    }
+    
+    @Override
+    @Transactional
+    public void insertBatch(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        
+        products.forEach(entityManager::persist);
+        entityManager.flush();
+        products.forEach(entityManager::detach);
+    }
+    
+    @Override
+    public List<Long> updateBatch(List<Product> products) {
+        List<Long> missing = new ArrayList<>();
+        if (products.isEmpty()) {
+            return missing;
+        }
+        
+        // 按商品ID排序，与库存扣减以相同顺序获取行锁
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparing(Product::getId));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts = jdbcTemplate.batchUpdate(
+            "UPDATE products SET name = ?, description = ?, price = ?, stock = ?, category = ?, image_url = ?, " +
+            "updated_at = ? WHERE id = ?",
+            sorted,
+            sorted.size(),
+            (ps, product) -> {
+                ps.setString(1, product.getName());
+                ps.setString(2, product.getDescription());
+                ps.setBigDecimal(3, product.getPrice());
+                ps.setInt(4, product.getStock());
+                ps.setString(5, product.getCategory());
+                ps.setString(6, product.getImageUrl());
+                ps.setTimestamp(7, now);
+                ps.setLong(8, product.getId());
+            })[0];
+        
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                missing.add(sorted.get(i).getId());
+            }
+        }
+        return missing;
+    }
+}
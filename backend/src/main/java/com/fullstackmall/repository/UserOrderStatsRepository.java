@@ -0,0 +1,61 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.entity.UserOrderStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 用户订单统计数据访问接口
+ */
+@Repository
+public interface UserOrderStatsRepository extends JpaRepository<UserOrderStats, Long> {
+
+    /**
+     * 累加新订单（原子更新，不读取统计行）
+     * @param userId 用户ID
+     * @param orders 新订单数量
+     * @param spent 新订单金额合计
+     * @param lastOrderAt 新订单中最晚的下单时间
+     * @param now 更新时间
+     * @return 更新数量，统计行不存在时为0
+     */
+    @Modifying
+    @Query("UPDATE UserOrderStats s SET s.orderCount = s.orderCount + :orders, s.totalSpent = s.totalSpent + :spent, " +
+           "s.lastOrderAt = CASE WHEN s.lastOrderAt IS NULL OR s.lastOrderAt < :lastOrderAt THEN :lastOrderAt ELSE s.lastOrderAt END, " +
+           "s.updatedAt = :now WHERE s.userId = :userId")
+    int addOrders(@Param("userId") Long userId, @Param("orders") long orders, @Param("spent") BigDecimal spent,
+                  @Param("lastOrderAt") LocalDateTime lastOrderAt, @Param("now") LocalDateTime now);
+
+    /**
+     * 扣减已取消订单的消费金额（订单数量仍计入已取消的订单）
+     * @param userId 用户ID
+     * @param amount 取消的订单金额合计
+     * @param now 更新时间
+     * @return 更新数量，统计行不存在时为0
+     */
+    @Modifying
+    @Query("UPDATE UserOrderStats s SET s.totalSpent = s.totalSpent - :amount, s.updatedAt = :now WHERE s.userId = :userId")
+    int deductSpent(@Param("userId") Long userId, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    /**
+     * 用热表和归档表的聚合结果初始化统计行，统计行已存在时忽略
+     * 执行前先刷新持久化上下文，使本事务中尚未写出的订单计入聚合
+     * @param userId 用户ID
+     * @param now 更新时间
+     * @return 插入数量，已被其他事务初始化时为0
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT IGNORE INTO user_order_stats (user_id, order_count, total_spent, last_order_at, updated_at) " +
+                   "SELECT :userId, COUNT(*), COALESCE(SUM(CASE WHEN o.status <> 'CANCELLED' THEN o.total_amount ELSE 0 END), 0), " +
+                   "MAX(o.created_at), :now FROM (" +
+                   "SELECT status, total_amount, created_at FROM orders WHERE user_id = :userId " +
+                   "UNION ALL SELECT status, total_amount, created_at FROM orders_archive WHERE user_id = :userId) o",
+           nativeQuery = true)
+    int insertFromOrders(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,108 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.UserOrderView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 用户订单列表读模型数据访问接口
+ */
+@Repository
+public interface UserOrderViewRepository extends JpaRepository<UserOrderView, Long> {
+
+    /**
+     * 按下单时间倒序读取用户的一页订单（不执行 COUNT）
+     * @param userId 用户ID
+     * @param pageable 分页参数
+     * @return 订单列表行
+     */
+    List<UserOrderView> findByUserIdOrderByCreatedAtDescOrderIdDesc(Long userId, Pageable pageable);
+
+    /**
+     * 写入订单列表行，重复投递的事件被忽略
+     * @return 插入数量
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_order_view (order_id, user_id, status, total_amount, item_count, " +
+                   "first_item_name, first_item_image_url, created_at, updated_at) " +
+                   "VALUES (:orderId, :userId, :status, :totalAmount, :itemCount, :firstItemName, :firstItemImageUrl, " +
+                   ":createdAt, :createdAt)",
+           nativeQuery = true)
+    int insertIgnore(@Param("orderId") Long orderId, @Param("userId") Long userId, @Param("status") String status,
+                     @Param("totalAmount") BigDecimal totalAmount, @Param("itemCount") int itemCount,
+                     @Param("firstItemName") String firstItemName, @Param("firstItemImageUrl") String firstItemImageUrl,
+                     @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * 按状态变更事件更新订单状态，只在当前状态等于事件的原状态时更新，重复投递的事件不会回退状态
+     * @return 更新数量
+     */
+    @Modifying
+    @Query("UPDATE UserOrderView v SET v.status = :to, v.updatedAt = :now WHERE v.orderId = :orderId AND v.status = :from")
+    int updateStatus(@Param("orderId") Long orderId, @Param("from") Order.OrderStatus from,
+                     @Param("to") Order.OrderStatus to, @Param("now") LocalDateTime now);
+
+    /**
+     * 按订单表的当前行写入订单列表行（第一个商品取ID最小的订单项），已存在时忽略
+     * @return 插入数量
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_order_view (order_id, user_id, status, total_amount, item_count, " +
+                   "first_item_name, first_item_image_url, created_at, updated_at) " +
+                   "SELECT o.id, o.user_id, o.status, o.total_amount, s.item_count, " +
+                   "fi.product_name, fi.product_image_url, o.created_at, o.updated_at " +
+                   "FROM orders o " +
+                   "JOIN (SELECT order_id, COUNT(*) AS item_count, MIN(id) AS first_item_id " +
+                   "      FROM order_items WHERE order_id = :orderId GROUP BY order_id) s ON s.order_id = o.id " +
+                   "JOIN order_items fi ON fi.id = s.first_item_id " +
+                   "WHERE o.id = :orderId",
+           nativeQuery = true)
+    int insertFromOrder(@Param("orderId") Long orderId);
+
+    /**
+     * 把订单列表行的状态同步为订单表的当前状态，状态相同或订单不存在时不更新
+     * @return 更新数量
+     */
+    @Modifying
+    @Query(value = "UPDATE user_order_view SET status = (SELECT o.status FROM orders o WHERE o.id = :orderId), " +
+                   "updated_at = :now " +
+                   "WHERE order_id = :orderId AND status <> (SELECT o.status FROM orders o WHERE o.id = :orderId)",
+           nativeQuery = true)
+    int syncStatusFromOrder(@Param("orderId") Long orderId, @Param("now") LocalDateTime now);
+
+    /**
+     * 查找下单时间范围内在读模型中没有对应行的订单
+     * @param since 起始时间（含）
+     * @param before 结束时间（不含）
+     * @param limit 返回数量上限
+     * @return 订单ID
+     */
+    @Query(value = "SELECT o.id FROM orders o WHERE o.created_at >= :since AND o.created_at < :before " +
+                   "AND NOT EXISTS (SELECT 1 FROM user_order_view v WHERE v.order_id = o.id) ORDER BY o.id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findMissingOrderIds(@Param("since") LocalDateTime since, @Param("before") LocalDateTime before,
+                                   @Param("limit") int limit);
+
+    /**
+     * 查找下单时间范围内读模型状态与订单表不一致的订单
+     * @param since 起始时间（含）
+     * @param before 结束时间（不含）
+     * @param limit 返回数量上限
+     * @return 订单ID
+     */
+    @Query(value = "SELECT o.id FROM orders o JOIN user_order_view v ON v.order_id = o.id " +
+                   "WHERE o.created_at >= :since AND o.created_at < :before AND v.status <> o.status " +
+                   "ORDER BY o.id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findStaleOrderIds(@Param("since") LocalDateTime since, @Param("before") LocalDateTime before,
+                                 @Param("limit") int limit);
+}
@@ -0,0 +1,244 @@
+package com.fullstackmall.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 废弃购物车清理服务
+ * 按 (updated_at, id) 键集顺序分批删除长期未更新的购物车及其商品项，
+ * 每批一个短事务，并通过数据库延迟探测进行限流，避免长时间持锁或造成延迟尖刺。
+ */
+@Service
+public class CartPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(CartPurgeService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cart.purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cart.purge.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${cart.purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${cart.purge.max-batches-per-run:1000}")
+    private int maxBatchesPerRun;
+
+    @Value("${cart.purge.pause-ms:50}")
+    private long pauseMs;
+
+    @Value("${cart.purge.latency-threshold-ms:20}")
+    private long latencyThresholdMs;
+
+    @Value("${cart.purge.max-backoff-ms:5000}")
+    private long maxBackoffMs;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong lastRunDeleted = new AtomicLong();
+
+    // 延迟探测与等待可替换，测试中无需真实探测和休眠
+    private LongSupplier latencyProbe = this::probeLatencyMs;
+    private LongConsumer sleeper = this::sleep;
+
+    private Counter cartsDeleted;
+    private Counter itemsDeleted;
+    private Counter throttled;
+    private Timer batchTimer;
+
+    @PostConstruct
+    public void initMetrics() {
+        cartsDeleted = meterRegistry.counter("cart.purge.carts.deleted");
+        itemsDeleted = meterRegistry.counter("cart.purge.items.deleted");
+        throttled = meterRegistry.counter("cart.purge.throttled");
+        batchTimer = meterRegistry.timer("cart.purge.batch.duration");
+        meterRegistry.gauge("cart.purge.last-run.deleted", lastRunDeleted);
+    }
+
+    /**
+     * 定时清理任务
+     */
+    @Scheduled(cron = "${cart.purge.cron:0 30 3 * * *}")
+    public void scheduledPurge() {
+        if (enabled) {
+            purgeAbandonedCarts();
+        }
+    }
+
+    /**
+     * 清理超过保留天数未更新的购物车
+     * @return 本次删除的购物车数量，已有任务在运行时返回-1
+     */
+    public long purgeAbandonedCarts() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("购物车清理任务正在运行，跳过本次调度");
+            return -1;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            long total = 0;
+            Timestamp lastUpdatedAt = null;
+            long lastId = 0;
+
+            for (int batch = 0; batch < maxBatchesPerRun && !Thread.currentThread().isInterrupted(); batch++) {
+                throttle();
+
+                List<CartKey> keys = findNextChunk(cutoff, lastUpdatedAt, lastId);
+                if (keys.isEmpty()) {
+                    break;
+                }
+                CartKey last = keys.get(keys.size() - 1);
+                lastUpdatedAt = last.updatedAt;
+                lastId = last.id;
+
+                List<Long> ids = keys.stream().map(k -> k.id).toList();
+                Integer deleted = batchTimer.record(() -> deleteChunk(ids, cutoff));
+                total += deleted != null ? deleted : 0;
+
+                if (batch > 0 && batch % 20 == 0) {
+                    log.info("购物车清理进度: 已处理 {} 批，已删除 {} 个购物车", batch, total);
+                }
+                if (keys.size() < batchSize) {
+                    break;
+                }
+                sleeper.accept(pauseMs);
+            }
+
+            lastRunDeleted.set(total);
+            log.info("购物车清理完成: 截止时间 {}，共删除 {} 个购物车", cutoff, total);
+            return total;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 按键集顺序查询下一批待清理的购物车
+     */
+    private List<CartKey> findNextChunk(LocalDateTime cutoff, Timestamp lastUpdatedAt, long lastId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("cutoff", Timestamp.valueOf(cutoff))
+            .addValue("limit", batchSize);
+        String sql;
+        if (lastUpdatedAt == null) {
+            sql = "SELECT id, updated_at FROM carts WHERE updated_at < :cutoff " +
+                  "ORDER BY updated_at, id LIMIT :limit";
+        } else {
+            sql = "SELECT id, updated_at FROM carts WHERE updated_at < :cutoff " +
+                  "AND (updated_at > :lastUpdatedAt OR (updated_at = :lastUpdatedAt AND id > :lastId)) " +
+                  "ORDER BY updated_at, id LIMIT :limit";
+            params.addValue("lastUpdatedAt", lastUpdatedAt).addValue("lastId", lastId);
+        }
+        return namedParameterJdbcTemplate.query(sql, params,
+            (rs, rowNum) -> new CartKey(rs.getLong("id"), rs.getTimestamp("updated_at")));
+    }
+
+    /**
+     * 在单个短事务中删除一批购物车
+     * 删除前重新锁定并校验 updated_at，跳过期间被用户重新使用的购物车
+     */
+    int deleteChunk(List<Long> ids, LocalDateTime cutoff) {
+        return transactionTemplate.execute(status -> {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("cutoff", Timestamp.valueOf(cutoff));
+            List<Long> stale = namedParameterJdbcTemplate.queryForList(
+                "SELECT id FROM carts WHERE id IN (:ids) AND updated_at < :cutoff FOR UPDATE",
+                params, Long.class);
+            if (stale.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource staleParams = new MapSqlParameterSource("ids", stale);
+            int items = namedParameterJdbcTemplate.update(
+                "DELETE FROM cart_items WHERE cart_id IN (:ids)", staleParams);
+            int carts = namedParameterJdbcTemplate.update(
+                "DELETE FROM carts WHERE id IN (:ids)", staleParams);
+            itemsDeleted.increment(items);
+            cartsDeleted.increment(carts);
+            return carts;
+        });
+    }
+
+    /**
+     * 数据库延迟探测：探测耗时超过阈值时指数退避，直到数据库恢复或达到最大退避时间
+     */
+    private void throttle() {
+        long backoff = Math.max(pauseMs, 10);
+        while (latencyProbe.getAsLong() > latencyThresholdMs && backoff <= maxBackoffMs) {
+            throttled.increment();
+            log.debug("数据库延迟超过阈值 {}ms，清理任务退避 {}ms", latencyThresholdMs, backoff);
+            sleeper.accept(backoff);
+            backoff *= 2;
+        }
+    }
+
+    void setLatencyProbe(LongSupplier latencyProbe) {
+        this.latencyProbe = latencyProbe;
+    }
+
+    void setSleeper(LongConsumer sleeper) {
+        this.sleeper = sleeper;
+    }
+
+    private long probeLatencyMs() {
+        long start = System.nanoTime();
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 键集游标
+     */
+    private static class CartKey {
+        private final long id;
+        private final Timestamp updatedAt;
+
+        CartKey(long id, Timestamp updatedAt) {
+            this.id = id;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
@@ -11,7 +11,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -87,6 +90,7 @@ public class CartService {
             }
             
             item.setQuantity(newQuantity);
+            cart.setUpdatedAt(LocalDateTime.now());
             return cartItemRepository.save(item);
         } else {
             // 创建新的购物车项
@@ -96,6 +100,20 @@ public class CartService {
         }
     }
     
+    /**
+     * 批量加购：所有商品以一个JDBC批次写入，已有的商品累加数量
+     * 调用方负责库存校验
+     * @param cart 购物车
+     * @param quantities 商品ID到加购数量的映射
+     */
+    public void addItems(Cart cart, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        cartItemRepository.upsertBatch(cart.getId(), quantities);
+        cart.setUpdatedAt(LocalDateTime.now());
+    }
+    
     /**
      * 更新购物车商品数量
      * @param user 用户
@@ -118,6 +136,7 @@ public class CartService {
         }
         
         item.setQuantity(quantity);
+        item.getCart().setUpdatedAt(LocalDateTime.now());
         return cartItemRepository.save(item);
     }
     
@@ -145,10 +164,36 @@ public class CartService {
      * @param user 用户
      */
     public void clearCart(User user) {
-        Cart cart = getOrCreateCart(user);
-        cartItemRepository.deleteByCart(cart);
-        cart.clearItems();
-        cartRepository.save(cart);
+        clearCartItems(getOrCreateCart(user));
+    }
+    
+    /**
+     * 使用单条DELETE语句清空购物车商品项
+     * 不经过实体集合的orphanRemoval，避免先查询再逐条删除
+     * @param cart 购物车
+     */
+    public void clearCartItems(Cart cart) {
+        cartItemRepository.deleteAllByCartId(cart.getId());
+        cart.setUpdatedAt(LocalDateTime.now());
+    }
+    
+    /**
+     * 批量清空多个用户的购物车商品项
+     * @param userIds 用户ID集合
+     */
+    public void clearCarts(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            cartItemRepository.deleteAllByUserIds(userIds);
+        }
+    }
+    
+    /**
+     * 获取用户购物车及其商品项（单条查询抓取商品项和商品）
+     * @param user 用户
+     * @return 购物车，用户尚无购物车时为空
+     */
+    public Optional<Cart> findCartWithItems(User user) {
+        return cartRepository.findWithItemsByUserId(user.getId());
     }
     
     /**
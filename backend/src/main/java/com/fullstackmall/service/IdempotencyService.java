@@ -0,0 +1,244 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.CreateOrderRequest;
+import com.fullstackmall.entity.IdempotencyKey;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.repository.IdempotencyKeyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 下单幂等服务
+ * 内存中的过期Map负责合并并发重复请求（后到者等待首个请求的执行结果），
+ * 数据库唯一键表负责跨实例、跨重启的去重；幂等键记录与订单在同一事务中写入。
+ */
+@Service
+public class IdempotencyService {
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${order.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${order.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${order.idempotency.wait-timeout-ms:30000}")
+    private long waitTimeoutMs;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 以幂等方式执行下单
+     * @param userId 用户ID
+     * @param key 幂等键
+     * @param requestHash 请求指纹，同一幂等键携带不同请求体时拒绝执行
+     * @param action 首次执行时调用的下单逻辑
+     * @return 执行结果（首次执行的订单，或重放的原订单）
+     */
+    public Result execute(Long userId, String key, String requestHash, Supplier<Order> action) {
+        String mapKey = userId + ":" + key;
+        while (true) {
+            Entry existing = entries.get(mapKey);
+            if (existing != null) {
+                if (existing.isExpired()) {
+                    entries.remove(mapKey, existing);
+                    continue;
+                }
+                return replay(existing, requestHash);
+            }
+
+            Entry entry = new Entry(LocalDateTime.now().plusHours(ttlHours));
+            if (entries.putIfAbsent(mapKey, entry) != null) {
+                continue;
+            }
+            evictIfFull();
+            return executeOwned(mapKey, entry, userId, key, requestHash, action);
+        }
+    }
+
+    /**
+     * 当前线程持有该幂等键，负责查询数据库记录或真正执行下单
+     */
+    private Result executeOwned(String mapKey, Entry entry, Long userId, String key,
+                                String requestHash, Supplier<Order> action) {
+        try {
+            Optional<IdempotencyKey> stored = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key);
+            if (stored.isPresent() && stored.get().getExpiresAt().isAfter(LocalDateTime.now())) {
+                entry.future.complete(new Outcome(stored.get().getOrderId(), stored.get().getRequestHash()));
+                return replay(entry, requestHash);
+            }
+
+            Order order = transactionTemplate.execute(status -> {
+                stored.ifPresent(idempotencyKeyRepository::delete);
+                Order created = action.get();
+                idempotencyKeyRepository.saveAndFlush(
+                    new IdempotencyKey(userId, key, requestHash, created.getId(), entry.expiresAt));
+                return created;
+            });
+            entry.future.complete(new Outcome(order.getId(), requestHash));
+            return new Result(order, false);
+        } catch (DataIntegrityViolationException e) {
+            // 其他实例已使用同一幂等键提交，本事务已整体回滚，改为重放对方的结果
+            Optional<IdempotencyKey> winner = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key);
+            if (winner.isEmpty()) {
+                fail(mapKey, entry, e);
+                throw e;
+            }
+            entry.future.complete(new Outcome(winner.get().getOrderId(), winner.get().getRequestHash()));
+            return replay(entry, requestHash);
+        } catch (RuntimeException e) {
+            fail(mapKey, entry, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 等待首个请求完成并返回其订单
+     */
+    private Result replay(Entry entry, String requestHash) {
+        Outcome outcome;
+        try {
+            outcome = entry.future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("相同幂等键的请求正在处理中，请稍后重试");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待幂等请求结果时被中断");
+        }
+
+        if (!outcome.requestHash.equals(requestHash)) {
+            throw new RuntimeException("幂等键已被其他请求使用");
+        }
+        Order order = orderService.findById(outcome.orderId)
+            .orElseThrow(() -> new RuntimeException("订单不存在: " + outcome.orderId));
+        return new Result(order, true);
+    }
+
+    /**
+     * 首次执行失败：唤醒等待者并移除内存记录，失败的请求允许使用同一幂等键重试
+     */
+    private void fail(String mapKey, Entry entry, RuntimeException e) {
+        entries.remove(mapKey, entry);
+        entry.future.completeExceptionally(e);
+    }
+
+    /**
+     * 内存记录超过上限时，移除已过期和已完成的记录（已完成的记录仍可从数据库重放）
+     */
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.entrySet().removeIf(e -> e.getValue().isExpired() || e.getValue().future.isDone());
+    }
+
+    /**
+     * 定时清理过期的幂等键
+     */
+    @Scheduled(fixedDelayString = "${order.idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        entries.entrySet().removeIf(e -> e.getValue().isExpired());
+        transactionTemplate.executeWithoutResult(
+            status -> idempotencyKeyRepository.deleteExpired(LocalDateTime.now()));
+    }
+
+    /**
+     * 计算下单请求指纹
+     * @param request 创建订单请求
+     * @return SHA-256十六进制摘要
+     */
+    public static String hashOf(CreateOrderRequest request) {
+        StringBuilder canonical = new StringBuilder(String.valueOf(request.getShippingAddress()));
+        if (request.getItems() != null) {
+            for (CreateOrderRequest.OrderItemDto item : request.getItems()) {
+                canonical.append('|').append(item.getProductId()).append('x').append(item.getQuantity());
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 幂等执行结果
+     */
+    public static class Result {
+        private final Order order;
+        private final boolean replayed;
+
+        public Result(Order order, boolean replayed) {
+            this.order = order;
+            this.replayed = replayed;
+        }
+
+        public Order getOrder() {
+            return order;
+        }
+
+        public boolean isReplayed() {
+            return replayed;
+        }
+    }
+
+    /**
+     * 内存中的幂等键记录
+     */
+    private static class Entry {
+        private final CompletableFuture<Outcome> future = new CompletableFuture<>();
+        private final LocalDateTime expiresAt;
+
+        Entry(LocalDateTime expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return expiresAt.isBefore(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 首次执行的结果：订单ID及请求指纹
+     */
+    private static class Outcome {
+        private final Long orderId;
+        private final String requestHash;
+
+        Outcome(Long orderId, String requestHash) {
+            this.orderId = orderId;
+            this.requestHash = requestHash;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.fullstackmall.service;
 
 import com.fullstackmall.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -27,6 +29,11 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
     
+    // 签名密钥与解析器线程安全，首次使用时创建后复用，避免每个请求重复构建
+    private volatile Key signInKey;
+    
+    private volatile JwtParser jwtParser;
+    
     /**
      * 生成JWT令牌
      * @param userDetails 用户详情
@@ -93,8 +100,38 @@ public class JwtService {
      * @return 是否有效
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        try {
+            final String username = extractUsername(token);
+            return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            // 签名错误、格式错误或已过期的令牌在解析时即抛出异常
+            return false;
+        }
+    }
+    
+    /**
+     * 从访问令牌的声明构建认证主体，不查询数据库
+     * 主体只包含令牌中的用户ID、用户名、邮箱和角色，用户名等信息在令牌有效期内以签发时为准
+     * @param token JWT令牌
+     * @return 认证主体；令牌无效、已过期或不含用户声明（如刷新令牌）时返回null
+     */
+    public User extractPrincipal(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            Object userId = claims.get("userId");
+            Object role = claims.get("role");
+            if (userId == null || role == null || claims.getSubject() == null) {
+                return null;
+            }
+            User user = new User();
+            user.setId(Long.valueOf(userId.toString()));
+            user.setUsername(claims.getSubject());
+            user.setEmail((String) claims.get("email"));
+            user.setRole(User.Role.valueOf(role.toString()));
+            return user;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
     
     /**
@@ -195,12 +232,15 @@ public class JwtService {
      * @return 声明
      */
     private Claims extractAllClaims(String token) {
-        return Jwts
-            .parserBuilder()
-            .setSigningKey(getSignInKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts
+                .parserBuilder()
+                .setSigningKey(getSignInKey())
+                .build();
+            jwtParser = parser;
+        }
+        return parser.parseClaimsJws(token).getBody();
     }
     
     /**
@@ -208,6 +248,9 @@ public class JwtService {
      * @return 签名密钥
      */
     private Key getSignInKey() {
+        if (signInKey != null) {
+            return signInKey;
+        }
         // 确保密钥长度足够（至少256位）
         String key = secretKey;
         if (key.length() < 32) {
@@ -215,7 +258,8 @@ public class JwtService {
             key = key + "0".repeat(32 - key.length());
         }
         byte[] keyBytes = key.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        signInKey = Keys.hmacShaKeyFor(keyBytes);
+        return signInKey;
     }
     
     /**
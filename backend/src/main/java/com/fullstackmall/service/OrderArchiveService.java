@@ -0,0 +1,275 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.repository.ArchivedOrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 订单归档服务
+ * 将超过保留天数的已送达、已取消订单连同订单项按 (created_at, id) 键集顺序分批迁移到
+ * orders_archive / order_items_archive 表，每批一个短事务，使热表及其索引保持较小规模。
+ * 归档订单只读，订单查询与统计在需要时同时读取归档表。
+ */
+@Service
+public class OrderArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    /**
+     * 可归档的终态订单状态
+     */
+    private static final List<String> ARCHIVABLE_STATUSES =
+        List.of(Order.OrderStatus.DELIVERED.name(), Order.OrderStatus.CANCELLED.name());
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${order.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${order.archive.retention-days:180}")
+    private int retentionDays;
+
+    @Value("${order.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${order.archive.max-batches-per-run:1000}")
+    private int maxBatchesPerRun;
+
+    @Value("${order.archive.pause-ms:50}")
+    private long pauseMs;
+
+    @Value("${order.archive.cache-ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * 已归档订单中最晚的下单时间，早于该时间的查询范围才需要读取归档表
+     * 归档可能由其他节点执行，缓存按TTL过期重新读取；本节点执行归档后立即失效
+     */
+    private volatile Cached<Optional<LocalDateTime>> watermark;
+
+    /**
+     * 归档表按状态的聚合结果，只在归档任务执行后变化，缓存方式同上
+     */
+    private volatile Cached<List<Object[]>> archivedByStatus;
+
+    private Counter ordersArchived;
+    private Counter itemsArchived;
+    private Timer batchTimer;
+
+    @PostConstruct
+    public void initMetrics() {
+        ordersArchived = meterRegistry.counter("orders.archive.orders");
+        itemsArchived = meterRegistry.counter("orders.archive.items");
+        batchTimer = meterRegistry.timer("orders.archive.batch.duration");
+    }
+
+    /**
+     * 定时归档任务
+     */
+    @Scheduled(cron = "${order.archive.cron:0 0 4 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveOrders();
+        }
+    }
+
+    /**
+     * 归档超过保留天数的终态订单
+     * @return 本次归档的订单数量，已有任务在运行时返回-1
+     */
+    public long archiveOrders() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("订单归档任务正在运行，跳过本次调度");
+            return -1;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            long total = 0;
+            Timestamp lastCreatedAt = null;
+            long lastId = 0;
+
+            for (int batch = 0; batch < maxBatchesPerRun && !Thread.currentThread().isInterrupted(); batch++) {
+                List<OrderKey> keys = findNextChunk(cutoff, lastCreatedAt, lastId);
+                if (keys.isEmpty()) {
+                    break;
+                }
+                OrderKey last = keys.get(keys.size() - 1);
+                lastCreatedAt = last.createdAt;
+                lastId = last.id;
+
+                List<Long> ids = keys.stream().map(k -> k.id).toList();
+                Integer moved = batchTimer.record(() -> moveChunk(ids, cutoff));
+                total += moved != null ? moved : 0;
+
+                if (keys.size() < batchSize) {
+                    break;
+                }
+                sleep(pauseMs);
+            }
+
+            if (total > 0) {
+                watermark = null;
+                archivedByStatus = null;
+            }
+            log.info("订单归档完成: 截止时间 {}，共归档 {} 个订单", cutoff, total);
+            return total;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 判断从指定时间开始的查询范围是否可能包含归档订单
+     * @param since 查询起始时间
+     * @return 是否需要读取归档表
+     */
+    public boolean spansArchive(LocalDateTime since) {
+        Cached<Optional<LocalDateTime>> current = watermark;
+        if (current == null || current.isExpired(cacheTtlSeconds)) {
+            current = new Cached<>(Optional.ofNullable(archivedOrderRepository.findMaxCreatedAt()));
+            watermark = current;
+        }
+        return current.value.map(latest -> !since.isAfter(latest)).orElse(false);
+    }
+
+    /**
+     * 归档订单按状态的数量与金额（缓存至下一次归档或TTL过期）
+     * @return 每行为 [状态, 订单数, 金额合计]
+     */
+    public List<Object[]> archivedTotalsByStatus() {
+        Cached<List<Object[]>> current = archivedByStatus;
+        if (current == null || current.isExpired(cacheTtlSeconds)) {
+            current = new Cached<>(archivedOrderRepository.aggregateByStatus());
+            archivedByStatus = current;
+        }
+        return current.value;
+    }
+
+    /**
+     * 按键集顺序查询下一批待归档的订单
+     */
+    private List<OrderKey> findNextChunk(LocalDateTime cutoff, Timestamp lastCreatedAt, long lastId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("cutoff", Timestamp.valueOf(cutoff))
+            .addValue("statuses", ARCHIVABLE_STATUSES)
+            .addValue("limit", batchSize);
+        String sql;
+        if (lastCreatedAt == null) {
+            sql = "SELECT id, created_at FROM orders WHERE created_at < :cutoff AND status IN (:statuses) " +
+                  "ORDER BY created_at, id LIMIT :limit";
+        } else {
+            sql = "SELECT id, created_at FROM orders WHERE created_at < :cutoff AND status IN (:statuses) " +
+                  "AND (created_at > :lastCreatedAt OR (created_at = :lastCreatedAt AND id > :lastId)) " +
+                  "ORDER BY created_at, id LIMIT :limit";
+            params.addValue("lastCreatedAt", lastCreatedAt).addValue("lastId", lastId);
+        }
+        return namedParameterJdbcTemplate.query(sql, params,
+            (rs, rowNum) -> new OrderKey(rs.getLong("id"), rs.getTimestamp("created_at")));
+    }
+
+    /**
+     * 在单个短事务中迁移一批订单
+     * 迁移前重新锁定并校验状态，跳过期间被修改为非终态的订单
+     */
+    private int moveChunk(List<Long> ids, LocalDateTime cutoff) {
+        return transactionTemplate.execute(status -> {
+            List<Long> archivable = namedParameterJdbcTemplate.queryForList(
+                "SELECT id FROM orders WHERE id IN (:ids) AND status IN (:statuses) AND created_at < :cutoff FOR UPDATE",
+                new MapSqlParameterSource()
+                    .addValue("ids", ids)
+                    .addValue("statuses", ARCHIVABLE_STATUSES)
+                    .addValue("cutoff", Timestamp.valueOf(cutoff)),
+                Long.class);
+            if (archivable.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", archivable)
+                .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+            int orders = namedParameterJdbcTemplate.update(
+                "INSERT INTO orders_archive (id, user_id, total_amount, status, shipping_address, created_at, updated_at, archived_at) " +
+                "SELECT id, user_id, total_amount, status, shipping_address, created_at, updated_at, :archivedAt " +
+                "FROM orders WHERE id IN (:ids)", params);
+            int items = namedParameterJdbcTemplate.update(
+                "INSERT INTO order_items_archive (id, order_id, product_id, product_name, product_image_url, product_category, quantity, price) " +
+                "SELECT id, order_id, product_id, product_name, product_image_url, product_category, quantity, price " +
+                "FROM order_items WHERE order_id IN (:ids)", params);
+            namedParameterJdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (:ids)", params);
+            namedParameterJdbcTemplate.update("DELETE FROM orders WHERE id IN (:ids)", params);
+            ordersArchived.increment(orders);
+            itemsArchived.increment(items);
+            return orders;
+        });
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 带加载时间的缓存值
+     */
+    private static class Cached<T> {
+        private final T value;
+        private final long loadedAt = System.nanoTime();
+
+        Cached(T value) {
+            this.value = value;
+        }
+
+        boolean isExpired(long ttlSeconds) {
+            return System.nanoTime() - loadedAt > TimeUnit.SECONDS.toNanos(ttlSeconds);
+        }
+    }
+
+    /**
+     * 键集游标
+     */
+    private static class OrderKey {
+        private final long id;
+        private final Timestamp createdAt;
+
+        OrderKey(long id, Timestamp createdAt) {
+            this.id = id;
+            this.createdAt = createdAt;
+        }
+    }
+}
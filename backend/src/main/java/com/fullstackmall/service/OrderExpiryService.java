@@ -0,0 +1,274 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.entity.Order;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 超时未支付订单自动取消服务
+ * 待处理（PENDING）订单创建后按超时时间放入内存延迟队列，启动时从数据库重建队列。
+ * 取消线程每次取出所有已到期的订单（最多一批），在一个事务中：
+ * 按ID顺序锁定仍为待处理且已超时的订单，用一条条件更新（WHERE status = 'PENDING'）批量取消，
+ * 再由一条按订单项汇总的更新语句恢复库存。已被支付、手动取消或由其他节点处理过的订单被条件更新自然跳过。
+ */
+@Service
+public class OrderExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExpiryService.class);
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private UserOrderStatsService userOrderStatsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${order.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${order.expiry.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${order.expiry.batch-size:500}")
+    private int batchSize;
+
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+    private volatile boolean running;
+    private Thread worker;
+
+    private Counter expired;
+
+    @PostConstruct
+    public void initMetrics() {
+        expired = meterRegistry.counter("orders.expiry.cancelled");
+        meterRegistry.gauge("orders.expiry.queue.depth", queue, DelayQueue::size);
+    }
+
+    /**
+     * 应用启动完成后重建延迟队列并启动取消线程
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        long loaded = rebuild();
+        log.info("待支付订单超时队列已重建: {} 个订单，超时时间 {} 分钟", loaded, timeoutMinutes);
+
+        running = true;
+        worker = new Thread(this::expireLoop, "order-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * 登记新创建的订单，超时后自动取消
+     * 事务回滚导致订单不存在时，到期后的条件更新不会命中任何行
+     * @param order 订单
+     */
+    public void schedule(Order order) {
+        if (enabled && order.getStatus() == Order.OrderStatus.PENDING) {
+            queue.offer(new Expiry(order.getId(), deadlineOf(order.getCreatedAt())));
+        }
+    }
+
+    /**
+     * 从数据库加载全部待处理订单到延迟队列（按 (created_at, id) 键集分批读取）
+     * @return 加载的订单数量
+     */
+    public long rebuild() {
+        long loaded = 0;
+        Timestamp lastCreatedAt = new Timestamp(0);
+        long lastId = 0;
+        while (true) {
+            List<Expiry> chunk = namedParameterJdbcTemplate.query(
+                "SELECT id, created_at FROM orders WHERE status = 'PENDING' " +
+                "AND (created_at > :lastCreatedAt OR (created_at = :lastCreatedAt AND id > :lastId)) " +
+                "ORDER BY created_at, id LIMIT :limit",
+                new MapSqlParameterSource()
+                    .addValue("lastCreatedAt", lastCreatedAt)
+                    .addValue("lastId", lastId)
+                    .addValue("limit", batchSize),
+                (rs, rowNum) -> {
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    return new Expiry(rs.getLong("id"), deadlineOf(createdAt.toLocalDateTime()), createdAt);
+                });
+            queue.addAll(chunk);
+            loaded += chunk.size();
+            if (chunk.size() < batchSize) {
+                return loaded;
+            }
+            Expiry last = chunk.get(chunk.size() - 1);
+            lastCreatedAt = last.createdAt;
+            lastId = last.orderId;
+        }
+    }
+
+    /**
+     * 取消一批超时订单
+     * @param orderIds 到期的订单ID
+     * @return 实际取消的订单数量
+     */
+    public int cancelExpired(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        // 留出1秒余量：不带小数秒的 TIMESTAMP 列会把下单时间四舍五入到秒
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(timeoutMinutes).plusSeconds(1);
+        Integer cancelled = transactionTemplate.execute(status -> {
+            Map<Long, BigDecimal> amounts = new HashMap<>();
+            Map<Long, BigDecimal> amountsByUser = new HashMap<>();
+            namedParameterJdbcTemplate.query(
+                "SELECT id, user_id, total_amount FROM orders WHERE id IN (:ids) AND status = 'PENDING' " +
+                "AND created_at <= :cutoff ORDER BY id FOR UPDATE",
+                new MapSqlParameterSource()
+                    .addValue("ids", orderIds)
+                    .addValue("cutoff", Timestamp.valueOf(cutoff)),
+                rs -> {
+                    amounts.put(rs.getLong("id"), rs.getBigDecimal("total_amount"));
+                    amountsByUser.merge(rs.getLong("user_id"), rs.getBigDecimal("total_amount"), BigDecimal::add);
+                });
+            if (amounts.isEmpty()) {
+                return 0;
+            }
+
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", amounts.keySet())
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+            int updated = namedParameterJdbcTemplate.update(
+                "UPDATE orders SET status = 'CANCELLED', updated_at = :now WHERE id IN (:ids) AND status = 'PENDING'",
+                params);
+
+            Map<String, Integer> units = productService.restoreStockForOrders(amounts.keySet());
+            outboxService.statusChanged(amounts.keySet(), Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED);
+            userOrderStatsService.recordCancelled(amountsByUser);
+
+            long cents = amounts.values().stream().mapToLong(amount -> amount.movePointRight(2).longValue()).sum();
+            orderStatisticsService.recordBulkStatusChange(Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED,
+                updated, cents, units);
+            return updated;
+        });
+        int count = cancelled != null ? cancelled : 0;
+        expired.increment(count);
+        return count;
+    }
+
+    /**
+     * 延迟队列中的订单数量
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * 取消线程主循环：阻塞等待第一个到期订单，再取出其余已到期的订单组成一批
+     */
+    private void expireLoop() {
+        List<Expiry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Expiry first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                int cancelled = cancelExpired(batch.stream().map(expiry -> expiry.orderId).toList());
+                if (cancelled > 0) {
+                    log.info("自动取消超时未支付订单 {} 个", cancelled);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // 放回队列稍后重试，避免一次数据库故障导致订单永不过期
+                log.error("超时订单取消失败，{} 个订单将在稍后重试", batch.size(), e);
+                long retryAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+                batch.forEach(expiry -> queue.offer(new Expiry(expiry.orderId, retryAt)));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private long deadlineOf(LocalDateTime createdAt) {
+        LocalDateTime created = createdAt != null ? createdAt : LocalDateTime.now();
+        return created.plusMinutes(timeoutMinutes).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 延迟队列元素：订单ID与到期时间
+     */
+    private static class Expiry implements Delayed {
+        private final long orderId;
+        private final long deadlineMs;
+        private final Timestamp createdAt;
+
+        Expiry(long orderId, long deadlineMs) {
+            this(orderId, deadlineMs, null);
+        }
+
+        Expiry(long orderId, long deadlineMs, Timestamp createdAt) {
+            this.orderId = orderId;
+            this.deadlineMs = deadlineMs;
+            this.createdAt = createdAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineMs - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadlineMs, ((Expiry) other).deadlineMs);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.fullstackmall.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullstackmall.entity.Order;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 订单导出服务
+ * 使用只进游标（设置 fetch size，MySQL 需开启 useCursorFetch）逐行读取订单并直接写入输出流，
+ * 不分页、不加载实体，内存占用与导出行数无关。
+ * 时间范围早于归档水位时先导出归档订单，再导出热表订单，两部分各自按 (created_at, id) 排序。
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExportService.class);
+
+    private static final String[] COLUMNS = {
+        "id", "userId", "username", "status", "totalAmount", "shippingAddress", "createdAt", "updatedAt", "archived"
+    };
+
+    /**
+     * 导出格式
+     */
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${order.export.fetch-size:1000}")
+    private int fetchSize;
+
+    private NamedParameterJdbcTemplate cursorJdbcTemplate;
+    private Counter exportedRows;
+
+    @PostConstruct
+    public void init() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        cursorJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        exportedRows = meterRegistry.counter("orders.export.rows");
+    }
+
+    /**
+     * 导出订单
+     * @param from 起始时间（含），为空表示不限
+     * @param to 结束时间（不含），为空表示不限
+     * @param status 订单状态，为空表示全部
+     * @param format 导出格式
+     * @param out 输出流（方法不关闭该流）
+     * @return 导出的订单数量
+     */
+    public long export(LocalDateTime from, LocalDateTime to, Order.OrderStatus status, Format format,
+                       OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new JsonRowWriter(writer);
+        rowWriter.start();
+
+        long rows = 0;
+        if (orderArchiveService.spansArchive(from != null ? from : LocalDateTime.MIN)) {
+            rows += stream("orders_archive", true, from, to, status, rowWriter);
+        }
+        rows += stream("orders", false, from, to, status, rowWriter);
+
+        rowWriter.finish();
+        log.info("订单导出完成: 格式 {}，共 {} 行", format, rows);
+        return rows;
+    }
+
+    private long stream(String table, boolean archived, LocalDateTime from, LocalDateTime to,
+                        Order.OrderStatus status, RowWriter rowWriter) {
+        StringBuilder sql = new StringBuilder(
+            "SELECT o.id, o.user_id, u.username, o.status, o.total_amount, o.shipping_address, o.created_at, o.updated_at " +
+            "FROM " + table + " o LEFT JOIN users u ON u.id = o.user_id WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (from != null) {
+            sql.append(" AND o.created_at >= :from");
+            params.addValue("from", Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND o.created_at < :to");
+            params.addValue("to", Timestamp.valueOf(to));
+        }
+        if (status != null) {
+            sql.append(" AND o.status = :status");
+            params.addValue("status", status.name());
+        }
+        sql.append(" ORDER BY o.created_at, o.id");
+
+        long[] rows = {0};
+        cursorJdbcTemplate.query(sql.toString(), params, rs -> {
+            try {
+                rowWriter.write(rs, archived);
+            } catch (IOException e) {
+                // 客户端断开时中止查询并释放游标
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+            exportedRows.increment();
+        });
+        return rows[0];
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+
+        void write(ResultSet rs, boolean archived) throws IOException, SQLException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * CSV 格式，带 UTF-8 BOM 便于 Excel 识别编码
+     */
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write('\uFEFF');
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs, boolean archived) throws IOException, SQLException {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("user_id")));
+            writer.write(',');
+            writeEscaped(rs.getString("username"));
+            writer.write(',');
+            writer.write(rs.getString("status"));
+            writer.write(',');
+            writer.write(rs.getBigDecimal("total_amount").toPlainString());
+            writer.write(',');
+            writeEscaped(rs.getString("shipping_address"));
+            writer.write(',');
+            writeEscaped(format(rs.getTimestamp("created_at")));
+            writer.write(',');
+            writeEscaped(format(rs.getTimestamp("updated_at")));
+            writer.write(',');
+            writer.write(Boolean.toString(archived));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            // 用户名、收货地址由用户填写：以公式字符开头的值加单引号前缀，避免在Excel中作为公式执行
+            if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    /**
+     * NDJSON 格式，每行一个 JSON 对象
+     */
+    private class JsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        JsonRowWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // 行之间只用换行分隔，不使用默认的空格分隔符
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(ResultSet rs, boolean archived) throws IOException, SQLException {
+            generator.writeStartObject();
+            // 订单ID超出 JavaScript 安全整数范围，与接口返回保持一致输出为字符串
+            generator.writeStringField("id", Long.toString(rs.getLong("id")));
+            generator.writeNumberField("userId", rs.getLong("user_id"));
+            generator.writeStringField("username", rs.getString("username"));
+            generator.writeStringField("status", rs.getString("status"));
+            generator.writeNumberField("totalAmount", rs.getBigDecimal("total_amount"));
+            generator.writeStringField("shippingAddress", rs.getString("shipping_address"));
+            generator.writeStringField("createdAt", format(rs.getTimestamp("created_at")));
+            generator.writeStringField("updatedAt", format(rs.getTimestamp("updated_at")));
+            generator.writeBooleanField("archived", archived);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static String format(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+    }
+}
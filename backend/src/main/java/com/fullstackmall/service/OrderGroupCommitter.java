@@ -0,0 +1,229 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.CreateOrderRequest;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.User;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 订单组提交服务
+ * 将短时间窗口内（默认2ms，或攒满N单）到达的下单请求合并到同一个事务中：
+ * 由订单写入流水线锁定相关商品行并在内存库存账本上逐单校验，库存不足的订单单独失败，
+ * 其余订单批量扣减库存、批量插入订单及订单项、批量清空购物车后一次提交，
+ * 使多个请求共享一次事务提交（及磁盘刷写）的开销。
+ */
+@Service
+public class OrderGroupCommitter {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderGroupCommitter.class);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderWriter orderWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${order.group-commit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${order.group-commit.window-ms:2}")
+    private long windowMs;
+
+    @Value("${order.group-commit.max-batch-size:64}")
+    private int maxBatchSize;
+
+    @Value("${order.group-commit.committers:1}")
+    private int committerCount;
+
+    @Value("${order.group-commit.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private final BlockingQueue<PendingOrder> queue = new LinkedBlockingQueue<>();
+    private final List<Thread> committers = new ArrayList<>();
+    private volatile boolean running;
+
+    private DistributionSummary groupSize;
+    private Timer groupTimer;
+
+    @PostConstruct
+    public void start() {
+        groupSize = meterRegistry.summary("orders.group-commit.size");
+        groupTimer = meterRegistry.timer("orders.group-commit.duration");
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < committerCount; i++) {
+            Thread committer = new Thread(this::commitLoop, "order-group-commit-" + i);
+            committer.setDaemon(true);
+            committer.start();
+            committers.add(committer);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        committers.forEach(Thread::interrupt);
+        List<PendingOrder> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> pending.future.completeExceptionally(new RuntimeException("服务正在关闭，请重新下单")));
+    }
+
+    /**
+     * 创建订单并等待所在批次提交
+     * @param user 用户
+     * @param request 创建订单请求
+     * @return 创建的订单
+     */
+    public Order createOrder(User user, CreateOrderRequest request) {
+        if (!enabled) {
+            return orderService.createOrder(user, request);
+        }
+        try {
+            return submit(user, request).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("下单处理超时，请稍后在订单列表中确认结果");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待下单结果时被中断");
+        }
+    }
+
+    /**
+     * 提交下单请求，不等待结果
+     * 商品与价格在调用线程中读取，事务只包含加锁、扣减库存和插入
+     * @param user 用户
+     * @param request 创建订单请求
+     * @return 订单所在批次提交后完成的Future；商品不存在或库存不足时异常完成
+     */
+    public CompletableFuture<Order> submit(User user, CreateOrderRequest request) {
+        if (!enabled) {
+            try {
+                return CompletableFuture.completedFuture(orderService.createOrder(user, request));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        PendingOrder pending;
+        try {
+            pending = new PendingOrder(orderWriter.prepare(user, request));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        queue.add(pending);
+        return pending.future;
+    }
+
+    /**
+     * 提交线程主循环：取到第一单后在时间窗口内继续收集，直到窗口结束或攒满一批
+     */
+    private void commitLoop() {
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingOrder first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                groupSize.record(batch.size());
+                groupTimer.record(() -> commitGroup(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.future.completeExceptionally(new RuntimeException("服务正在关闭，请重新下单")));
+                return;
+            } catch (RuntimeException e) {
+                log.error("订单组提交异常", e);
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 在一个事务中写入一组订单，提交成功后再通知各调用方
+     * 整组事务失败（如死锁、约束冲突）时逐单重试，使每个调用方得到各自的结果
+     */
+    private void commitGroup(List<PendingOrder> group) {
+        Map<OrderWriter.PreparedOrder, String> rejected;
+        try {
+            rejected = transactionTemplate.execute(status ->
+                orderWriter.writeGroup(group.stream().map(pending -> pending.prepared).toList()));
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.get(0).future.completeExceptionally(e);
+                return;
+            }
+            log.warn("订单组提交失败，改为逐单提交: {}", e.getMessage());
+            group.forEach(pending -> commitGroup(List.of(pending)));
+            return;
+        }
+
+        for (PendingOrder pending : group) {
+            String reason = rejected.get(pending.prepared);
+            if (reason != null) {
+                pending.future.completeExceptionally(new RuntimeException(reason));
+            } else {
+                pending.future.complete(pending.prepared.getOrder());
+            }
+        }
+    }
+
+    /**
+     * 待提交订单
+     */
+    private static class PendingOrder {
+        private final OrderWriter.PreparedOrder prepared;
+        private final CompletableFuture<Order> future = new CompletableFuture<>();
+
+        PendingOrder(OrderWriter.PreparedOrder prepared) {
+            this.prepared = prepared;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.CreateOrderRequest;
+import com.fullstackmall.dto.OrderIntakeStatus;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步下单受理服务
+ * 请求校验后进入有界内存队列并立即返回受理令牌，由固定数量的下单工作线程批量取出，
+ * 交给组提交服务写入；队列满时拒绝受理，由调用方返回503实现背压。
+ */
+@Service
+public class OrderIntakeService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIntakeService.class);
+
+    @Autowired
+    private OrderGroupCommitter orderGroupCommitter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${order.intake.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${order.intake.workers:4}")
+    private int workerCount;
+
+    @Value("${order.intake.max-batch-size:16}")
+    private int maxBatchSize;
+
+    @Value("${order.intake.result-ttl-minutes:30}")
+    private long resultTtlMinutes;
+
+    private BlockingQueue<Ticket> queue;
+    private final ConcurrentHashMap<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private Counter accepted;
+    private Counter rejected;
+    private Counter completed;
+    private Counter failed;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        accepted = meterRegistry.counter("orders.intake.accepted");
+        rejected = meterRegistry.counter("orders.intake.rejected");
+        completed = meterRegistry.counter("orders.intake.completed");
+        failed = meterRegistry.counter("orders.intake.failed");
+        meterRegistry.gauge("orders.intake.queue.depth", queue, BlockingQueue::size);
+
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::workLoop, "order-intake-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        List<Ticket> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(ticket -> ticket.fail("服务正在关闭，请重新下单"));
+    }
+
+    /**
+     * 受理下单请求
+     * @param user 用户
+     * @param request 创建订单请求
+     * @return 受理状态，队列已满时为空
+     */
+    public Optional<OrderIntakeStatus> submit(User user, CreateOrderRequest request) {
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), user, request);
+        tickets.put(ticket.token, ticket);
+        if (!queue.offer(ticket)) {
+            tickets.remove(ticket.token);
+            rejected.increment();
+            return Optional.empty();
+        }
+        accepted.increment();
+        return Optional.of(ticket.toStatus(queue.size()));
+    }
+
+    /**
+     * 查询受理状态
+     * @param user 用户
+     * @param token 受理令牌
+     * @return 受理状态，令牌不存在或不属于该用户时为空
+     */
+    public Optional<OrderIntakeStatus> getStatus(User user, String token) {
+        return findTicket(user, token).map(ticket -> ticket.toStatus(queue.size()));
+    }
+
+    /**
+     * 订阅受理结果
+     * @param user 用户
+     * @param token 受理令牌
+     * @return 在订单创建成功或失败时完成的Future，令牌不存在或不属于该用户时为空
+     */
+    public Optional<CompletableFuture<OrderIntakeStatus>> subscribe(User user, String token) {
+        return findTicket(user, token)
+            .map(ticket -> ticket.done.thenApply(t -> t.toStatus(queue.size())));
+    }
+
+    /**
+     * 当前排队数量
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * 队列容量
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    private Optional<Ticket> findTicket(User user, String token) {
+        Ticket ticket = tickets.get(token);
+        if (ticket == null || !ticket.user.getId().equals(user.getId())) {
+            return Optional.empty();
+        }
+        return Optional.of(ticket);
+    }
+
+    /**
+     * 工作线程主循环：阻塞等待第一个请求，再非阻塞地取出其余排队请求组成一批
+     */
+    private void workLoop() {
+        List<Ticket> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                Ticket first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("异步下单批次处理异常", e);
+                batch.stream().filter(t -> !t.done.isDone()).forEach(t -> t.fail("创建订单失败: " + e.getMessage()));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 处理一批下单请求
+     * 整批交给组提交服务合并到同一事务中写入，每个请求各自得到成功或失败结果；
+     * 等待整批完成后再取下一批，使队列深度反映真实的处理积压
+     */
+    private void processBatch(List<Ticket> batch) {
+        List<CompletableFuture<Order>> results = new ArrayList<>(batch.size());
+        for (Ticket ticket : batch) {
+            ticket.status = OrderIntakeStatus.Status.PROCESSING;
+            results.add(orderGroupCommitter.submit(ticket.user, ticket.request)
+                .whenComplete((order, error) -> {
+                    if (error == null) {
+                        ticket.complete(order.getId());
+                    } else {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                        ticket.fail(cause.getMessage());
+                    }
+                }));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+            .exceptionally(error -> null)
+            .join();
+    }
+
+    /**
+     * 定时清理过期的受理结果
+     */
+    @Scheduled(fixedDelayString = "${order.intake.cleanup-interval-ms:60000}")
+    public void purgeExpiredTickets() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(resultTtlMinutes);
+        tickets.values().removeIf(ticket -> ticket.completedAt != null && ticket.completedAt.isBefore(threshold));
+    }
+
+    /**
+     * 受理记录
+     */
+    private class Ticket {
+        private final String token;
+        private final User user;
+        private final CreateOrderRequest request;
+        private final LocalDateTime acceptedAt = LocalDateTime.now();
+        private final CompletableFuture<Ticket> done = new CompletableFuture<>();
+        private volatile OrderIntakeStatus.Status status = OrderIntakeStatus.Status.QUEUED;
+        private volatile Long orderId;
+        private volatile String errorMessage;
+        private volatile LocalDateTime completedAt;
+
+        Ticket(String token, User user, CreateOrderRequest request) {
+            this.token = token;
+            this.user = user;
+            this.request = request;
+        }
+
+        void complete(Long orderId) {
+            this.orderId = orderId;
+            this.completedAt = LocalDateTime.now();
+            this.status = OrderIntakeStatus.Status.COMPLETED;
+            completed.increment();
+            done.complete(this);
+        }
+
+        void fail(String errorMessage) {
+            this.errorMessage = errorMessage;
+            this.completedAt = LocalDateTime.now();
+            this.status = OrderIntakeStatus.Status.FAILED;
+            failed.increment();
+            done.complete(this);
+        }
+
+        OrderIntakeStatus toStatus(int queueDepth) {
+            return new OrderIntakeStatus(token, status, orderId, errorMessage, queueDepth, acceptedAt, completedAt);
+        }
+    }
+}
@@ -1,16 +1,44 @@
 package com.fullstackmall.service;
 
+import com.fullstackmall.dto.BulkStatusUpdateResult;
+import com.fullstackmall.dto.CheckoutRequest;
 import com.fullstackmall.dto.CreateOrderRequest;
+import com.fullstackmall.dto.OrderSearchCriteria;
+import com.fullstackmall.dto.OrderSummaryDto;
+import com.fullstackmall.dto.ReorderResult;
 import com.fullstackmall.entity.*;
+import com.fullstackmall.repository.ArchivedOrderRepository;
+import com.fullstackmall.repository.OrderItemRepository;
 import com.fullstackmall.repository.OrderRepository;
+import com.fullstackmall.repository.UserOrderViewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
 /**
  * 订单服务类
@@ -22,12 +50,48 @@ public class OrderService {
     @Autowired
     private OrderRepository orderRepository;
     
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+    
     @Autowired
     private ProductService productService;
     
+    @Autowired
+    private OrderWriter orderWriter;
+    
     @Autowired
     private CartService cartService;
     
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private UserOrderStatsService userOrderStatsService;
+    
+    @Autowired
+    private UserOrderViewRepository userOrderViewRepository;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+    
+    @Value("${order.bulk-status.chunk-size:1000}")
+    private int bulkChunkSize;
+    
+    @Value("${order.admin-search.default-days:90}")
+    private int searchDefaultDays;
+    
     /**
      * 创建订单
      * @param user 用户
@@ -35,43 +99,23 @@ public class OrderService {
      * @return 创建的订单
      */
     public Order createOrder(User user, CreateOrderRequest request) {
-        // 计算订单总金额
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        
-        // 创建订单
-        Order order = new Order(user, totalAmount, request.getShippingAddress());
-        
-        // 添加订单项并计算总金额
-        for (CreateOrderRequest.OrderItemDto itemDto : request.getItems()) {
-            Product product = productService.findById(itemDto.getProductId())
-                .orElseThrow(() -> new RuntimeException("商品不存在: " + itemDto.getProductId()));
-            
-            // 检查库存
-            if (product.getStock() < itemDto.getQuantity()) {
-                throw new RuntimeException("商品库存不足: " + product.getName());
-            }
-            
-            // 创建订单项
-            OrderItem orderItem = new OrderItem(order, product, itemDto.getQuantity(), product.getPrice());
-            order.addItem(orderItem);
-            
-            // 累加总金额
-            totalAmount = totalAmount.add(product.getPrice().multiply(BigDecimal.valueOf(itemDto.getQuantity())));
-            
-            // 减少库存
-            productService.decreaseStock(product.getId(), itemDto.getQuantity());
-        }
-        
-        // 设置总金额
-        order.setTotalAmount(totalAmount);
-        
-        // 保存订单
-        Order savedOrder = orderRepository.save(order);
-        
-        // 清空购物车
-        cartService.clearCart(user);
+        return orderWriter.write(orderWriter.prepare(user, request));
+    }
+    
+    /**
+     * 购物车结算：将服务端购物车在一个事务内转换为订单
+     * 单条查询读取购物车、商品项及商品，批量条件扣减库存，
+     * 订单和订单项各一个JDBC批次写入，最后一条DELETE清空购物车
+     * @param user 用户
+     * @param request 结算请求
+     * @return 创建的订单
+     */
+    public Order checkout(User user, CheckoutRequest request) {
+        Cart cart = cartService.findCartWithItems(user)
+            .filter(c -> !c.getItems().isEmpty())
+            .orElseThrow(() -> new RuntimeException("购物车为空"));
         
-        return savedOrder;
+        return orderWriter.write(orderWriter.prepare(user, request.getShippingAddress(), cart.getItems()));
     }
     
     /**
@@ -83,6 +127,49 @@ public class OrderService {
         return orderRepository.findById(id);
     }
     
+    /**
+     * 再次购买：将订单中的商品加入购物车
+     * 一条查询读取订单项、商品当前库存和购物车中已有数量（订单已归档时读取归档表），
+     * 按库存快照校验后，所有可购买的商品以一个批次写入购物车；库存在结算时以条件扣减为准
+     * @param user 用户
+     * @param orderId 订单ID
+     * @return 加入购物车的商品数量及未加入的商品和原因
+     */
+    public ReorderResult reorder(User user, Long orderId) {
+        Cart cart = cartService.getOrCreateCart(user);
+        List<Object[]> rows = orderItemRepository.findReorderLines(orderId, user.getId(), cart.getId());
+        if (rows.isEmpty()) {
+            throw new RuntimeException("订单不存在: " + orderId);
+        }
+        
+        ReorderResult result = new ReorderResult();
+        // 同一商品在订单中可能有多行，合并后再校验库存
+        Map<Long, ReorderLine> lines = new TreeMap<>();
+        for (Object[] row : rows) {
+            int quantity = ((Number) row[2]).intValue();
+            if (row[0] == null || row[3] == null) {
+                result.skip(row[0] != null ? ((Number) row[0]).longValue() : null, (String) row[1], quantity,
+                    ReorderResult.Reason.PRODUCT_REMOVED);
+                continue;
+            }
+            lines.computeIfAbsent(((Number) row[0]).longValue(), productId -> new ReorderLine(
+                (String) row[1], ((Number) row[3]).intValue(), row[4] != null ? ((Number) row[4]).intValue() : 0))
+                .quantity += quantity;
+        }
+        
+        Map<Long, Integer> quantities = new TreeMap<>();
+        lines.forEach((productId, line) -> {
+            if (line.stock < line.inCart + line.quantity) {
+                result.skip(productId, line.name, line.quantity, ReorderResult.Reason.INSUFFICIENT_STOCK);
+            } else {
+                quantities.put(productId, line.quantity);
+                result.added(line.quantity);
+            }
+        });
+        cartService.addItems(cart, quantities);
+        return result;
+    }
+    
     /**
      * 获取用户的订单列表
      * @param user 用户
@@ -94,85 +181,321 @@ public class OrderService {
     }
     
     /**
-     * 获取所有订单（管理员功能）
+     * 从读模型获取用户的订单列表
+     * 一页订单是 user_order_view 上按 (user_id, created_at) 的一次范围扫描，不连接订单项和商品表，也不执行 COUNT，
+     * 总数取自用户订单统计行。读模型由订单事件异步维护，刚提交的订单可能稍后才出现在列表中
+     * @param user 用户
+     * @param pageable 分页参数（固定按下单时间倒序）
+     * @return 订单列表分页
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Page<UserOrderView> findOrderViewsByUser(User user, Pageable pageable) {
+        List<UserOrderView> content = userOrderViewRepository.findByUserIdOrderByCreatedAtDescOrderIdDesc(
+            user.getId(), PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        return PageableExecutionUtils.getPage(content, pageable,
+            () -> userOrderStatsService.getStats(user.getId()).getOrderCount());
+    }
+    
+    /**
+     * 合并热表与归档表按下单时间倒序的前 偏移量+页大小 个键，截取当前页并批量读取订单摘要
+     * @param hotKeys 热表的键，每行为 [订单ID, 下单时间]
+     * @param archivedKeys 归档表的键，每行为 [订单ID, 下单时间]
      * @param pageable 分页参数
-     * @return 订单分页列表
+     * @param total 两张表的订单总数
+     * @return 订单摘要分页列表
      */
-    public Page<Order> findAll(Pageable pageable) {
-        return orderRepository.findAll(pageable);
+    private Page<OrderSummaryDto> mergeAcrossArchive(List<Object[]> hotKeys, List<Object[]> archivedKeys,
+                                                     Pageable pageable, LongSupplier total) {
+        int offset = (int) pageable.getOffset();
+        List<OrderKey> keys = new ArrayList<>();
+        hotKeys.forEach(row -> keys.add(new OrderKey((Long) row[0], (LocalDateTime) row[1], false)));
+        archivedKeys.forEach(row -> keys.add(new OrderKey((Long) row[0], (LocalDateTime) row[1], true)));
+        keys.sort(Comparator.comparing((OrderKey key) -> key.createdAt).thenComparing(key -> key.id).reversed());
+        List<OrderKey> pageKeys = offset < keys.size()
+            ? keys.subList(offset, Math.min(keys.size(), offset + pageable.getPageSize()))
+            : List.of();
+        
+        List<Long> hotIds = pageKeys.stream().filter(key -> !key.archived).map(key -> key.id).toList();
+        List<Long> archivedIds = pageKeys.stream().filter(key -> key.archived).map(key -> key.id).toList();
+        Map<Long, OrderSummaryDto> summaries = new HashMap<>();
+        if (!hotIds.isEmpty()) {
+            orderRepository.findWithItemsByIdIn(hotIds)
+                .forEach(order -> summaries.put(order.getId(), new OrderSummaryDto(order)));
+        }
+        if (!archivedIds.isEmpty()) {
+            archivedOrderRepository.findWithItemsByIdIn(archivedIds)
+                .forEach(order -> summaries.put(order.getId(), new OrderSummaryDto(order)));
+        }
+        
+        List<OrderSummaryDto> content = pageKeys.stream().map(key -> summaries.get(key.id)).toList();
+        return PageableExecutionUtils.getPage(content, pageable, total);
     }
     
     /**
-     * 根据状态查找订单
+     * 根据ID获取订单摘要，热表中不存在时查询归档表
+     * @param id 订单ID
+     * @return 订单摘要
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrderSummaryDto> findSummaryById(Long id) {
+        Optional<OrderSummaryDto> summary = orderRepository.findById(id).map(OrderSummaryDto::new);
+        return summary.isPresent()
+            ? summary
+            : archivedOrderRepository.findWithItemsById(id).map(OrderSummaryDto::new);
+    }
+    
+    /**
+     * 获取所有订单（管理员功能），按下单时间倒序，包含已归档的订单
+     * @param pageable 分页参数（固定按下单时间倒序）
+     * @return 订单摘要分页列表
+     */
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryDto> findAll(Pageable pageable) {
+        return findSummaries(new OrderSearchCriteria(), pageable);
+    }
+    
+    /**
+     * 按组合条件搜索订单（管理员功能）
+     * 先按条件分页查询订单ID，再用一条连接查询读取这些订单及其订单项。
+     * 未指定下单时间范围时只搜索最近 order.admin-search.default-days 天，
+     * 使只带金额或收货地址条件的搜索也落在下单时间索引的范围内，而不是扫描整张订单表；
+     * 实际使用的起始时间回写到搜索条件中，供调用方告知用户。
+     * 时间范围早于归档水位时同时搜索归档表，两表按下单时间倒序的键合并后截取当前页
+     * @param criteria 搜索条件（未指定时间范围时回写默认起始时间）
+     * @param pageable 分页参数（固定按下单时间倒序）
+     * @return 订单摘要分页列表
+     */
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryDto> searchOrders(OrderSearchCriteria criteria, Pageable pageable) {
+        if (criteria.getFrom() != null && criteria.getTo() != null && !criteria.getFrom().isBefore(criteria.getTo())) {
+            throw new RuntimeException("查询条件无效: 起始时间必须早于结束时间");
+        }
+        if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                && criteria.getMinAmount().compareTo(criteria.getMaxAmount()) > 0) {
+            throw new RuntimeException("查询条件无效: 最低金额不能高于最高金额");
+        }
+        if (criteria.getFrom() == null && criteria.getTo() == null) {
+            criteria.setFrom(LocalDate.now().minusDays(searchDefaultDays).atStartOfDay());
+        }
+        
+        return findSummaries(criteria, pageable);
+    }
+    
+    /**
+     * 按组合条件分页读取订单摘要，按下单时间倒序
+     * 时间范围早于归档水位时合并热表与归档表，否则只查询热表
+     */
+    private Page<OrderSummaryDto> findSummaries(OrderSearchCriteria criteria, Pageable pageable) {
+        if (orderArchiveService.spansArchive(criteria.getFrom() != null ? criteria.getFrom() : LocalDateTime.MIN)) {
+            Pageable head = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize());
+            return mergeAcrossArchive(orderRepository.searchKeys(criteria, head),
+                archivedOrderRepository.searchKeys(criteria, head), pageable,
+                () -> orderRepository.countSearch(criteria) + archivedOrderRepository.countSearch(criteria));
+        }
+        
+        Page<Long> ids = orderRepository.searchIds(criteria, pageable);
+        Map<Long, Order> orders = ids.hasContent()
+            ? orderRepository.findWithItemsByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()))
+            : Map.of();
+        return ids.map(id -> new OrderSummaryDto(orders.get(id)));
+    }
+    
+    /**
+     * 根据状态查找订单，按下单时间倒序，包含已归档的订单（已送达、已取消）
      * @param status 订单状态
-     * @param pageable 分页参数
-     * @return 订单分页列表
+     * @param pageable 分页参数（固定按下单时间倒序）
+     * @return 订单摘要分页列表
      */
-    public Page<Order> findByStatus(Order.OrderStatus status, Pageable pageable) {
-        return orderRepository.findByStatus(status, pageable);
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryDto> findByStatus(Order.OrderStatus status, Pageable pageable) {
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setStatus(status);
+        return findSummaries(criteria, pageable);
     }
     
     /**
      * 更新订单状态（管理员功能）
+     * 按状态转换表校验后以条件更新执行，只有更新成功时才恢复库存和记录统计
      * @param orderId 订单ID
      * @param status 新状态
-     * @return 更新的订单
      */
-    public Order updateOrderStatus(Long orderId, Order.OrderStatus status) {
-        Order order = orderRepository.findById(orderId)
-            .orElseThrow(() -> new RuntimeException("订单不存在: " + orderId));
-        
-        Order.OrderStatus oldStatus = order.getStatus();
-        order.setStatus(status);
-        
-        // 如果订单被取消，需要恢复库存
-        if (status == Order.OrderStatus.CANCELLED && oldStatus != Order.OrderStatus.CANCELLED) {
-            restoreStock(order);
+    public void updateOrderStatus(Long orderId, Order.OrderStatus status) {
+        Object[] current = findStatus(orderId);
+        Order.OrderStatus from = (Order.OrderStatus) current[0];
+        if (!from.canTransitionTo(status)) {
+            throw new RuntimeException("订单状态不允许从 " + from + " 变更为 " + status);
         }
-        
-        return orderRepository.save(order);
+        transition(orderId, from, status, (BigDecimal) current[1], (Long) current[2]);
     }
     
     /**
      * 取消订单
      * @param user 用户
      * @param orderId 订单ID
-     * @return 取消的订单
      */
-    public Order cancelOrder(User user, Long orderId) {
-        Order order = orderRepository.findById(orderId)
-            .orElseThrow(() -> new RuntimeException("订单不存在: " + orderId));
+    public void cancelOrder(User user, Long orderId) {
+        Object[] current = findStatus(orderId);
         
         // 验证订单属于当前用户
-        if (!order.getUser().getId().equals(user.getId())) {
+        if (!current[2].equals(user.getId())) {
             throw new RuntimeException("无权限操作此订单");
         }
         
         // 只有待处理和已确认的订单可以取消
-        if (order.getStatus() != Order.OrderStatus.PENDING && 
-            order.getStatus() != Order.OrderStatus.CONFIRMED) {
+        Order.OrderStatus from = (Order.OrderStatus) current[0];
+        if (!from.canTransitionTo(Order.OrderStatus.CANCELLED)) {
             throw new RuntimeException("当前订单状态不允许取消");
         }
         
-        return updateOrderStatus(orderId, Order.OrderStatus.CANCELLED);
+        transition(orderId, from, Order.OrderStatus.CANCELLED, (BigDecimal) current[1], (Long) current[2]);
     }
     
     /**
-     * 恢复订单商品库存
-     * @param order 订单
+     * 查询订单当前状态、金额与所属用户
      */
-    private void restoreStock(Order order) {
-        for (OrderItem item : order.getItems()) {
-            productService.increaseStock(item.getProduct().getId(), item.getQuantity());
+    private Object[] findStatus(Long orderId) {
+        List<Object[]> rows = orderRepository.findStatusById(orderId);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("订单不存在: " + orderId);
         }
+        return rows.get(0);
     }
     
     /**
-     * 统计用户订单数量
+     * 执行状态转换：条件更新失败说明订单已被并发修改，此时不产生任何副作用，
+     * 从而保证并发的管理员更新与用户取消最多只有一个恢复库存
+     */
+    private void transition(Long orderId, Order.OrderStatus from, Order.OrderStatus to, BigDecimal totalAmount,
+                            Long userId) {
+        if (orderRepository.updateStatus(orderId, from, to, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("订单状态已变更，请刷新后重试");
+        }
+        
+        Map<String, Integer> units = null;
+        if (to == Order.OrderStatus.CANCELLED) {
+            units = productService.restoreStockForOrders(List.of(orderId));
+            userOrderStatsService.recordCancelled(Map.of(userId, totalAmount));
+        }
+        outboxService.statusChanged(List.of(orderId), from, to);
+        orderStatisticsService.recordBulkStatusChange(from, to, 1, totalAmount.movePointRight(2).longValue(), units);
+    }
+    
+    /**
+     * 批量更新订单状态（管理员功能）
+     * 按批次在各自的短事务中执行：按ID顺序锁定订单，按原状态分组后每组一条条件更新，
+     * 取消时每批一次性恢复库存。不允许的转换和不存在的订单逐个返回原因，不影响其余订单。
+     * @param orderIds 订单ID列表
+     * @param status 目标状态
+     * @return 每个订单的处理结果
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkStatusUpdateResult bulkUpdateStatus(List<Long> orderIds, Order.OrderStatus status) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        Map<Long, Order.OrderStatus> previous = new HashMap<>();
+        for (int start = 0; start < ids.size(); start += bulkChunkSize) {
+            List<Long> chunk = ids.subList(start, Math.min(start + bulkChunkSize, ids.size()));
+            previous.putAll(transactionTemplate.execute(tx -> bulkUpdateChunk(chunk, status)));
+        }
+        
+        BulkStatusUpdateResult result = new BulkStatusUpdateResult(status);
+        for (Long id : ids) {
+            Order.OrderStatus from = previous.get(id);
+            if (from == null) {
+                result.add(id, BulkStatusUpdateResult.Outcome.NOT_FOUND, null);
+            } else if (from == status) {
+                result.add(id, BulkStatusUpdateResult.Outcome.UNCHANGED, from);
+            } else if (from.canTransitionTo(status)) {
+                result.add(id, BulkStatusUpdateResult.Outcome.UPDATED, from);
+            } else {
+                result.add(id, BulkStatusUpdateResult.Outcome.INVALID_TRANSITION, from);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 在当前事务中更新一批订单的状态
+     * @return 存在的订单及其更新前的状态
+     */
+    private Map<Long, Order.OrderStatus> bulkUpdateChunk(List<Long> ids, Order.OrderStatus to) {
+        Map<Long, Order.OrderStatus> previous = new HashMap<>();
+        Map<Order.OrderStatus, List<Long>> groups = new EnumMap<>(Order.OrderStatus.class);
+        Map<Order.OrderStatus, BigDecimal> amounts = new EnumMap<>(Order.OrderStatus.class);
+        Map<Long, BigDecimal> cancelledByUser = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+            "SELECT id, user_id, status, total_amount FROM orders WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+            new MapSqlParameterSource("ids", ids),
+            rs -> {
+                long id = rs.getLong("id");
+                Order.OrderStatus from = Order.OrderStatus.valueOf(rs.getString("status"));
+                previous.put(id, from);
+                if (from.canTransitionTo(to)) {
+                    groups.computeIfAbsent(from, key -> new ArrayList<>()).add(id);
+                    amounts.merge(from, rs.getBigDecimal("total_amount"), BigDecimal::add);
+                    if (to == Order.OrderStatus.CANCELLED) {
+                        cancelledByUser.merge(rs.getLong("user_id"), rs.getBigDecimal("total_amount"), BigDecimal::add);
+                    }
+                }
+            });
+        
+        LocalDateTime now = LocalDateTime.now();
+        groups.forEach((from, groupIds) -> {
+            // 行已在本事务中锁定，条件更新的命中数应与分组数量一致
+            int updated = orderRepository.updateStatusIn(groupIds, from, to, now);
+            if (updated != groupIds.size()) {
+                throw new IllegalStateException("批量更新订单状态结果与锁定结果不一致: " + from);
+            }
+            Map<String, Integer> units = to == Order.OrderStatus.CANCELLED ? productService.restoreStockForOrders(groupIds) : null;
+            outboxService.statusChanged(groupIds, from, to);
+            orderStatisticsService.recordBulkStatusChange(from, to, updated,
+                amounts.get(from).movePointRight(2).longValue(), units);
+        });
+        if (!cancelledByUser.isEmpty()) {
+            userOrderStatsService.recordCancelled(cancelledByUser);
+        }
+        return previous;
+    }
+    
+    /**
+     * 统计用户订单数量（含归档订单），读取用户订单统计行
+     * 在事务外读取，缓存中只会放入已提交的统计结果
      * @param userId 用户ID
      * @return 订单数量
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long countByUserId(Long userId) {
-        return orderRepository.countByUserId(userId);
+        return userOrderStatsService.getStats(userId).getOrderCount();
+    }
+    
+    /**
+     * 再次购买时合并后的商品行
+     */
+    private static class ReorderLine {
+        private final String name;
+        private final int stock;
+        private final int inCart;
+        private int quantity;
+        
+        ReorderLine(String name, int stock, int inCart) {
+            this.name = name;
+            this.stock = stock;
+            this.inCart = inCart;
+        }
+    }
+    
+    /**
+     * 合并分页用的订单键
+     */
+    private static class OrderKey {
+        private final Long id;
+        private final LocalDateTime createdAt;
+        private final boolean archived;
+        
+        OrderKey(Long id, LocalDateTime createdAt, boolean archived) {
+            this.id = id;
+            this.createdAt = createdAt;
+            this.archived = archived;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,269 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.OrderStatistics;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.repository.ArchivedOrderRepository;
+import com.fullstackmall.repository.OrderItemRepository;
+import com.fullstackmall.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 订单统计服务
+ * 概览（订单总数、按状态的数量与金额）由内存计数器直接给出，计数器在订单创建和状态变更的事务提交后更新，
+ * 并定期用聚合查询重新校准，以纠正其他节点或直接修改数据库造成的偏差；
+ * 按日期、按分类的报表通过 GROUP BY 聚合查询在数据库中计算，不加载订单实体。
+ * 营业额不计已取消的订单。
+ * 已归档的订单同样计入：按状态的合计加上归档表的缓存合计，报表时间范围早于归档水位时合并归档表的聚合结果。
+ * 成交和取消同时提交给 {@link SalesTelemetryService} 用于实时销售数据。
+ */
+@Service
+public class OrderStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatisticsService.class);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private SalesTelemetryService salesTelemetryService;
+
+    private final Map<Order.OrderStatus, StatusCounter> counters = new EnumMap<>(Order.OrderStatus.class);
+
+    public OrderStatisticsService() {
+        for (Order.OrderStatus status : Order.OrderStatus.values()) {
+            counters.put(status, new StatusCounter());
+        }
+    }
+
+    /**
+     * 记录新创建的订单，在当前事务提交后生效
+     * @param order 订单
+     */
+    public void recordCreated(Order order) {
+        long cents = toCents(order.getTotalAmount());
+        Order.OrderStatus status = order.getStatus();
+        Map<String, Integer> units = unitsByCategory(order);
+        afterCommit(() -> {
+            counters.get(status).add(1, cents);
+            salesTelemetryService.recordSale(cents, units);
+        });
+    }
+
+    /**
+     * 记录一批订单的状态变更（批量条件更新，不加载订单实体），在当前事务提交后生效
+     * @param from 原状态
+     * @param to 新状态
+     * @param orders 订单数量
+     * @param cents 订单金额合计（分）
+     * @param units 各分类的商品件数合计，仅在取消时用于扣减实时销量
+     */
+    public void recordBulkStatusChange(Order.OrderStatus from, Order.OrderStatus to, long orders, long cents,
+                                       Map<String, Integer> units) {
+        if (from == to || orders == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            counters.get(from).add(-orders, -cents);
+            counters.get(to).add(orders, cents);
+            if (to == Order.OrderStatus.CANCELLED) {
+                salesTelemetryService.recordCancellations(orders, cents, units);
+            }
+        });
+    }
+
+    /**
+     * 获取订单统计概览，只读取内存计数器
+     * @return 订单总数、营业额及按状态统计
+     */
+    public OrderStatistics getSummary() {
+        Map<Order.OrderStatus, OrderStatistics.Bucket> byStatus = new EnumMap<>(Order.OrderStatus.class);
+        long totalOrders = 0;
+        long revenueCents = 0;
+        for (Map.Entry<Order.OrderStatus, StatusCounter> entry : counters.entrySet()) {
+            long count = entry.getValue().count.sum();
+            long cents = entry.getValue().cents.sum();
+            byStatus.put(entry.getKey(), new OrderStatistics.Bucket(entry.getKey().name(), count, null, fromCents(cents)));
+            totalOrders += count;
+            if (entry.getKey() != Order.OrderStatus.CANCELLED) {
+                revenueCents += cents;
+            }
+        }
+        return new OrderStatistics(totalOrders, fromCents(revenueCents), byStatus);
+    }
+
+    /**
+     * 获取订单统计报表：在概览基础上增加最近若干天按日期和按商品分类的统计
+     * @param days 统计天数（含今天）
+     * @return 订单统计
+     */
+    @Transactional(readOnly = true)
+    public OrderStatistics getReport(int days) {
+        LocalDateTime since = LocalDate.now().minusDays(days - 1L).atStartOfDay();
+
+        OrderStatistics statistics = aggregateByStatus();
+        List<Object[]> dayRows = new ArrayList<>(orderRepository.aggregateByDay(since, Order.OrderStatus.CANCELLED));
+        List<Object[]> categoryRows = new ArrayList<>(
+            orderItemRepository.aggregateByCategory(since, Order.OrderStatus.CANCELLED));
+        if (orderArchiveService.spansArchive(since)) {
+            dayRows.addAll(archivedOrderRepository.aggregateByDay(since, Order.OrderStatus.CANCELLED));
+            categoryRows.addAll(archivedOrderRepository.aggregateByCategory(since, Order.OrderStatus.CANCELLED));
+        }
+
+        Map<String, OrderStatistics.Bucket> byDay = new TreeMap<>();
+        for (Object[] row : dayRows) {
+            merge(byDay, row[0].toString(), ((Number) row[1]).longValue(), null, toAmount(row[2]));
+        }
+        Map<String, OrderStatistics.Bucket> byCategory = new LinkedHashMap<>();
+        for (Object[] row : categoryRows) {
+            merge(byCategory, (String) row[0], ((Number) row[1]).longValue(), ((Number) row[2]).longValue(),
+                toAmount(row[3]));
+        }
+        statistics.setByDay(new ArrayList<>(byDay.values()));
+        statistics.setByCategory(byCategory.values().stream()
+            .sorted(Comparator.comparing(OrderStatistics.Bucket::getRevenue).reversed())
+            .toList());
+        return statistics;
+    }
+
+    /**
+     * 用聚合查询结果重新校准内存计数器（启动时立即执行一次）
+     * 校准期间提交的订单可能被重复计入或遗漏，偏差在下一次校准时消除
+     */
+    @Scheduled(fixedDelayString = "${order.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        OrderStatistics snapshot;
+        try {
+            snapshot = aggregateByStatus();
+        } catch (RuntimeException e) {
+            log.warn("订单统计校准失败: {}", e.getMessage());
+            return;
+        }
+        snapshot.getByStatus().forEach((status, bucket) ->
+            counters.get(status).reset(bucket.getOrderCount(), toCents(bucket.getRevenue())));
+    }
+
+    private OrderStatistics aggregateByStatus() {
+        Map<Order.OrderStatus, OrderStatistics.Bucket> byStatus = new EnumMap<>(Order.OrderStatus.class);
+        for (Order.OrderStatus status : Order.OrderStatus.values()) {
+            byStatus.put(status, new OrderStatistics.Bucket(status.name(), 0, null, BigDecimal.ZERO.setScale(2)));
+        }
+        long totalOrders = 0;
+        BigDecimal totalRevenue = BigDecimal.ZERO.setScale(2);
+        List<Object[]> rows = new ArrayList<>(orderRepository.aggregateByStatus());
+        rows.addAll(orderArchiveService.archivedTotalsByStatus());
+        for (Object[] row : rows) {
+            Order.OrderStatus status = (Order.OrderStatus) row[0];
+            long count = ((Number) row[1]).longValue();
+            BigDecimal revenue = toAmount(row[2]);
+            OrderStatistics.Bucket bucket = byStatus.get(status);
+            byStatus.put(status, new OrderStatistics.Bucket(status.name(), bucket.getOrderCount() + count, null,
+                bucket.getRevenue().add(revenue)));
+            totalOrders += count;
+            if (status != Order.OrderStatus.CANCELLED) {
+                totalRevenue = totalRevenue.add(revenue);
+            }
+        }
+        return new OrderStatistics(totalOrders, totalRevenue, byStatus);
+    }
+
+    /**
+     * 合并热表与归档表中同一日期或分类的聚合行
+     */
+    private static void merge(Map<String, OrderStatistics.Bucket> buckets, String key, long orderCount,
+                              Long quantity, BigDecimal revenue) {
+        buckets.merge(key, new OrderStatistics.Bucket(key, orderCount, quantity, revenue), (a, b) ->
+            new OrderStatistics.Bucket(key, a.getOrderCount() + b.getOrderCount(),
+                a.getQuantity() == null ? null : a.getQuantity() + b.getQuantity(),
+                a.getRevenue().add(b.getRevenue())));
+    }
+
+    /**
+     * 在事务内读取订单各分类（下单快照）的商品件数（提交后订单项可能已无法延迟加载）
+     */
+    private static Map<String, Integer> unitsByCategory(Order order) {
+        Map<String, Integer> units = new HashMap<>();
+        for (OrderItem item : order.getItems()) {
+            units.merge(item.getProductCategory(), item.getQuantity(), Integer::sum);
+        }
+        return units;
+    }
+
+    /**
+     * 在当前事务提交后执行，无事务时立即执行
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static BigDecimal toAmount(Object value) {
+        BigDecimal amount = value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).longValue();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * 单个状态的订单数与金额（以分为单位）计数器
+     */
+    private static class StatusCounter {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder cents = new LongAdder();
+
+        void add(long orders, long amountCents) {
+            count.add(orders);
+            cents.add(amountCents);
+        }
+
+        void reset(long orders, long amountCents) {
+            count.reset();
+            cents.reset();
+            add(orders, amountCents);
+        }
+    }
+}
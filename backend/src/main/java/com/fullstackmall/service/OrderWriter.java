@@ -0,0 +1,191 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.CreateOrderRequest;
+import com.fullstackmall.entity.CartItem;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 订单写入流水线
+ * 直接下单、购物车结算和组提交共用同一套写入步骤：
+ * 校验商品并构建订单 → 锁定商品行按库存账本校验并批量扣减 → 批量插入订单及订单项 → 写入后的处理
+ * （清空购物车、发件箱事件、用户订单统计、内存统计和超时取消登记）
+ */
+@Service
+public class OrderWriter {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+
+    @Autowired
+    private OrderExpiryService orderExpiryService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private UserOrderStatsService userOrderStatsService;
+
+    /**
+     * 按下单请求构建订单，商品一次批量读取
+     * 按读取到的库存做预检查，最终以写入时锁定的库存为准
+     * @param user 用户
+     * @param request 创建订单请求
+     * @return 待写入的订单
+     */
+    public PreparedOrder prepare(User user, CreateOrderRequest request) {
+        Set<Long> productIds = request.getItems().stream()
+            .map(CreateOrderRequest.OrderItemDto::getProductId)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Product> products = productService.findAllById(productIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        PreparedOrder prepared = new PreparedOrder(new Order(user, BigDecimal.ZERO, request.getShippingAddress()));
+        for (CreateOrderRequest.OrderItemDto itemDto : request.getItems()) {
+            Product product = products.get(itemDto.getProductId());
+            if (product == null) {
+                throw new RuntimeException("商品不存在: " + itemDto.getProductId());
+            }
+            prepared.add(product, itemDto.getQuantity());
+        }
+        return prepared;
+    }
+
+    /**
+     * 按购物车商品项构建订单，商品已随购物车一并加载
+     * @param user 用户
+     * @param shippingAddress 收货地址
+     * @param items 购物车商品项
+     * @return 待写入的订单
+     */
+    public PreparedOrder prepare(User user, String shippingAddress, Collection<CartItem> items) {
+        PreparedOrder prepared = new PreparedOrder(new Order(user, BigDecimal.ZERO, shippingAddress));
+        for (CartItem cartItem : items) {
+            prepared.add(cartItem.getProduct(), cartItem.getQuantity());
+        }
+        return prepared;
+    }
+
+    /**
+     * 在当前事务中写入单个订单
+     * @param prepared 待写入的订单
+     * @return 写入的订单
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Order write(PreparedOrder prepared) {
+        String reason = writeGroup(List.of(prepared)).get(prepared);
+        if (reason != null) {
+            throw new RuntimeException(reason);
+        }
+        return prepared.order;
+    }
+
+    /**
+     * 在当前事务中写入一组订单
+     * 锁定涉及的商品行后在内存库存账本上逐单校验，库存不足的订单被拒绝，
+     * 其余订单一次批量扣减库存、一个批次插入，并批量清空对应用户的购物车
+     * @param group 待写入的订单
+     * @return 被拒绝的订单及原因
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<PreparedOrder, String> writeGroup(List<PreparedOrder> group) {
+        Set<Long> productIds = new LinkedHashSet<>();
+        group.forEach(prepared -> productIds.addAll(prepared.quantities.keySet()));
+        Map<Long, Integer> ledger = productService.findStockForUpdate(productIds);
+
+        Map<PreparedOrder, String> rejected = new HashMap<>();
+        List<Order> accepted = new ArrayList<>(group.size());
+        Map<Long, Integer> totalQuantities = new TreeMap<>();
+        for (PreparedOrder prepared : group) {
+            String insufficient = prepared.order.getItems().stream()
+                .map(OrderItem::getProduct)
+                .filter(product -> ledger.getOrDefault(product.getId(), 0) < prepared.quantities.get(product.getId()))
+                .map(Product::getName)
+                .distinct()
+                .collect(Collectors.joining(", "));
+            if (!insufficient.isEmpty()) {
+                rejected.put(prepared, "商品库存不足: " + insufficient);
+                continue;
+            }
+            prepared.quantities.forEach((productId, quantity) -> {
+                ledger.merge(productId, -quantity, Integer::sum);
+                totalQuantities.merge(productId, quantity, Integer::sum);
+            });
+            accepted.add(prepared.order);
+        }
+        if (accepted.isEmpty()) {
+            return rejected;
+        }
+
+        // 商品行已在本事务中锁定，按账本校验通过的扣减不应失败
+        List<Long> failed = productService.decreaseStockBatch(totalQuantities);
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("库存扣减结果与账本不一致: " + failed);
+        }
+        orderRepository.insertBatch(accepted);
+        cartService.clearCarts(accepted.stream().map(order -> order.getUser().getId()).collect(Collectors.toSet()));
+
+        outboxService.orderCreated(accepted);
+        userOrderStatsService.recordCreated(accepted);
+        for (Order order : accepted) {
+            // 内存统计在事务提交后生效；超时取消在事务回滚时不会命中任何行
+            orderStatisticsService.recordCreated(order);
+            orderExpiryService.schedule(order);
+        }
+        return rejected;
+    }
+
+    /**
+     * 待写入的订单：已构建的订单及订单项，和按商品合并后的购买数量
+     */
+    public static class PreparedOrder {
+        private final Order order;
+        private final Map<Long, Integer> quantities = new TreeMap<>();
+
+        PreparedOrder(Order order) {
+            this.order = order;
+        }
+
+        private void add(Product product, int quantity) {
+            // 预检查库存（最终以写入时锁定的库存账本为准）
+            if (product.getStock() < quantity) {
+                throw new RuntimeException("商品库存不足: " + product.getName());
+            }
+            order.addItem(new OrderItem(order, product, quantity, product.getPrice()));
+            order.setTotalAmount(order.getTotalAmount().add(product.getPrice().multiply(BigDecimal.valueOf(quantity))));
+            quantities.merge(product.getId(), quantity, Integer::sum);
+        }
+
+        public Order getOrder() {
+            return order;
+        }
+    }
+}
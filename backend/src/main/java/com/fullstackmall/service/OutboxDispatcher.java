@@ -0,0 +1,178 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.entity.OutboxEvent;
+import com.fullstackmall.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 发件箱分发服务
+ * 定时按写入顺序批量读取待投递事件，逐个投递给所有进程内订阅者，再用一个短事务回写投递结果。
+ * 投递不在事务内进行，订阅者的耗时和异常都不会影响下单事务；投递成功但回写失败时事件会被重新投递，
+ * 因此语义为至少一次。投递失败的事件按指数退避推迟下一次重试，使重试次数覆盖分钟级的下游故障；
+ * 超过最大重试次数的事件标记为失败并停止投递。
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private List<OutboxEventSubscriber> subscribers = List.of();
+
+    @Value("${order.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${order.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${order.outbox.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${order.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${order.outbox.retry-base-ms:1000}")
+    private long retryBaseMs;
+
+    @Value("${order.outbox.retry-max-ms:300000}")
+    private long retryMaxMs;
+
+    @Value("${order.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private Counter published;
+    private Counter failed;
+
+    @PostConstruct
+    public void initMetrics() {
+        published = meterRegistry.counter("orders.outbox.published");
+        failed = meterRegistry.counter("orders.outbox.failed");
+    }
+
+    /**
+     * 定时投递待处理事件，直到没有积压或达到单次批次上限
+     */
+    @Scheduled(fixedDelayString = "${order.outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (dispatchBatch() < batchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("发件箱事件投递异常", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 投递一批待处理事件
+     * @return 本批读取的事件数量
+     */
+    public int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findDueByStatusOrderById(
+            OutboxEvent.Status.PENDING, now, PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> delivered = new ArrayList<>(events.size());
+        List<OutboxEvent> retries = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            try {
+                for (OutboxEventSubscriber subscriber : subscribers) {
+                    subscriber.onEvent(event);
+                }
+                delivered.add(event.getId());
+            } catch (RuntimeException e) {
+                log.warn("发件箱事件投递失败: id={}, type={}, attempts={}",
+                    event.getId(), event.getEventType(), event.getAttempts() + 1, e);
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(truncate(String.valueOf(e.getMessage())));
+                event.setStatus(event.getAttempts() >= maxAttempts ? OutboxEvent.Status.FAILED : OutboxEvent.Status.PENDING);
+                event.setNextAttemptAt(now.plus(retryDelayMs(event.getAttempts()), ChronoUnit.MILLIS));
+                retries.add(event);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxEventRepository.markPublished(delivered, OutboxEvent.Status.PUBLISHED, LocalDateTime.now());
+            }
+            for (OutboxEvent event : retries) {
+                outboxEventRepository.markAttemptFailed(event.getId(), event.getAttempts(), event.getStatus(),
+                    event.getLastError(), event.getNextAttemptAt());
+            }
+        });
+        published.increment(delivered.size());
+        long dead = retries.stream().filter(event -> event.getStatus() == OutboxEvent.Status.FAILED).count();
+        if (dead > 0) {
+            failed.increment(dead);
+            log.error("{} 个发件箱事件超过最大重试次数 {}，已停止投递", dead, maxAttempts);
+        }
+        return events.size();
+    }
+
+    /**
+     * 定时清理已投递的历史事件
+     */
+    @Scheduled(fixedDelayString = "${order.outbox.cleanup-interval-ms:3600000}")
+    public void purgePublished() {
+        if (!enabled) {
+            return;
+        }
+        Integer deleted = transactionTemplate.execute(status ->
+            outboxEventRepository.deletePublishedBefore(OutboxEvent.Status.PUBLISHED,
+                LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted != null && deleted > 0) {
+            log.info("清理已投递的发件箱事件 {} 个", deleted);
+        }
+    }
+
+    /**
+     * 第 n 次失败后的重试间隔：从基础间隔开始每次翻倍，不超过上限
+     */
+    private long retryDelayMs(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        return Math.min(retryBaseMs << shift, retryMaxMs);
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,17 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.entity.OutboxEvent;
+
+/**
+ * 发件箱事件订阅者
+ * 实现为 Spring Bean 即自动注册，由发件箱分发线程在订单事务提交后异步调用。
+ * 投递语义为至少一次：任一订阅者失败时整个事件会重新投递给所有订阅者，实现须保证幂等。
+ */
+public interface OutboxEventSubscriber {
+
+    /**
+     * 处理一个事件，抛出异常表示处理失败、稍后重试
+     * @param event 事件（只读）
+     */
+    void onEvent(OutboxEvent event);
+}
@@ -0,0 +1,88 @@
+package com.fullstackmall.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.OutboxEvent;
+import com.fullstackmall.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 订单事件发件箱写入服务
+ * 事件行与订单、库存变更在调用方的同一事务中写入（没有事务时拒绝写入），
+ * 事务回滚则事件一并消失，提交后由 {@link OutboxDispatcher} 异步投递。
+ * 写入只是一批随事务提交的 INSERT，新增订阅者不会延长下单事务。
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+    public static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 记录订单创建事件
+     * @param orders 新创建的订单
+     */
+    public void orderCreated(Collection<Order> orders) {
+        List<OutboxEvent> events = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("orderId", order.getId().toString());
+            payload.put("userId", order.getUser().getId());
+            payload.put("status", order.getStatus());
+            payload.put("totalAmount", order.getTotalAmount());
+            payload.put("itemCount", order.getItems().size());
+            if (!order.getItems().isEmpty()) {
+                OrderItem first = order.getItems().get(0);
+                payload.put("firstItemName", first.getProductName());
+                payload.put("firstItemImageUrl", first.getProductImageUrl());
+            }
+            payload.put("createdAt", order.getCreatedAt());
+            events.add(new OutboxEvent(ORDER_CREATED, order.getId(), toJson(payload)));
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    /**
+     * 记录订单状态变更事件
+     * @param orderIds 状态已变更的订单ID
+     * @param from 原状态
+     * @param to 新状态
+     */
+    public void statusChanged(Collection<Long> orderIds, Order.OrderStatus from, Order.OrderStatus to) {
+        List<OutboxEvent> events = new ArrayList<>(orderIds.size());
+        for (Long orderId : orderIds) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("orderId", orderId.toString());
+            payload.put("from", from);
+            payload.put("to", to);
+            events.add(new OutboxEvent(ORDER_STATUS_CHANGED, orderId, toJson(payload)));
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("事件序列化失败", e);
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package com.fullstackmall.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullstackmall.dto.ProductImportResult;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 商品批量导入服务
+ * 逐条读取请求体中的 CSV 或 NDJSON 记录，每积累一批后并行解析和校验，
+ * 再在一个短事务中批量写入：不带ID的记录新增，带ID的记录按ID更新。
+ * 内存中只保留当前批次，导入量不受堆大小限制；已提交的批次不会因后续批次失败而回滚。
+ * 单条记录超过长度上限时该记录被拒绝（不再缓存其内容），批次写入失败时改为逐条写入，只报告出错的记录。
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "price", "stock", "category");
+
+    /**
+     * 导入格式
+     */
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${product.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${product.import.max-errors:100}")
+    private int maxErrors;
+
+    @Value("${product.import.max-record-chars:65536}")
+    private int maxRecordChars;
+
+    private Counter importedRows;
+    private Counter failedRows;
+
+    @PostConstruct
+    public void initMetrics() {
+        importedRows = meterRegistry.counter("products.import.rows");
+        failedRows = meterRegistry.counter("products.import.failed");
+    }
+
+    /**
+     * 导入商品
+     * @param in 请求体（方法不关闭该流）
+     * @param format 导入格式
+     * @return 导入结果
+     */
+    public ProductImportResult importProducts(InputStream in, Format format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        RecordReader records = format == Format.CSV ? new CsvRecordReader(reader) : new NdjsonRecordReader(reader);
+        ProductImportResult result = new ProductImportResult();
+        long start = System.nanoTime();
+
+        List<RawRecord> chunk = new ArrayList<>(chunkSize);
+        RawRecord record;
+        while ((record = records.next()) != null) {
+            chunk.add(record);
+            if (chunk.size() >= chunkSize) {
+                processChunk(chunk, result);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, result);
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("商品导入完成: 新增 {}，更新 {}，失败 {}，耗时 {}ms",
+            result.getInserted(), result.getUpdated(), result.getFailed(), elapsedMs);
+        return result;
+    }
+
+    /**
+     * 并行解析校验一批记录，并写入通过校验的商品
+     */
+    private void processChunk(List<RawRecord> chunk, ProductImportResult result) {
+        List<ParsedRow> valid = new ArrayList<>(chunk.size());
+        for (ParsedRow row : chunk.parallelStream().map(this::parse).toList()) {
+            if (row.error != null) {
+                fail(result, row.row, row.error);
+            } else {
+                valid.add(row);
+            }
+        }
+        if (!valid.isEmpty()) {
+            write(valid, result);
+        }
+    }
+
+    /**
+     * 在一个事务中写入一批商品；写入失败时改为逐条写入，使同批的其他记录不受出错记录影响
+     */
+    private void write(List<ParsedRow> rows, ProductImportResult result) {
+        List<Product> inserts = new ArrayList<>();
+        List<Product> updates = new ArrayList<>();
+        Map<Long, Long> rowById = new HashMap<>();
+        for (ParsedRow row : rows) {
+            if (row.product.getId() == null) {
+                inserts.add(row.product);
+            } else {
+                updates.add(row.product);
+                rowById.put(row.product.getId(), row.row);
+            }
+        }
+
+        List<Long> missing;
+        try {
+            missing = transactionTemplate.execute(status -> {
+                productRepository.insertBatch(inserts);
+                return productRepository.updateBatch(updates);
+            });
+        } catch (DataAccessException e) {
+            // 回滚的事务已为新增的商品分配了ID，清除后重试时仍按新增写入
+            inserts.forEach(product -> product.setId(null));
+            if (rows.size() == 1) {
+                fail(result, rows.get(0).row, "写入失败: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            log.warn("商品导入批次写入失败，改为逐条写入: {}", e.getMessage());
+            rows.forEach(row -> write(List.of(row), result));
+            return;
+        }
+
+        for (Long id : missing) {
+            fail(result, rowById.get(id), "商品不存在: " + id);
+        }
+        result.setInserted(result.getInserted() + inserts.size());
+        result.setUpdated(result.getUpdated() + updates.size() - missing.size());
+        importedRows.increment(inserts.size() + updates.size() - missing.size());
+    }
+
+    private void fail(ProductImportResult result, long row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        failedRows.increment();
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new ProductImportResult.RowError(row, message));
+        }
+    }
+
+    /**
+     * 把一条原始记录转换为商品并执行 Bean Validation 校验（在并行流中执行，不访问共享状态）
+     */
+    private ParsedRow parse(RawRecord record) {
+        if (record.error != null) {
+            return ParsedRow.failed(record.row, record.error);
+        }
+        try {
+            Product product = new Product();
+            product.setId(parseLong(record.get("id")));
+            product.setName(trim(record.get("name")));
+            product.setDescription(record.get("description"));
+            product.setPrice(parseDecimal(record.get("price")));
+            product.setStock(parseInt(record.get("stock")));
+            product.setCategory(trim(record.get("category")));
+            product.setImageUrl(trim(record.get("imageUrl")));
+
+            Set<ConstraintViolation<Product>> violations = validator.validate(product);
+            if (!violations.isEmpty()) {
+                return ParsedRow.failed(record.row, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            }
+            return ParsedRow.ok(record.row, product);
+        } catch (RuntimeException e) {
+            return ParsedRow.failed(record.row, e.getMessage());
+        }
+    }
+
+    private static String trim(String value) {
+        return value != null && !value.isBlank() ? value.trim() : null;
+    }
+
+    private static Long parseLong(String value) {
+        String trimmed = trim(value);
+        if (trimmed == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(trimmed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("商品ID格式错误: " + trimmed);
+        }
+    }
+
+    private static Integer parseInt(String value) {
+        String trimmed = trim(value);
+        if (trimmed == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(trimmed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("商品库存格式错误: " + trimmed);
+        }
+    }
+
+    private static BigDecimal parseDecimal(String value) {
+        String trimmed = trim(value);
+        if (trimmed == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(trimmed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("商品价格格式错误: " + trimmed);
+        }
+    }
+
+    private String oversizedMessage() {
+        return "记录超过长度上限（" + maxRecordChars + " 个字符），可能存在未闭合的引号";
+    }
+
+    /**
+     * 一条原始记录：CSV 为按表头映射的字段，NDJSON 为未解析的一行；超过长度上限的记录只保留错误信息
+     */
+    private class RawRecord {
+        private final long row;
+        private final Map<String, Integer> header;
+        private final List<String> fields;
+        private final String line;
+        private final String error;
+        private JsonNode json;
+
+        RawRecord(long row, Map<String, Integer> header, List<String> fields, String line) {
+            this(row, header, fields, line, null);
+        }
+
+        RawRecord(long row, String error) {
+            this(row, null, null, null, error);
+        }
+
+        private RawRecord(long row, Map<String, Integer> header, List<String> fields, String line, String error) {
+            this.row = row;
+            this.header = header;
+            this.fields = fields;
+            this.line = line;
+            this.error = error;
+        }
+
+        String get(String column) {
+            if (line != null) {
+                if (json == null) {
+                    try {
+                        json = objectMapper.readTree(line);
+                    } catch (IOException e) {
+                        throw new IllegalArgumentException("JSON格式错误");
+                    }
+                    if (!json.isObject()) {
+                        throw new IllegalArgumentException("JSON格式错误: 每行必须是一个对象");
+                    }
+                }
+                JsonNode value = json.get(column);
+                return value == null || value.isNull() ? null : value.asText();
+            }
+            Integer index = header.get(column.toLowerCase(Locale.ROOT));
+            return index != null && index < fields.size() ? fields.get(index) : null;
+        }
+    }
+
+    private static class ParsedRow {
+        private final long row;
+        private final Product product;
+        private final String error;
+
+        private ParsedRow(long row, Product product, String error) {
+            this.row = row;
+            this.product = product;
+            this.error = error;
+        }
+
+        static ParsedRow ok(long row, Product product) {
+            return new ParsedRow(row, product, null);
+        }
+
+        static ParsedRow failed(long row, String error) {
+            return new ParsedRow(row, null, error);
+        }
+    }
+
+    private interface RecordReader {
+        /**
+         * @return 下一条记录，读完时返回null
+         */
+        RawRecord next() throws IOException;
+    }
+
+    /**
+     * NDJSON 读取：每个非空行为一条记录，行号从1开始
+     */
+    private class NdjsonRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private final StringBuilder line = new StringBuilder();
+        private long lineNumber;
+
+        NdjsonRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRecord next() throws IOException {
+            int c = reader.read();
+            while (c != -1) {
+                lineNumber++;
+                line.setLength(0);
+                boolean oversized = false;
+                while (c != -1 && c != '\n') {
+                    // 超过上限后丢弃该行剩余内容，内存占用不随行长增长
+                    if (line.length() >= maxRecordChars) {
+                        oversized = true;
+                    } else if (c != '\r') {
+                        line.append((char) c);
+                    }
+                    c = reader.read();
+                }
+                if (oversized) {
+                    return new RawRecord(lineNumber, oversizedMessage());
+                }
+                if (!line.toString().isBlank()) {
+                    return new RawRecord(lineNumber, null, null, line.toString());
+                }
+                c = reader.read();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * CSV 读取（RFC 4180）：首行为表头，字段可用双引号包裹并包含逗号、换行和转义的双引号；
+     * 记录序号从1开始，不含表头
+     */
+    private class CsvRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private Map<String, Integer> header;
+        private long recordNumber;
+        private boolean oversized;
+
+        CsvRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRecord next() throws IOException {
+            if (header == null) {
+                List<String> columns = readRecord();
+                if (columns == null) {
+                    return null;
+                }
+                if (oversized) {
+                    throw new IllegalArgumentException("CSV表头" + oversizedMessage());
+                }
+                header = new HashMap<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    String column = columns.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT);
+                    if (i == 0 && column.startsWith("\uFEFF")) {
+                        column = column.substring(1);
+                    }
+                    header.put(column, i);
+                }
+                for (String required : REQUIRED_COLUMNS) {
+                    if (!header.containsKey(required)) {
+                        throw new IllegalArgumentException("CSV表头缺少必需列: " + required);
+                    }
+                }
+            }
+            List<String> fields;
+            do {
+                fields = readRecord();
+            } while (fields != null && !oversized && fields.size() == 1 && fields.get(0).isBlank());
+            if (fields == null) {
+                return null;
+            }
+            if (oversized) {
+                return new RawRecord(++recordNumber, oversizedMessage());
+            }
+            return new RawRecord(++recordNumber, header, fields, null);
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int length = 0;
+            oversized = false;
+            while (c != -1) {
+                if (length >= maxRecordChars) {
+                    // 超过上限后继续按引号状态扫描到记录结束，但不再缓存内容；未闭合的引号会使剩余输入都归入该记录
+                    if (!oversized) {
+                        oversized = true;
+                        fields.clear();
+                        field.setLength(0);
+                    }
+                    if (c == '"') {
+                        quoted = !quoted;
+                    } else if (c == '\n' && !quoted) {
+                        break;
+                    }
+                    c = reader.read();
+                    continue;
+                }
+                length++;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
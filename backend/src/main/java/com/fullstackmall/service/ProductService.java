@@ -1,13 +1,17 @@
 package com.fullstackmall.service;
 
 import com.fullstackmall.entity.Product;
+import com.fullstackmall.repository.OrderItemRepository;
 import com.fullstackmall.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -19,6 +23,9 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    
     /**
      * 获取所有商品（分页）
      * @param pageable 分页参数
@@ -154,4 +161,56 @@ public class ProductService {
         product.setStock(product.getStock() + quantity);
         productRepository.save(product);
     }
-}
\ No newline at end of file
+    
+    /**
+     * 批量扣减商品库存（条件更新，不加载商品实体）
+     * @param quantities 商品ID到扣减数量的映射
+     * @return 库存不足的商品ID列表，全部成功时为空
+     */
+    public List<Long> decreaseStockBatch(Map<Long, Integer> quantities) {
+        return productRepository.decreaseStockBatch(quantities);
+    }
+    
+    /**
+     * 批量恢复商品库存（不加载商品实体）
+     * @param quantities 商品ID到恢复数量的映射
+     */
+    public void increaseStockBatch(Map<Long, Integer> quantities) {
+        productRepository.increaseStockBatch(quantities);
+    }
+    
+    /**
+     * 恢复一批已取消订单占用的库存（不加载订单项和商品实体）
+     * 管理员取消、批量取消与超时自动取消共用此方法
+     * @param orderIds 订单ID集合
+     * @return 各分类的商品件数（按下单时的分类），用于扣减实时销量
+     */
+    public Map<String, Integer> restoreStockForOrders(Collection<Long> orderIds) {
+        productRepository.restoreStockForOrders(orderIds);
+        Map<String, Integer> units = new HashMap<>();
+        for (Object[] row : orderItemRepository.sumQuantityByCategory(orderIds)) {
+            if (row[0] != null) {
+                units.put((String) row[0], ((Number) row[1]).intValue());
+            }
+        }
+        return units;
+    }
+    
+    /**
+     * 批量查询商品
+     * @param ids 商品ID集合
+     * @return 商品列表
+     */
+    public List<Product> findAllById(Collection<Long> ids) {
+        return productRepository.findAllById(ids);
+    }
+    
+    /**
+     * 锁定商品行并读取当前库存，需在事务中调用
+     * @param productIds 商品ID集合
+     * @return 商品ID到当前库存的映射
+     */
+    public Map<Long, Integer> findStockForUpdate(Collection<Long> productIds) {
+        return productRepository.findStockForUpdate(productIds);
+    }
+}
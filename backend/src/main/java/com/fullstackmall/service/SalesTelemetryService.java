@@ -0,0 +1,194 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.LiveSales;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 实时销售遥测服务
+ * 在内存中按秒、按分钟两级环形缓冲区累计订单数、销售额、取消数、退款额及各分类净销量，
+ * 供管理后台展示实时数据，不查询订单表。
+ *
+ * 写入路径无锁：槽位按时间戳复用，过期槽位通过CAS整体替换为新槽位，
+ * 计数使用 LongAdder，高并发下单时各线程写入不同的计数单元。
+ */
+@Service
+public class SalesTelemetryService {
+
+    @Value("${order.live.seconds:60}")
+    private int secondSlots;
+
+    @Value("${order.live.minutes:60}")
+    private int minuteSlots;
+
+    private LongSupplier clock = System::currentTimeMillis;
+
+    private Ring perSecond;
+    private Ring perMinute;
+
+    @PostConstruct
+    public void init() {
+        perSecond = new Ring(secondSlots, 1000L);
+        perMinute = new Ring(minuteSlots, 60_000L);
+    }
+
+    /**
+     * 记录一笔成交订单
+     * @param revenueCents 订单金额（分）
+     * @param units 各分类的商品件数
+     */
+    public void recordSale(long revenueCents, Map<String, Integer> units) {
+        long now = clock.getAsLong();
+        record(perSecond.slotFor(now), 1, revenueCents, 0, 0, units, 1);
+        record(perMinute.slotFor(now), 1, revenueCents, 0, 0, units, 1);
+    }
+
+    /**
+     * 记录一批同时取消的订单，分类销量相应扣减
+     * @param orders 订单数量
+     * @param refundCents 订单金额合计（分）
+     * @param units 各分类的商品件数合计
+     */
+    public void recordCancellations(long orders, long refundCents, Map<String, Integer> units) {
+        long now = clock.getAsLong();
+        record(perSecond.slotFor(now), 0, 0, orders, refundCents, units, -1);
+        record(perMinute.slotFor(now), 0, 0, orders, refundCents, units, -1);
+    }
+
+    /**
+     * 获取实时销售数据
+     * @return 最近一分钟逐秒、最近一小时逐分钟的销售汇总
+     */
+    public LiveSales getLiveSales() {
+        long now = clock.getAsLong();
+        List<LiveSales.Bucket> seconds = perSecond.snapshot(now);
+        List<LiveSales.Bucket> minutes = perMinute.snapshot(now);
+        return new LiveSales(sum(seconds), sum(minutes), seconds, minutes);
+    }
+
+    private static void record(Slot slot, long orders, long revenueCents, long cancelled, long refundCents,
+                               Map<String, Integer> units, int sign) {
+        if (slot == null) {
+            return;
+        }
+        if (orders != 0) {
+            slot.orders.add(orders);
+            slot.revenueCents.add(revenueCents);
+        }
+        if (cancelled != 0) {
+            slot.cancelledOrders.add(cancelled);
+            slot.refundedCents.add(refundCents);
+        }
+        units.forEach((category, quantity) -> slot.units(category).add((long) sign * quantity));
+    }
+
+    private static LiveSales.Bucket sum(List<LiveSales.Bucket> buckets) {
+        long orders = 0;
+        long cancelled = 0;
+        BigDecimal revenue = BigDecimal.ZERO.setScale(2);
+        BigDecimal refunded = BigDecimal.ZERO.setScale(2);
+        Map<String, Long> units = new TreeMap<>();
+        for (LiveSales.Bucket bucket : buckets) {
+            orders += bucket.getOrders();
+            cancelled += bucket.getCancelledOrders();
+            revenue = revenue.add(bucket.getRevenue());
+            refunded = refunded.add(bucket.getRefunded());
+            bucket.getUnitsByCategory().forEach((category, quantity) -> units.merge(category, quantity, Long::sum));
+        }
+        LocalDateTime start = buckets.isEmpty() ? null : buckets.get(0).getStart();
+        return new LiveSales.Bucket(start, orders, revenue, cancelled, refunded, units);
+    }
+
+    /**
+     * 固定时间粒度的环形缓冲区
+     */
+    private static class Ring {
+        private final AtomicReferenceArray<Slot> slots;
+        private final long widthMs;
+
+        Ring(int size, long widthMs) {
+            this.slots = new AtomicReferenceArray<>(size);
+            this.widthMs = widthMs;
+        }
+
+        /**
+         * 获取时间点所在的槽位，槽位仍保存着更早的时间段时替换为新槽位
+         * @return 槽位；写入方落后超过一整圈时返回null（数据已不在展示窗口内）
+         */
+        Slot slotFor(long nowMs) {
+            long stamp = nowMs / widthMs;
+            int index = (int) (stamp % slots.length());
+            while (true) {
+                Slot slot = slots.get(index);
+                if (slot != null && slot.stamp == stamp) {
+                    return slot;
+                }
+                if (slot != null && slot.stamp > stamp) {
+                    return null;
+                }
+                Slot fresh = new Slot(stamp);
+                if (slots.compareAndSet(index, slot, fresh)) {
+                    return fresh;
+                }
+            }
+        }
+
+        /**
+         * 按时间升序读取窗口内的所有时间段
+         */
+        List<LiveSales.Bucket> snapshot(long nowMs) {
+            long current = nowMs / widthMs;
+            List<LiveSales.Bucket> buckets = new ArrayList<>(slots.length());
+            for (long stamp = current - slots.length() + 1; stamp <= current; stamp++) {
+                Slot slot = slots.get((int) (stamp % slots.length()));
+                LocalDateTime start = LocalDateTime.ofInstant(Instant.ofEpochMilli(stamp * widthMs), ZoneId.systemDefault());
+                if (slot == null || slot.stamp != stamp) {
+                    buckets.add(new LiveSales.Bucket(start, 0, BigDecimal.ZERO.setScale(2), 0,
+                        BigDecimal.ZERO.setScale(2), Map.of()));
+                    continue;
+                }
+                Map<String, Long> units = new TreeMap<>();
+                slot.units.forEach((category, quantity) -> units.put(category, quantity.sum()));
+                buckets.add(new LiveSales.Bucket(start, slot.orders.sum(), BigDecimal.valueOf(slot.revenueCents.sum(), 2),
+                    slot.cancelledOrders.sum(), BigDecimal.valueOf(slot.refundedCents.sum(), 2), units));
+            }
+            return buckets;
+        }
+    }
+
+    /**
+     * 一个时间段的计数单元
+     */
+    private static class Slot {
+        private final long stamp;
+        private final LongAdder orders = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+        private final LongAdder cancelledOrders = new LongAdder();
+        private final LongAdder refundedCents = new LongAdder();
+        private final ConcurrentHashMap<String, LongAdder> units = new ConcurrentHashMap<>();
+
+        Slot(long stamp) {
+            this.stamp = stamp;
+        }
+
+        LongAdder units(String category) {
+            // 分类数量有限，绝大多数写入命中已有计数器，只做无锁读取
+            LongAdder adder = units.get(category);
+            return adder != null ? adder : units.computeIfAbsent(category, key -> new LongAdder());
+        }
+    }
+}
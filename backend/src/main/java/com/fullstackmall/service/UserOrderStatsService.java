@@ -0,0 +1,172 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.UserOrderStats;
+import com.fullstackmall.repository.UserOrderStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 用户订单统计服务
+ * 统计行（订单数、累计消费、最近下单时间）在下单和取消的事务中以原子增量更新维护，
+ * 用户首次被统计时用一条 INSERT IGNORE ... SELECT 从热表和归档表聚合出初始值，之后不再对订单表做 COUNT。
+ * 读取先查内存缓存，未命中时按主键读取一行；写入事务提交后使对应用户的缓存失效。
+ */
+@Service
+public class UserOrderStatsService {
+
+    @Autowired
+    private UserOrderStatsRepository userOrderStatsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${order.user-stats.cache-ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    @Value("${order.user-stats.cache-max-entries:10000}")
+    private int cacheMaxEntries;
+
+    private final ConcurrentHashMap<Long, CachedStats> cache = new ConcurrentHashMap<>();
+
+    // 每次缓存失效时递增，读取期间发生过失效的结果不写入缓存，避免旧值覆盖失效
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * 获取用户订单统计
+     * @param userId 用户ID
+     * @return 订单统计
+     */
+    public UserOrderStats getStats(Long userId) {
+        CachedStats cached = cache.get(userId);
+        if (cached != null && !cached.isExpired()) {
+            return cached.stats;
+        }
+
+        long generation = invalidations.get();
+        UserOrderStats stats = userOrderStatsRepository.findById(userId)
+            .orElseGet(() -> transactionTemplate.execute(status -> {
+                userOrderStatsRepository.insertFromOrders(userId, LocalDateTime.now());
+                return userOrderStatsRepository.findById(userId).orElseThrow();
+            }));
+        if (invalidations.get() == generation) {
+            evictIfFull();
+            cache.put(userId, new CachedStats(stats,
+                System.nanoTime() + TimeUnit.SECONDS.toNanos(cacheTtlSeconds)));
+        }
+        return stats;
+    }
+
+    /**
+     * 在当前事务中累加新创建的订单，按用户合并为每人一条更新
+     * @param orders 新创建的订单
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<Order> orders) {
+        Map<Long, Delta> deltas = new HashMap<>();
+        for (Order order : orders) {
+            deltas.computeIfAbsent(order.getUser().getId(), userId -> new Delta()).add(order);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        deltas.forEach((userId, delta) -> {
+            if (userOrderStatsRepository.addOrders(userId, delta.orders, delta.spent, delta.lastOrderAt, now) == 0
+                    && userOrderStatsRepository.insertFromOrders(userId, now) == 0) {
+                // 统计行由并发事务刚刚初始化，其聚合结果不含本事务的订单
+                userOrderStatsRepository.addOrders(userId, delta.orders, delta.spent, delta.lastOrderAt, now);
+            }
+        });
+        invalidateAfterCommit(deltas.keySet());
+    }
+
+    /**
+     * 在当前事务中扣减已取消订单的消费金额，调用前订单状态应已更新
+     * @param amounts 各用户取消的订单金额合计
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCancelled(Map<Long, BigDecimal> amounts) {
+        LocalDateTime now = LocalDateTime.now();
+        amounts.forEach((userId, amount) -> {
+            if (userOrderStatsRepository.deductSpent(userId, amount, now) == 0
+                    && userOrderStatsRepository.insertFromOrders(userId, now) == 0) {
+                userOrderStatsRepository.deductSpent(userId, amount, now);
+            }
+        });
+        invalidateAfterCommit(amounts.keySet());
+    }
+
+    /**
+     * 事务提交后使缓存失效；回滚时统计行未变化，缓存仍然有效
+     */
+    private void invalidateAfterCommit(Set<Long> userIds) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidations.incrementAndGet();
+                userIds.forEach(cache::remove);
+            }
+        });
+    }
+
+    /**
+     * 缓存超过上限时移除已过期的记录，仍超过上限则整体清空
+     */
+    private void evictIfFull() {
+        if (cache.size() < cacheMaxEntries) {
+            return;
+        }
+        cache.entrySet().removeIf(e -> e.getValue().isExpired());
+        if (cache.size() >= cacheMaxEntries) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * 单个用户的新订单增量
+     */
+    private static class Delta {
+        private long orders;
+        private BigDecimal spent = BigDecimal.ZERO;
+        private LocalDateTime lastOrderAt;
+
+        void add(Order order) {
+            orders++;
+            spent = spent.add(order.getTotalAmount());
+            if (lastOrderAt == null || lastOrderAt.isBefore(order.getCreatedAt())) {
+                lastOrderAt = order.getCreatedAt();
+            }
+        }
+    }
+
+    /**
+     * 缓存中的统计结果
+     */
+    private static class CachedStats {
+        private final UserOrderStats stats;
+        private final long expiresAt;
+
+        CachedStats(UserOrderStats stats, long expiresAt) {
+            this.stats = stats;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.fullstackmall.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OutboxEvent;
+import com.fullstackmall.repository.UserOrderViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户订单列表读模型投影
+ * 作为发件箱订阅者消费订单事件维护 user_order_view：创建事件插入一行，状态变更事件按原状态条件更新。
+ * 两种写入都是幂等的，发件箱至少一次投递造成的重复事件不会产生重复行或回退状态。
+ * 投递失败的事件稍后重试，同一订单的事件可能乱序到达：状态变更未命中时以订单表的当前行为准补齐读模型，
+ * 之后到达的创建事件被忽略，较早的状态变更事件也不会覆盖订单表的当前状态。
+ * 读模型相对订单表有一个投递周期的延迟；功能上线前的历史订单由 user_order_view.sql 回填。
+ * 创建事件超过最大重试次数而失败、或发件箱投递被关闭时，读模型不会收到事件，
+ * 由定时校准按订单表补齐最近下单的缺失行并同步不一致的状态（更早的订单由 user_order_view.sql 回填）。
+ */
+@Service
+public class UserOrderViewProjector implements OutboxEventSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(UserOrderViewProjector.class);
+
+    @Autowired
+    private UserOrderViewRepository userOrderViewRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${order.view.reconcile-enabled:true}")
+    private boolean reconcileEnabled;
+
+    @Value("${order.view.reconcile-lookback-hours:24}")
+    private long reconcileLookbackHours;
+
+    @Value("${order.view.reconcile-grace-seconds:60}")
+    private long reconcileGraceSeconds;
+
+    @Value("${order.view.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
+
+    @Override
+    @Transactional
+    public void onEvent(OutboxEvent event) {
+        switch (event.getEventType()) {
+            case OutboxService.ORDER_CREATED -> onOrderCreated(event.getAggregateId(), parse(event));
+            case OutboxService.ORDER_STATUS_CHANGED -> onStatusChanged(event.getAggregateId(), parse(event));
+            default -> {
+            }
+        }
+    }
+
+    private void onOrderCreated(Long orderId, JsonNode payload) {
+        userOrderViewRepository.insertIgnore(
+            orderId,
+            payload.get("userId").asLong(),
+            payload.get("status").asText(),
+            payload.get("totalAmount").decimalValue(),
+            payload.path("itemCount").asInt(),
+            payload.path("firstItemName").textValue(),
+            payload.path("firstItemImageUrl").textValue(),
+            LocalDateTime.parse(payload.get("createdAt").asText()));
+    }
+
+    private void onStatusChanged(Long orderId, JsonNode payload) {
+        Order.OrderStatus from = Order.OrderStatus.valueOf(payload.get("from").asText());
+        Order.OrderStatus to = Order.OrderStatus.valueOf(payload.get("to").asText());
+        LocalDateTime now = LocalDateTime.now();
+        if (userOrderViewRepository.updateStatus(orderId, from, to, now) > 0) {
+            return;
+        }
+        // 重复投递，或创建事件、较早的状态变更事件投递失败后尚未重试：按订单表的当前行补齐
+        if (userOrderViewRepository.insertFromOrder(orderId) == 0
+                && userOrderViewRepository.syncStatusFromOrder(orderId, now) == 0) {
+            log.debug("订单列表读模型未更新: orderId={}, {} -> {}", orderId, from, to);
+        }
+    }
+
+    /**
+     * 定时校准最近下单的订单；刚下单的订单留给发件箱投递，不在校准范围内
+     */
+    @Scheduled(fixedDelayString = "${order.view.reconcile-interval-ms:60000}")
+    public void reconcileRecent() {
+        if (!reconcileEnabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            reconcile(now.minusHours(reconcileLookbackHours), now.minusSeconds(reconcileGraceSeconds));
+        } catch (RuntimeException e) {
+            log.warn("订单列表读模型校准失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按订单表的当前行补齐下单时间范围内缺失的读模型行，并同步状态不一致的行
+     * 每次各处理至多一批，剩余的在下一次校准时处理
+     * @param since 起始时间（含）
+     * @param before 结束时间（不含）
+     * @return 补齐和同步的行数
+     */
+    public int reconcile(LocalDateTime since, LocalDateTime before) {
+        Integer repaired = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int rows = 0;
+            for (Long orderId : userOrderViewRepository.findMissingOrderIds(since, before, reconcileBatchSize)) {
+                rows += userOrderViewRepository.insertFromOrder(orderId);
+            }
+            for (Long orderId : userOrderViewRepository.findStaleOrderIds(since, before, reconcileBatchSize)) {
+                rows += userOrderViewRepository.syncStatusFromOrder(orderId, now);
+            }
+            return rows;
+        });
+        if (repaired != null && repaired > 0) {
+            log.info("订单列表读模型校准: 按订单表补齐或同步 {} 行", repaired);
+        }
+        return repaired != null ? repaired : 0;
+    }
+
+    private JsonNode parse(OutboxEvent event) {
+        try {
+            return objectMapper.readTree(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("事件解析失败: " + event.getId(), e);
+        }
+    }
+}
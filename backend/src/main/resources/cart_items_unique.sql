@@ -0,0 +1,18 @@
+-- 为已有数据库的购物车项表添加 (cart_id, product_id) 唯一约束，再次购买的批量加购依赖它合并数量
+-- 新建数据库由实体映射生成该约束，无需执行本脚本
+
+-- 先合并同一购物车中重复的商品行，保留ID最小的一行
+UPDATE cart_items ci
+JOIN (
+    SELECT cart_id, product_id, MIN(id) AS keep_id, SUM(quantity) AS total_quantity
+    FROM cart_items
+    GROUP BY cart_id, product_id
+    HAVING COUNT(*) > 1
+) dup ON ci.id = dup.keep_id
+SET ci.quantity = dup.total_quantity;
+
+DELETE ci FROM cart_items ci
+JOIN cart_items keep ON keep.cart_id = ci.cart_id AND keep.product_id = ci.product_id AND keep.id < ci.id;
+
+ALTER TABLE cart_items
+    ADD UNIQUE KEY uk_cart_items_cart_product (cart_id, product_id);
@@ -0,0 +1,21 @@
+-- 为已有数据库的订单项补充商品快照字段
+-- 新建数据库使用 init.sql 即可，无需执行本脚本
+
+-- 1. 添加快照字段（如已由 ddl-auto: update 自动添加可跳过）
+ALTER TABLE order_items ADD COLUMN product_name VARCHAR(255);
+ALTER TABLE order_items ADD COLUMN product_image_url VARCHAR(500);
+ALTER TABLE order_items ADD COLUMN product_category VARCHAR(100);
+
+-- 2. 用当前商品信息回填历史订单项
+UPDATE order_items oi
+JOIN products p ON p.id = oi.product_id
+SET oi.product_name = p.name,
+    oi.product_image_url = p.image_url,
+    oi.product_category = p.category
+WHERE oi.product_name IS NULL;
+
+-- 3. 删除商品时保留订单项（外键名以 SHOW CREATE TABLE order_items 的结果为准）
+ALTER TABLE order_items MODIFY COLUMN product_id BIGINT NULL;
+ALTER TABLE order_items DROP FOREIGN KEY order_items_ibfk_2;
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_product
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE SET NULL;
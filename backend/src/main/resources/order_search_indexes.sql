@@ -0,0 +1,11 @@
+-- 为已有数据库的订单表替换为管理员搜索使用的复合索引
+-- 新建数据库使用 init.sql 即可，无需执行本脚本
+
+-- 新索引以原单列索引为前缀，原索引随之冗余；user_id 外键由 idx_orders_user_created 支撑
+ALTER TABLE orders
+    ADD INDEX idx_orders_user_created (user_id, created_at, total_amount),
+    ADD INDEX idx_orders_status_created (status, created_at, total_amount),
+    ADD INDEX idx_orders_created_amount (created_at, total_amount),
+    DROP INDEX idx_user,
+    DROP INDEX idx_status,
+    DROP INDEX idx_created_at;
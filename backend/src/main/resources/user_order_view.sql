@@ -0,0 +1,43 @@
+-- 为已有数据库创建订单列表读模型并回填历史订单
+-- 新建数据库使用 init.sql 即可，无需执行本脚本；可在服务运行期间执行，已由订单事件写入的行会被忽略
+
+-- 1. 创建读模型表（如已由 ddl-auto: update 以 order_id 为主键自动创建，先删除该表，以使用按用户聚簇的主键）
+CREATE TABLE IF NOT EXISTS user_order_view (
+    order_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    item_count INT NOT NULL,
+    first_item_name VARCHAR(255),
+    first_item_image_url VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NULL,
+    PRIMARY KEY (user_id, created_at, order_id),
+    UNIQUE KEY uk_user_order_view_order (order_id)
+);
+
+-- 2. 回填热表订单（第一个商品取ID最小的订单项）
+INSERT IGNORE INTO user_order_view (order_id, user_id, status, total_amount, item_count,
+                                    first_item_name, first_item_image_url, created_at, updated_at)
+SELECT o.id, o.user_id, o.status, o.total_amount, s.item_count,
+       fi.product_name, fi.product_image_url, o.created_at, o.updated_at
+FROM orders o
+JOIN (SELECT order_id, COUNT(*) AS item_count, MIN(id) AS first_item_id
+      FROM order_items GROUP BY order_id) s ON s.order_id = o.id
+JOIN order_items fi ON fi.id = s.first_item_id;
+
+-- 3. 回填归档订单
+INSERT IGNORE INTO user_order_view (order_id, user_id, status, total_amount, item_count,
+                                    first_item_name, first_item_image_url, created_at, updated_at)
+SELECT o.id, o.user_id, o.status, o.total_amount, s.item_count,
+       fi.product_name, fi.product_image_url, o.created_at, o.updated_at
+FROM orders_archive o
+JOIN (SELECT order_id, COUNT(*) AS item_count, MIN(id) AS first_item_id
+      FROM order_items_archive GROUP BY order_id) s ON s.order_id = o.id
+JOIN order_items_archive fi ON fi.id = s.first_item_id;
+
+-- 4. 回填期间发生状态变更的订单以订单表为准
+UPDATE user_order_view v
+JOIN orders o ON o.id = v.order_id
+SET v.status = o.status, v.updated_at = o.updated_at
+WHERE v.status <> o.status;
@@ -0,0 +1,77 @@
+package com.fullstackmall.benchmark;
+
+import com.fullstackmall.dto.BulkStatusUpdateResult;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.OrderRepository;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserRepository;
+import com.fullstackmall.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量更新订单状态基准测试：一次请求把10000个已确认订单标记为已发货
+ * 运行方式: mvn test -Dtest=BulkStatusUpdateBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bulk-status-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BulkStatusUpdateBenchmarkTest {
+
+    private static final int ORDERS = 10_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void markShipped() {
+        User user = userRepository.save(new User("bulk-bench", "bulk-bench@example.com", "password"));
+        Product product = productRepository.save(
+            new Product("Bulk Bench", "bench", new BigDecimal("9.90"), 1_000_000, "bench"));
+        List<Long> ids = new ArrayList<>(ORDERS);
+        for (int start = 0; start < ORDERS; start += 1000) {
+            List<Order> chunk = new ArrayList<>(1000);
+            for (int i = 0; i < 1000; i++) {
+                Order order = new Order(user, product.getPrice(), "bench address");
+                order.addItem(new OrderItem(order, product, 1, product.getPrice()));
+                order.setStatus(Order.OrderStatus.CONFIRMED);
+                chunk.add(order);
+            }
+            transactionTemplate.executeWithoutResult(status -> orderRepository.insertBatch(chunk));
+            chunk.forEach(order -> ids.add(order.getId()));
+        }
+
+        long start = System.nanoTime();
+        BulkStatusUpdateResult result = orderService.bulkUpdateStatus(ids, Order.OrderStatus.SHIPPED);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("marked %d orders SHIPPED in %.2f s (%.0f orders/second)%n",
+            result.getUpdated(), seconds, result.getUpdated() / seconds);
+        assertEquals(ORDERS, result.getUpdated());
+    }
+}
@@ -0,0 +1,114 @@
+package com.fullstackmall.benchmark;
+
+import com.fullstackmall.dto.AddToCartRequest;
+import com.fullstackmall.dto.CheckoutRequest;
+import com.fullstackmall.dto.CreateOrderRequest;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserRepository;
+import com.fullstackmall.service.CartService;
+import com.fullstackmall.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 购物车结算基准测试：对比原有下单流程与 /orders/checkout 单事务流程
+ * 运行方式: mvn test -Dtest=CheckoutBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CheckoutBenchmarkTest {
+
+    private static final int LINES = 20;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByUsername("checkout-bench").orElseGet(() -> {
+            User u = new User("checkout-bench", "checkout-bench@example.com", "password");
+            return userRepository.save(u);
+        });
+        products = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            Product product = new Product("Bench " + i, "benchmark", new BigDecimal("9.90"), 1_000_000, "bench");
+            products.add(productRepository.save(product));
+        }
+    }
+
+    @Test
+    void compareCheckoutFlows() {
+        double legacy = measure("createOrder (resubmitted cart)", () -> {
+            CreateOrderRequest request = new CreateOrderRequest("bench address", new ArrayList<>());
+            for (Product product : products) {
+                request.getItems().add(new CreateOrderRequest.OrderItemDto(product.getId(), 2));
+            }
+            return orderService.createOrder(user, request);
+        });
+        double checkout = measure("checkout (server cart)", () ->
+            orderService.checkout(user, new CheckoutRequest("bench address")));
+
+        System.out.printf("checkout speedup: %.2fx%n", legacy / checkout);
+
+        // 两种流程都应清空购物车并按件数扣减库存
+        assertTrue(cartService.getCartItems(user).isEmpty());
+        int ordered = 2 * 2 * (WARMUP + ITERATIONS);
+        for (Product product : products) {
+            assertEquals(1_000_000 - ordered, productRepository.findById(product.getId()).orElseThrow().getStock());
+        }
+    }
+
+    private double measure(String name, Supplier<Order> flow) {
+        for (int i = 0; i < WARMUP; i++) {
+            fillCart();
+            flow.get();
+        }
+        long elapsed = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            fillCart();
+            long start = System.nanoTime();
+            Order order = flow.get();
+            elapsed += System.nanoTime() - start;
+            assertNotNull(order.getId());
+            assertEquals(LINES, order.getItems().size());
+        }
+        double avgMs = elapsed / 1_000_000.0 / ITERATIONS;
+        System.out.printf("%-32s %8.3f ms/order (%d lines, %d iterations)%n", name, avgMs, LINES, ITERATIONS);
+        return avgMs;
+    }
+
+    private void fillCart() {
+        for (Product product : products) {
+            cartService.addToCart(user, new AddToCartRequest(product.getId(), 2));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.fullstackmall.benchmark;
+
+import com.fullstackmall.config.JwtAuthenticationFilter;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.UserRepository;
+import com.fullstackmall.service.JwtService;
+import com.fullstackmall.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 每请求认证开销基准测试：对比按令牌声明构建主体的JWT过滤器与每次按邮箱查询用户的做法
+ * 运行方式: mvn test -Dtest=JwtAuthenticationBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtAuthenticationBenchmarkTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void comparePerRequestAuthentication() {
+        User user = userRepository.findByUsername("jwt-bench").orElseGet(() ->
+            userRepository.save(new User("jwt-bench", "jwt-bench@example.com", "password")));
+        String token = jwtService.generateToken(user);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        double lookup = measure("parse + loadUserByUsername", statistics, () ->
+            userService.loadUserByUsername(jwtService.extractUserEmail(token)));
+        long lookupStatements = statistics.getPrepareStatementCount();
+        double claims = measure("JwtAuthenticationFilter (claims)", statistics, () -> authenticate(token));
+        long claimsStatements = statistics.getPrepareStatementCount();
+
+        System.out.printf("claims-based speedup: %.2fx%n", lookup / claims);
+
+        // 基于声明的认证不产生任何SQL，主体与数据库中的用户一致
+        assertEquals(ITERATIONS, lookupStatements);
+        assertEquals(0, claimsStatements);
+        User principal = (User) authenticate(token);
+        assertEquals(user.getId(), principal.getId());
+        assertEquals(user.getEmail(), principal.getEmail());
+        assertEquals(user.getRole(), principal.getRole());
+    }
+
+    private UserDetails authenticate(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders/my");
+        request.addHeader("Authorization", "Bearer " + token);
+        UserDetails[] principal = new UserDetails[1];
+        FilterChain chain = (req, res) -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            principal[0] = (UserDetails) authentication.getPrincipal();
+        };
+        try {
+            jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return principal[0];
+    }
+
+    private double measure(String name, Statistics statistics, Supplier<UserDetails> authentication) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertNotNull(authentication.get());
+        }
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertNotNull(authentication.get());
+        }
+        double avgUs = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+        System.out.printf("%-36s %8.2f us/request (%d iterations, %d statements)%n",
+            name, avgUs, ITERATIONS, statistics.getPrepareStatementCount());
+        return avgUs;
+    }
+}
@@ -0,0 +1,49 @@
+package com.fullstackmall.benchmark;
+
+import com.fullstackmall.dto.ProductImportResult;
+import com.fullstackmall.service.ProductImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 商品批量导入基准测试
+ * 运行方式: mvn test -Dtest=ProductImportBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductImportBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Test
+    void importCsv() throws Exception {
+        StringBuilder csv = new StringBuilder("name,description,price,stock,category,imageUrl\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("Import ").append(i).append(",\"bench, item ").append(i).append("\",")
+                .append(i % 1000 + 1).append(".99,").append(i % 500).append(",bench,/images/bench.svg\n");
+        }
+        byte[] body = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        ProductImportResult result = productImportService.importProducts(
+            new ByteArrayInputStream(body), ProductImportService.Format.CSV);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("imported %d products in %.2f s (%.0f products/minute)%n",
+            result.getInserted(), seconds, result.getInserted() / seconds * 60);
+        assertEquals(ROWS, result.getInserted());
+        assertEquals(0, result.getFailed());
+    }
+}
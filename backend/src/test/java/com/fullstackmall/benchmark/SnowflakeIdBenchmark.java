@@ -0,0 +1,62 @@
+package com.fullstackmall.benchmark;
+
+import com.fullstackmall.entity.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snowflake ID生成吞吐量基准测试（JMH），分别测量单线程与全部核心并发争用同一生成器时的ops/s
+ * 单节点每毫秒最多4096个ID，即理论上限约409万/秒，并发测试测量的是CAS争用下能否接近该上限
+ * 运行方式: mvn test -Dtest=SnowflakeIdBenchmark -Dbenchmark=true
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(0)
+public class SnowflakeIdBenchmark {
+
+    private final SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 1000);
+
+    @Benchmark
+    @Threads(1)
+    public long nextIdSingleThread() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long nextIdAllThreads() {
+        return generator.nextId();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void run() throws RunnerException {
+        main(new String[0]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(SnowflakeIdBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,83 @@
+package com.fullstackmall.benchmark;
+
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.OrderRepository;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserRepository;
+import com.fullstackmall.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 取消大订单时的库存恢复基准测试：每个订单包含1000种商品
+ * 运行方式: mvn test -Dtest=StockRestoreBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:stock-restore-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StockRestoreBenchmarkTest {
+
+    private static final int ITEMS_PER_ORDER = 1000;
+    private static final int ORDERS = 50;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void cancelLargeOrders() {
+        User user = userRepository.save(new User("restore-bench", "restore-bench@example.com", "password"));
+        List<Product> products = new ArrayList<>(ITEMS_PER_ORDER);
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            products.add(new Product("Restore " + i, "bench", new BigDecimal("1.00"), 0, "bench"));
+        }
+        transactionTemplate.executeWithoutResult(status -> productRepository.insertBatch(products));
+
+        List<Order> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order(user, new BigDecimal(ITEMS_PER_ORDER), "bench address");
+            products.forEach(product -> order.addItem(new OrderItem(order, product, 1, product.getPrice())));
+            orders.add(order);
+        }
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insertBatch(orders));
+
+        long start = System.nanoTime();
+        for (Order order : orders) {
+            orderService.cancelOrder(user, order.getId());
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        System.out.printf("cancelled %d orders x %d items in %.0f ms (%.1f ms/order)%n",
+            ORDERS, ITEMS_PER_ORDER, millis, millis / ORDERS);
+        assertEquals(ORDERS * ITEMS_PER_ORDER, jdbcTemplate.queryForObject(
+            "SELECT SUM(stock) FROM products WHERE category = 'bench'", Integer.class));
+    }
+}
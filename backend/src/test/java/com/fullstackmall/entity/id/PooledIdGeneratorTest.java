@@ -0,0 +1,63 @@
+package com.fullstackmall.entity.id;
+
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.repository.ProductRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 号段主键生成器集成测试：并发领取多个号段得到互不重复的ID，领取号段借用的连接全部归还连接池
+ * 使用独立的内存数据库，避免与其他测试上下文共享的数据影响断言
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:pooled-id;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.fullstackmall.id.block-size=5"
+})
+@ActiveProfiles("test")
+class PooledIdGeneratorTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void generate_ConcurrentBlocks_UniqueIdsAndNoHeldConnections() throws Exception {
+        // Given
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        List<Future<?>> futures = IntStream.range(0, 4).<Future<?>>mapToObj(t -> executor.submit(() -> {
+            for (int i = 0; i < 10; i++) {
+                ids.add(productRepository.save(
+                    new Product("号段商品" + t + "-" + i, "描述", new BigDecimal("1.00"), 1, "号段分类")).getId());
+            }
+        })).toList();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(40, ids.size());
+        assertEquals(0, dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections());
+    }
+}
@@ -0,0 +1,142 @@
+package com.fullstackmall.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH + 1_000_000L;
+
+    @Test
+    void nextId_EncodesTimestampNodeAndSequence() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(37, 1000, () -> NOW);
+
+        // When
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        // Then
+        assertTrue(first > 0);
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(first));
+        assertEquals(37, SnowflakeIdGenerator.nodeIdOf(first));
+        assertEquals(0, SnowflakeIdGenerator.sequenceOf(first));
+        assertEquals(1, SnowflakeIdGenerator.sequenceOf(second));
+    }
+
+    @Test
+    void nextId_SequenceExhausted_WaitsForNextMillisecond() {
+        // Given
+        AtomicLong clockReads = new AtomicLong();
+        // 前4097次读取停留在同一毫秒，第4097次调用应自旋等待时钟前进
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 1000,
+            () -> clockReads.incrementAndGet() <= 4097 ? NOW : NOW + 1);
+        long last = 0;
+
+        // When
+        for (int i = 0; i <= 4096; i++) {
+            long id = generator.nextId();
+            assertTrue(id > last);
+            last = id;
+        }
+
+        // Then
+        assertEquals(NOW + 1, SnowflakeIdGenerator.timestampOf(last));
+        assertEquals(0, SnowflakeIdGenerator.sequenceOf(last));
+        assertEquals(4098, clockReads.get());
+    }
+
+    @Test
+    void nextId_ClockMovesBackWithinTolerance_StaysMonotonic() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 1000, clock::get);
+        long before = generator.nextId();
+
+        // When
+        clock.set(NOW - 500);
+        long after = generator.nextId();
+
+        // Then
+        assertTrue(after > before);
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(after));
+    }
+
+    @Test
+    void nextId_ClockMovesBackBeyondTolerance_ThrowsException() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 1000, clock::get);
+        generator.nextId();
+
+        // When
+        clock.set(NOW - 5000);
+        IllegalStateException e = assertThrows(IllegalStateException.class, generator::nextId);
+
+        // Then
+        assertEquals("系统时钟回拨 5000ms，超过容忍范围 1000ms", e.getMessage());
+    }
+
+    @Test
+    void nextId_ConcurrentCallers_AllUniqueAndIncreasingPerThread() throws Exception {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 1000);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                long last = 0;
+                for (int i = 0; i < 20_000; i++) {
+                    long id = generator.nextId();
+                    assertTrue(id > last);
+                    last = id;
+                    ids.add(id);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(8 * 20_000, ids.size());
+    }
+
+    @Test
+    void shared_SameNode_ReturnsOneGeneratorAndRejectsDifferentTolerance() {
+        // Given
+        int nodeId = 1001;
+
+        // When
+        SnowflakeIdGenerator first = SnowflakeIdGenerator.shared(nodeId, 1000);
+        SnowflakeIdGenerator second = SnowflakeIdGenerator.shared(nodeId, 1000);
+
+        // Then
+        assertSame(first, second);
+        assertThrows(IllegalStateException.class, () -> SnowflakeIdGenerator.shared(nodeId, 5));
+    }
+
+    @Test
+    void resolveNodeId_ValidatesConfiguredValue() {
+        assertEquals(5, SnowflakeIdGenerator.resolveNodeId("5"));
+        int auto = SnowflakeIdGenerator.resolveNodeId("auto");
+        assertTrue(auto >= 0 && auto <= SnowflakeIdGenerator.MAX_NODE_ID);
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeIdGenerator.resolveNodeId("1024"));
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeIdGenerator.resolveNodeId("node-a"));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1, 1000));
+    }
+}
@@ -0,0 +1,91 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 订单统计聚合查询测试：GROUP BY 查询在数据库中完成计算
+ * 测试库中可能已有其他测试写入的订单，断言只比较写入前后的差值
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderAggregateQueryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void aggregates_CountOrdersAndRevenueByStatusDayAndCategory() {
+        // Given
+        User user = userRepository.findAll().get(0);
+        Product product = productRepository.save(
+            new Product("统计测试商品", "描述", new BigDecimal("12.50"), 100, "统计测试分类"));
+        LocalDateTime since = LocalDate.now().atStartOfDay();
+        long shippedBefore = countOf(Order.OrderStatus.SHIPPED);
+        long todayBefore = todayCount(since);
+
+        // When
+        Order shipped = buildOrder(user, product, 2, Order.OrderStatus.SHIPPED);
+        Order cancelled = buildOrder(user, product, 3, Order.OrderStatus.CANCELLED);
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insertBatch(List.of(shipped, cancelled)));
+
+        // Then
+        assertEquals(shippedBefore + 1, countOf(Order.OrderStatus.SHIPPED));
+        // 已取消的订单不计入按日期和按分类的统计
+        assertEquals(todayBefore + 1, todayCount(since));
+        Object[] category = orderItemRepository.aggregateByCategory(since, Order.OrderStatus.CANCELLED).stream()
+            .filter(row -> "统计测试分类".equals(row[0]))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(1L, ((Number) category[1]).longValue());
+        assertEquals(2L, ((Number) category[2]).longValue());
+        assertEquals(0, new BigDecimal("25.00").compareTo((BigDecimal) category[3]));
+    }
+
+    private long countOf(Order.OrderStatus status) {
+        return orderRepository.aggregateByStatus().stream()
+            .filter(row -> row[0] == status)
+            .mapToLong(row -> ((Number) row[1]).longValue())
+            .sum();
+    }
+
+    private long todayCount(LocalDateTime since) {
+        return orderRepository.aggregateByDay(since, Order.OrderStatus.CANCELLED).stream()
+            .filter(row -> LocalDate.now().equals(row[0]))
+            .mapToLong(row -> ((Number) row[1]).longValue())
+            .sum();
+    }
+
+    private Order buildOrder(User user, Product product, int quantity, Order.OrderStatus status) {
+        Order order = new Order(user, product.getPrice().multiply(BigDecimal.valueOf(quantity)), "测试地址");
+        order.setStatus(status);
+        order.addItem(new OrderItem(order, product, quantity, product.getPrice()));
+        return order;
+    }
+}
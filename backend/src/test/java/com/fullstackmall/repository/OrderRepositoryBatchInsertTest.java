@@ -0,0 +1,107 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量插入语句数测试：号段主键使订单项INSERT可以走JDBC批处理
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class OrderRepositoryBatchInsertTest {
+
+    private static final int LINES = 20;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void insertBatch_TwentyLineOrder_UsesBatchedStatements() {
+        // Given
+        User user = userRepository.findAll().get(0);
+        List<Product> products = productRepository.findAll();
+        // 预先领取号段，使统计只包含订单本身的语句
+        orderRepository.insertBatch(List.of(buildOrder(user, products, 1)));
+
+        // When
+        statistics.clear();
+        Order order = buildOrder(user, products, LINES);
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insertBatch(List.of(order)));
+
+        // Then
+        assertNotNull(order.getId());
+        order.getItems().forEach(item -> assertNotNull(item.getId()));
+        assertEquals(LINES + 1, statistics.getEntityInsertCount());
+        // 订单一条INSERT、订单项一个批次，而不是 LINES + 1 次单行INSERT
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void insertBatch_SeveralOrders_GroupsInsertsByEntity() {
+        // Given
+        User user = userRepository.findAll().get(0);
+        List<Product> products = productRepository.findAll();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orders.add(buildOrder(user, products, 4));
+        }
+        orderRepository.insertBatch(List.of(buildOrder(user, products, 1)));
+
+        // When
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insertBatch(orders));
+
+        // Then
+        assertEquals(5 + 5 * 4, statistics.getEntityInsertCount());
+        // order_inserts 将交错的订单/订单项INSERT按实体排序，各合并为一个批次
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private Order buildOrder(User user, List<Product> products, int lines) {
+        Order order = new Order(user, BigDecimal.ZERO, "测试地址");
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            Product product = products.get(i % products.size());
+            order.addItem(new OrderItem(order, product, 1, product.getPrice()));
+            total = total.add(product.getPrice());
+        }
+        order.setTotalAmount(total);
+        return order;
+    }
+}
@@ -0,0 +1,187 @@
+package com.fullstackmall.repository;
+
+import com.fullstackmall.dto.OrderSearchCriteria;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.service.OrderService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 管理员订单搜索执行计划测试：对搜索实际生成的分页与计数SQL执行 EXPLAIN，
+ * 断言各种条件组合都使用预期的复合索引，没有全表扫描
+ * 使用独立的内存数据库，避免与其他测试上下文共享的数据影响断言
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:order-search;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.fullstackmall.repository.OrderSearchExplainTest$RecordingInspector"
+})
+@ActiveProfiles("test")
+class OrderSearchExplainTest {
+
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    /**
+     * 记录Hibernate生成的SQL（不含参数值）
+     */
+    public static class RecordingInspector implements StatementInspector {
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByUsername("search-user").orElseGet(() ->
+            userRepository.save(new User("search-user", "search@example.com", "password")));
+        if (orderRepository.count() > 0) {
+            return;
+        }
+        User other = userRepository.save(new User("search-other", "search-other@example.com", "password"));
+        Product product = productRepository.save(new Product("搜索商品", "描述", new BigDecimal("5.00"), 1000, "搜索分类"));
+        List<Order> orders = new ArrayList<>();
+        Order.OrderStatus[] statuses = Order.OrderStatus.values();
+        for (int i = 0; i < 200; i++) {
+            Order order = new Order(i % 4 == 0 ? user : other, new BigDecimal(10 + i), (i % 2 == 0 ? "北京市" : "上海市") + "测试路" + i + "号");
+            order.addItem(new OrderItem(order, product, 1, product.getPrice()));
+            order.setStatus(statuses[i % statuses.length]);
+            orders.add(order);
+        }
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insertBatch(orders));
+    }
+
+    @Test
+    void statusOnly_UsesStatusCreatedIndex() {
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setStatus(Order.OrderStatus.PENDING);
+
+        Page<?> page = search(criteria);
+
+        assertTrue(page.getTotalElements() > 0);
+        assertPlans(List.of(criteria.getStatus().name(), criteria.getFrom()), "idx_orders_status_created");
+    }
+
+    @Test
+    void userAndDateRange_UsesUserCreatedIndex() {
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setUserId(user.getId());
+        criteria.setFrom(LocalDateTime.now().minusDays(1));
+        criteria.setTo(LocalDateTime.now().plusDays(1));
+
+        Page<?> page = search(criteria);
+
+        assertEquals(50, page.getTotalElements());
+        assertPlans(List.of(user.getId(), criteria.getFrom(), criteria.getTo()), "idx_orders_user_created");
+    }
+
+    @Test
+    void amountRangeAndAddress_UsesCreatedAmountIndex() {
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setMinAmount(new BigDecimal("50"));
+        criteria.setMaxAmount(new BigDecimal("99"));
+        criteria.setAddress("北京");
+
+        Page<?> page = search(criteria);
+
+        assertEquals(25, page.getTotalElements());
+        assertPlans(List.of(criteria.getFrom(), criteria.getMinAmount(), criteria.getMaxAmount(), "%北京%"),
+            "idx_orders_created_amount");
+    }
+
+    @Test
+    void allFilters_UsesEqualityPrefixedIndex() {
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setUserId(user.getId());
+        criteria.setStatus(Order.OrderStatus.PENDING);
+        criteria.setFrom(LocalDateTime.now().minusDays(1));
+        criteria.setTo(LocalDateTime.now().plusDays(1));
+        criteria.setMinAmount(new BigDecimal("10"));
+        criteria.setMaxAmount(new BigDecimal("500"));
+        criteria.setAddress("北京");
+
+        Page<?> page = search(criteria);
+
+        assertTrue(page.getTotalElements() > 0);
+        assertPlans(List.of(user.getId(), criteria.getStatus().name(), criteria.getFrom(), criteria.getTo(),
+            criteria.getMinAmount(), criteria.getMaxAmount(), "%北京%"), "idx_orders_user_created", "idx_orders_status_created");
+    }
+
+    @Test
+    void invalidRange_Rejected() {
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setMinAmount(new BigDecimal("100"));
+        criteria.setMaxAmount(new BigDecimal("10"));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> search(criteria));
+
+        assertTrue(e.getMessage().contains("查询条件无效"));
+    }
+
+    private Page<?> search(OrderSearchCriteria criteria) {
+        RecordingInspector.STATEMENTS.clear();
+        // 取第一页且结果满页，分页查询之后还会执行计数查询
+        return orderService.searchOrders(criteria, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    /**
+     * 对本次搜索的分页与计数SQL执行 EXPLAIN，按条件顺序绑定参数，分页查询末尾追加页大小参数
+     */
+    private void assertPlans(List<Object> args, String... expectedIndexes) {
+        List<String> queries = RecordingInspector.STATEMENTS.stream()
+            .filter(sql -> sql.startsWith("select") && sql.contains(" from orders ") && !sql.contains(" join "))
+            .toList();
+        assertEquals(2, queries.size(), () -> "期望分页与计数两条查询: " + RecordingInspector.STATEMENTS);
+
+        for (String sql : queries) {
+            List<Object> bound = new ArrayList<>(args);
+            while (bound.size() < sql.chars().filter(c -> c == '?').count()) {
+                bound.add(PAGE_SIZE);
+            }
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, bound.toArray()).toLowerCase();
+            assertFalse(plan.contains("tablescan"), () -> "出现全表扫描: " + plan);
+            assertTrue(List.of(expectedIndexes).stream().anyMatch(plan::contains), () -> "未使用预期索引: " + plan);
+        }
+    }
+}
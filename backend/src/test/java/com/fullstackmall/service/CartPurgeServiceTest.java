@@ -0,0 +1,122 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.entity.Cart;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.CartRepository;
+import com.fullstackmall.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 废弃购物车清理集成测试：按批删除过期购物车，删除前的加锁复核跳过期间被重新使用的购物车
+ * 使用独立的内存数据库，避免与其他测试上下文共享的数据影响断言
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:cart-purge;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "cart.purge.batch-size=2",
+    "cart.purge.pause-ms=0"
+})
+@ActiveProfiles("test")
+class CartPurgeServiceTest {
+
+    @Autowired
+    private CartPurgeService cartPurgeService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM cart_items");
+        jdbcTemplate.update("DELETE FROM carts");
+        sleeps.clear();
+        cartPurgeService.setSleeper(sleeps::add);
+        cartPurgeService.setLatencyProbe(() -> 0);
+    }
+
+    @Test
+    void purgeAbandonedCarts_DeletesOldCartsInChunks() {
+        // Given
+        List<Long> old = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            old.add(createCart("purge-old-" + i, LocalDateTime.now().minusDays(40 + i)));
+        }
+        Long fresh = createCart("purge-fresh", LocalDateTime.now());
+        double batchesBefore = meterRegistry.timer("cart.purge.batch.duration").count();
+
+        // When
+        long deleted = cartPurgeService.purgeAbandonedCarts();
+
+        // Then
+        assertEquals(5, deleted);
+        assertEquals(3, meterRegistry.timer("cart.purge.batch.duration").count() - batchesBefore);
+        old.forEach(id -> assertFalse(cartRepository.existsById(id)));
+        assertTrue(cartRepository.existsById(fresh));
+    }
+
+    @Test
+    void purgeAbandonedCarts_SlowDatabase_BacksOffWithoutSleeping() {
+        // Given
+        createCart("purge-slow", LocalDateTime.now().minusDays(40));
+        AtomicInteger probes = new AtomicInteger();
+        // 前两次探测超过阈值，之后恢复
+        cartPurgeService.setLatencyProbe(() -> probes.incrementAndGet() <= 2 ? 1_000 : 0);
+
+        // When
+        long deleted = cartPurgeService.purgeAbandonedCarts();
+
+        // Then
+        assertEquals(1, deleted);
+        assertEquals(List.of(10L, 20L), sleeps);
+    }
+
+    @Test
+    void deleteChunk_CartTouchedAfterSelection_Survives() {
+        // Given
+        Long untouched = createCart("purge-untouched", LocalDateTime.now().minusDays(40));
+        Long touched = createCart("purge-touched", LocalDateTime.now().minusDays(40));
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+        // 模拟选出之后、删除之前用户重新使用了购物车
+        jdbcTemplate.update("UPDATE carts SET updated_at = ? WHERE id = ?", Timestamp.valueOf(LocalDateTime.now()), touched);
+
+        // When
+        int deleted = cartPurgeService.deleteChunk(List.of(untouched, touched), cutoff);
+
+        // Then
+        assertEquals(1, deleted);
+        assertFalse(cartRepository.existsById(untouched));
+        assertTrue(cartRepository.existsById(touched));
+    }
+
+    private Long createCart(String username, LocalDateTime updatedAt) {
+        User user = userRepository.findByUsername(username).orElseGet(() ->
+            userRepository.save(new User(username, username + "@example.com", "password")));
+        Cart cart = cartRepository.save(new Cart(user));
+        jdbcTemplate.update("UPDATE carts SET updated_at = ? WHERE id = ?", Timestamp.valueOf(updatedAt), cart.getId());
+        return cart.getId();
+    }
+}
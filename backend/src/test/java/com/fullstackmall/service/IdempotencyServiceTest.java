@@ -0,0 +1,234 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.CreateOrderRequest;
+import com.fullstackmall.entity.IdempotencyKey;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private OrderService orderService;
+
+    @InjectMocks
+    private IdempotencyService idempotencyService;
+
+    private Order testOrder;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyService, "transactionTemplate",
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(idempotencyService, "ttlHours", 24L);
+        ReflectionTestUtils.setField(idempotencyService, "maxEntries", 100);
+        ReflectionTestUtils.setField(idempotencyService, "waitTimeoutMs", 5000L);
+
+        testOrder = new Order();
+        testOrder.setId(42L);
+    }
+
+    @Test
+    void execute_FirstRequest_CreatesOrderAndStoresKey() {
+        // Given
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, "key-1")).thenReturn(Optional.empty());
+
+        // When
+        IdempotencyService.Result result = idempotencyService.execute(1L, "key-1", "hash", () -> testOrder);
+
+        // Then
+        assertFalse(result.isReplayed());
+        assertEquals(42L, result.getOrder().getId());
+        verify(idempotencyKeyRepository).saveAndFlush(any(IdempotencyKey.class));
+    }
+
+    @Test
+    void execute_ReplayFromMemory_DoesNotReExecute() {
+        // Given
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, "key-1")).thenReturn(Optional.empty());
+        when(orderService.findById(42L)).thenReturn(Optional.of(testOrder));
+        AtomicInteger executions = new AtomicInteger();
+        idempotencyService.execute(1L, "key-1", "hash", () -> {
+            executions.incrementAndGet();
+            return testOrder;
+        });
+
+        // When
+        IdempotencyService.Result replay = idempotencyService.execute(1L, "key-1", "hash", () -> {
+            executions.incrementAndGet();
+            return testOrder;
+        });
+
+        // Then
+        assertTrue(replay.isReplayed());
+        assertEquals(42L, replay.getOrder().getId());
+        assertEquals(1, executions.get());
+        verify(idempotencyKeyRepository, times(1)).findByUserIdAndIdempotencyKey(1L, "key-1");
+    }
+
+    @Test
+    void execute_Replay_ReturnsSameOrderAndLeavesStockUnchanged() {
+        // Given
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, "key-1")).thenReturn(Optional.empty());
+        when(orderService.findById(42L)).thenReturn(Optional.of(testOrder));
+        AtomicInteger stock = new AtomicInteger(10);
+        AtomicLong nextId = new AtomicLong(42L);
+        Supplier<Order> createOrder = () -> {
+            // 模拟下单：扣减库存并生成新订单
+            stock.addAndGet(-1);
+            Order order = new Order();
+            order.setId(nextId.getAndIncrement());
+            return order;
+        };
+        IdempotencyService.Result first = idempotencyService.execute(1L, "key-1", "hash", createOrder);
+
+        // When
+        IdempotencyService.Result replay = idempotencyService.execute(1L, "key-1", "hash", createOrder);
+
+        // Then
+        assertFalse(first.isReplayed());
+        assertTrue(replay.isReplayed());
+        assertEquals(first.getOrder().getId(), replay.getOrder().getId());
+        assertEquals(9, stock.get());
+    }
+
+    @Test
+    void execute_ReplayFromDatabase_ReturnsOriginalOrder() {
+        // Given
+        IdempotencyKey stored = new IdempotencyKey(1L, "key-1", "hash", 42L, LocalDateTime.now().plusHours(1));
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, "key-1")).thenReturn(Optional.of(stored));
+        when(orderService.findById(42L)).thenReturn(Optional.of(testOrder));
+
+        // When
+        IdempotencyService.Result result = idempotencyService.execute(1L, "key-1", "hash", () -> {
+            throw new AssertionError("should not execute");
+        });
+
+        // Then
+        assertTrue(result.isReplayed());
+        assertEquals(42L, result.getOrder().getId());
+        verify(idempotencyKeyRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void execute_DifferentRequestHash_ThrowsException() {
+        // Given
+        IdempotencyKey stored = new IdempotencyKey(1L, "key-1", "hash", 42L, LocalDateTime.now().plusHours(1));
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, "key-1")).thenReturn(Optional.of(stored));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> idempotencyService.execute(1L, "key-1", "other-hash", () -> testOrder));
+        assertEquals("幂等键已被其他请求使用", exception.getMessage());
+        verify(orderService, never()).findById(anyLong());
+    }
+
+    @Test
+    void execute_FailedRequest_AllowsRetry() {
+        // Given
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, "key-1")).thenReturn(Optional.empty());
+        assertThrows(RuntimeException.class, () -> idempotencyService.execute(1L, "key-1", "hash", () -> {
+            throw new RuntimeException("商品库存不足: Test");
+        }));
+
+        // When
+        IdempotencyService.Result retry = idempotencyService.execute(1L, "key-1", "hash", () -> testOrder);
+
+        // Then
+        assertFalse(retry.isReplayed());
+        assertEquals(42L, retry.getOrder().getId());
+    }
+
+    @Test
+    void execute_ConcurrentDuplicates_ExecuteOnce() throws Exception {
+        // Given
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, "key-1")).thenReturn(Optional.empty());
+        lenient().when(orderService.findById(42L)).thenReturn(Optional.of(testOrder));
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        Future<IdempotencyService.Result> first = executor.submit(() ->
+            idempotencyService.execute(1L, "key-1", "hash", () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                awaitQuietly(release);
+                return testOrder;
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        List<Future<IdempotencyService.Result>> duplicates = List.of(
+            executor.submit(() -> idempotencyService.execute(1L, "key-1", "hash", () -> {
+                executions.incrementAndGet();
+                return testOrder;
+            })),
+            executor.submit(() -> idempotencyService.execute(1L, "key-1", "hash", () -> {
+                executions.incrementAndGet();
+                return testOrder;
+            })));
+        release.countDown();
+
+        // Then
+        assertFalse(first.get(5, TimeUnit.SECONDS).isReplayed());
+        for (Future<IdempotencyService.Result> duplicate : duplicates) {
+            IdempotencyService.Result result = duplicate.get(5, TimeUnit.SECONDS);
+            assertTrue(result.isReplayed());
+            assertEquals(42L, result.getOrder().getId());
+        }
+        assertEquals(1, executions.get());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void hashOf_SameRequest_SameHash() {
+        // Given
+        CreateOrderRequest request = new CreateOrderRequest("Address",
+            List.of(new CreateOrderRequest.OrderItemDto(1L, 2)));
+        CreateOrderRequest same = new CreateOrderRequest("Address",
+            List.of(new CreateOrderRequest.OrderItemDto(1L, 2)));
+        CreateOrderRequest different = new CreateOrderRequest("Address",
+            List.of(new CreateOrderRequest.OrderItemDto(1L, 3)));
+
+        // When & Then
+        assertEquals(IdempotencyService.hashOf(request), IdempotencyService.hashOf(same));
+        assertNotEquals(IdempotencyService.hashOf(request), IdempotencyService.hashOf(different));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
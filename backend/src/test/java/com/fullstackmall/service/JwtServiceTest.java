@@ -160,6 +160,36 @@ class JwtServiceTest {
         assertFalse(isValid);
     }
 
+    @Test
+    void extractPrincipal_AccessToken_BuildsUserFromClaims() {
+        // Given
+        testUser.setRole(User.Role.ADMIN);
+        String token = jwtService.generateToken(testUser);
+
+        // When
+        User principal = jwtService.extractPrincipal(token);
+
+        // Then
+        assertNotNull(principal);
+        assertEquals(1L, principal.getId());
+        assertEquals("testuser", principal.getUsername());
+        assertEquals("test@example.com", principal.getEmail());
+        assertEquals(User.Role.ADMIN, principal.getRole());
+        assertNull(principal.getPassword());
+    }
+
+    @Test
+    void extractPrincipal_RefreshOrInvalidToken_ReturnsNull() {
+        // Given
+        String refreshToken = jwtService.generateRefreshToken(testUser);
+        String tampered = jwtService.generateToken(testUser) + "x";
+
+        // When & Then
+        assertNull(jwtService.extractPrincipal(refreshToken));
+        assertNull(jwtService.extractPrincipal(tampered));
+        assertNull(jwtService.extractPrincipal("not-a-token"));
+    }
+
     @Test
     void isTokenValid_WrongUser_ReturnsFalse() {
         // Given
@@ -0,0 +1,184 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.OrderSearchCriteria;
+import com.fullstackmall.dto.OrderStatistics;
+import com.fullstackmall.dto.OrderSummaryDto;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.OrderRepository;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 订单归档集成测试：过期终态订单迁移到归档表后，订单查询与统计仍能读到
+ * 使用独立的内存数据库，避免与其他测试上下文共享的数据影响分页与计数断言
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:order-archive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class OrderArchiveServiceTest {
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void archiveOrders_OldTerminalOrders_MovedAndStillReadable() {
+        // Given
+        User user = userRepository.save(new User("archive-user", "archive@example.com", "password"));
+        Product product = productRepository.save(
+            new Product("归档商品", "描述", new BigDecimal("15.00"), 10, "归档分类"));
+        Order oldDelivered = order(user, product, Order.OrderStatus.DELIVERED);
+        Order oldPending = order(user, product, Order.OrderStatus.PENDING);
+        Order recentDelivered = order(user, product, Order.OrderStatus.DELIVERED);
+        transactionTemplate.executeWithoutResult(status ->
+            orderRepository.insertBatch(List.of(oldDelivered, oldPending, recentDelivered)));
+        backdate(oldDelivered, 200);
+        backdate(oldPending, 300);
+
+        // When
+        long archived = orderArchiveService.archiveOrders();
+
+        // Then
+        assertEquals(1, archived);
+        assertEquals(0, count("SELECT COUNT(*) FROM orders WHERE id = ?", oldDelivered.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM order_items WHERE order_id = ?", oldDelivered.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM orders_archive WHERE id = ?", oldDelivered.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM order_items_archive WHERE order_id = ?", oldDelivered.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM orders WHERE id = ?", oldPending.getId()));
+
+        OrderSummaryDto summary = orderService.findSummaryById(oldDelivered.getId()).orElseThrow();
+        assertEquals(user.getId(), summary.getUserId());
+        assertTrue(summary.isArchived());
+        assertEquals("归档商品", summary.getItems().get(0).getProduct().getName());
+        assertFalse(orderService.findSummaryById(oldPending.getId()).orElseThrow().isArchived());
+        List<Long> delivered = orderService.findByStatus(Order.OrderStatus.DELIVERED, PageRequest.of(0, 100))
+            .getContent().stream().map(OrderSummaryDto::getId).toList();
+        assertTrue(delivered.containsAll(List.of(oldDelivered.getId(), recentDelivered.getId())));
+        assertFalse(delivered.contains(oldPending.getId()));
+        assertTrue(orderService.findAll(PageRequest.of(0, 100)).getContent().stream()
+            .anyMatch(order -> order.getId().equals(oldDelivered.getId()) && order.isArchived()));
+        assertEquals(3, orderService.countByUserId(user.getId()));
+
+        OrderStatistics report = orderStatisticsService.getReport(366);
+        String archivedDay = LocalDateTime.now().minusDays(200).toLocalDate().toString();
+        assertTrue(report.getByDay().stream().anyMatch(bucket -> bucket.getKey().equals(archivedDay)));
+        assertTrue(report.getByStatus().get(Order.OrderStatus.DELIVERED).getOrderCount() >= 2);
+    }
+
+    @Test
+    void searchOrders_RangeBeforeWatermark_IncludesArchivedOrders() {
+        // Given
+        User user = userRepository.save(new User("archive-search", "archive-search@example.com", "password"));
+        Product product = productRepository.save(
+            new Product("归档搜索商品", "描述", new BigDecimal("15.00"), 10, "归档分类"));
+        Order oldDelivered = order(user, product, Order.OrderStatus.DELIVERED);
+        Order oldPending = order(user, product, Order.OrderStatus.PENDING);
+        Order recentDelivered = order(user, product, Order.OrderStatus.DELIVERED);
+        transactionTemplate.executeWithoutResult(status ->
+            orderRepository.insertBatch(List.of(oldDelivered, oldPending, recentDelivered)));
+        backdate(oldDelivered, 200);
+        backdate(oldPending, 300);
+        orderArchiveService.archiveOrders();
+        OrderSearchCriteria withRange = new OrderSearchCriteria();
+        withRange.setUserId(user.getId());
+        withRange.setFrom(LocalDateTime.now().minusDays(400));
+        OrderSearchCriteria withoutRange = new OrderSearchCriteria();
+        withoutRange.setUserId(user.getId());
+
+        // When
+        Page<OrderSummaryDto> first = orderService.searchOrders(withRange, PageRequest.of(0, 2));
+        Page<OrderSummaryDto> second = orderService.searchOrders(withRange, PageRequest.of(1, 2));
+        Page<OrderSummaryDto> recent = orderService.searchOrders(withoutRange, PageRequest.of(0, 2));
+
+        // Then
+        assertEquals(3, first.getTotalElements());
+        assertEquals(List.of(recentDelivered.getId(), oldDelivered.getId()),
+            first.getContent().stream().map(OrderSummaryDto::getId).toList());
+        assertTrue(first.getContent().get(1).isArchived());
+        assertEquals(List.of(oldPending.getId()), second.getContent().stream().map(OrderSummaryDto::getId).toList());
+        // 未指定时间范围时只搜索默认天数，实际起始时间回写到搜索条件
+        assertEquals(List.of(recentDelivered.getId()), recent.getContent().stream().map(OrderSummaryDto::getId).toList());
+        assertEquals(LocalDateTime.now().minusDays(90).toLocalDate(), withoutRange.getFrom().toLocalDate());
+    }
+
+    @Test
+    void spansArchive_ArchivedByOtherNode_VisibleAfterCacheTtl() {
+        // Given
+        User user = userRepository.save(new User("archive-node", "archive-node@example.com", "password"));
+        LocalDateTime since = LocalDateTime.now().minusDays(2);
+        assertFalse(orderArchiveService.spansArchive(since));
+        // 其他节点归档了一个订单，本节点的缓存不会被清除
+        jdbcTemplate.update("INSERT INTO orders_archive (id, user_id, total_amount, status, shipping_address, created_at, updated_at, archived_at) " +
+            "VALUES (?, ?, 9.00, 'DELIVERED', '归档地址', ?, ?, ?)", 990_001L, user.getId(),
+            Timestamp.valueOf(LocalDateTime.now().minusDays(1)), Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(LocalDateTime.now()));
+
+        try {
+            // When
+            boolean cached = orderArchiveService.spansArchive(since);
+            ReflectionTestUtils.setField(orderArchiveService, "cacheTtlSeconds", 0L);
+            boolean refreshed = orderArchiveService.spansArchive(since);
+
+            // Then
+            assertFalse(cached);
+            assertTrue(refreshed);
+        } finally {
+            jdbcTemplate.update("DELETE FROM orders_archive WHERE id = ?", 990_001L);
+            orderArchiveService.spansArchive(since);
+            ReflectionTestUtils.setField(orderArchiveService, "cacheTtlSeconds", 300L);
+        }
+    }
+
+    private Order order(User user, Product product, Order.OrderStatus status) {
+        Order order = new Order(user, new BigDecimal("15.00"), "归档地址");
+        order.addItem(new OrderItem(order, product, 1, product.getPrice()));
+        order.setStatus(status);
+        return order;
+    }
+
+    private void backdate(Order order, int days) {
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?",
+            Timestamp.valueOf(LocalDateTime.now().minusDays(days)), order.getId());
+    }
+
+    private long count(String sql, Long id) {
+        return jdbcTemplate.queryForObject(sql, Long.class, id);
+    }
+}
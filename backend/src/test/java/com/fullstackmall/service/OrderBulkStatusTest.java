@@ -0,0 +1,105 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.BulkStatusUpdateResult;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.OrderRepository;
+import com.fullstackmall.repository.OutboxEventRepository;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量更新订单状态集成测试：按原状态分组条件更新，逐个返回结果，取消时批量恢复库存
+ * 使用独立的内存数据库，并把批次大小设为2以覆盖跨批次处理
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:order-bulk-status;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "order.bulk-status.chunk-size=2"
+})
+@ActiveProfiles("test")
+class OrderBulkStatusTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void bulkUpdateStatus_Cancel_ReportsPerOrderOutcomes() {
+        // Given
+        User user = userRepository.save(new User("bulk-user", "bulk@example.com", "password"));
+        Product product = productRepository.save(
+            new Product("批量商品", "描述", new BigDecimal("5.00"), 10, "批量分类"));
+        Order pending = order(user, product, 1, Order.OrderStatus.PENDING);
+        Order confirmed = order(user, product, 2, Order.OrderStatus.CONFIRMED);
+        Order shipped = order(user, product, 4, Order.OrderStatus.SHIPPED);
+        Order cancelled = order(user, product, 8, Order.OrderStatus.CANCELLED);
+        transactionTemplate.executeWithoutResult(status ->
+            orderRepository.insertBatch(List.of(pending, confirmed, shipped, cancelled)));
+        long missingId = 42L;
+
+        // When
+        BulkStatusUpdateResult result = orderService.bulkUpdateStatus(
+            List.of(shipped.getId(), pending.getId(), missingId, confirmed.getId(), cancelled.getId(), pending.getId()),
+            Order.OrderStatus.CANCELLED);
+
+        // Then
+        assertEquals(2, result.getUpdated());
+        assertEquals(3, result.getSkipped());
+        List<BulkStatusUpdateResult.Item> items = result.getResults();
+        assertEquals(List.of(shipped.getId(), pending.getId(), missingId, confirmed.getId(), cancelled.getId()),
+            items.stream().map(BulkStatusUpdateResult.Item::getOrderId).toList());
+        assertEquals(List.of(BulkStatusUpdateResult.Outcome.INVALID_TRANSITION, BulkStatusUpdateResult.Outcome.UPDATED,
+                BulkStatusUpdateResult.Outcome.NOT_FOUND, BulkStatusUpdateResult.Outcome.UPDATED,
+                BulkStatusUpdateResult.Outcome.UNCHANGED),
+            items.stream().map(BulkStatusUpdateResult.Item::getOutcome).toList());
+        assertEquals(Order.OrderStatus.CONFIRMED, items.get(3).getPreviousStatus());
+
+        assertEquals("CANCELLED", status(pending));
+        assertEquals("CANCELLED", status(confirmed));
+        assertEquals("SHIPPED", status(shipped));
+        assertEquals(13, jdbcTemplate.queryForObject(
+            "SELECT stock FROM products WHERE id = ?", Integer.class, product.getId()));
+        assertEquals(2, outboxEventRepository.count());
+    }
+
+    private Order order(User user, Product product, int quantity, Order.OrderStatus status) {
+        Order order = new Order(user, product.getPrice().multiply(BigDecimal.valueOf(quantity)), "批量地址");
+        order.addItem(new OrderItem(order, product, quantity, product.getPrice()));
+        order.setStatus(status);
+        return order;
+    }
+
+    private String status(Order order) {
+        return jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = ?", String.class, order.getId());
+    }
+}
@@ -0,0 +1,111 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.AddToCartRequest;
+import com.fullstackmall.dto.CheckoutRequest;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.OrderRepository;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 购物车结算集成测试：一次加载购物车与商品，批量扣减库存并清空购物车；
+ * 任一商品在写入时锁定的库存不足时整个结算回滚
+ * 使用独立的内存数据库，避免与其他测试上下文共享的数据影响断言
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:order-checkout;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class OrderCheckoutTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void checkout_CreatesOrderDecrementsStockAndEmptiesCart() {
+        // Given
+        User user = userRepository.save(new User("checkout-user", "checkout@example.com", "password"));
+        Product first = productRepository.save(new Product("结算商品A", "描述", new BigDecimal("10.00"), 10, "结算分类"));
+        Product second = productRepository.save(new Product("结算商品B", "描述", new BigDecimal("2.50"), 10, "结算分类"));
+        cartService.addToCart(user, new AddToCartRequest(first.getId(), 2));
+        cartService.addToCart(user, new AddToCartRequest(second.getId(), 4));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        Order order = orderService.checkout(user, new CheckoutRequest("结算地址"));
+
+        // Then
+        // 购物车、商品项和商品由一条抓取连接查询加载，没有逐项延迟加载
+        assertEquals(0, statistics.getEntityFetchCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+        assertNotNull(order.getId());
+        assertEquals(2, order.getItems().size());
+        assertEquals(0, new BigDecimal("30.00").compareTo(order.getTotalAmount()));
+        assertEquals(8, productRepository.findById(first.getId()).orElseThrow().getStock());
+        assertEquals(6, productRepository.findById(second.getId()).orElseThrow().getStock());
+        assertTrue(cartService.getCartItems(user).isEmpty());
+    }
+
+    @Test
+    void checkout_ShortStockLine_RollsBackWholeCheckout() {
+        // Given
+        User user = userRepository.save(new User("checkout-short", "checkout-short@example.com", "password"));
+        Product plenty = productRepository.save(new Product("结算商品C", "描述", new BigDecimal("5.00"), 10, "结算分类"));
+        Product scarce = productRepository.save(new Product("结算商品D", "描述", new BigDecimal("7.00"), 10, "结算分类"));
+        cartService.addToCart(user, new AddToCartRequest(plenty.getId(), 3));
+        cartService.addToCart(user, new AddToCartRequest(scarce.getId(), 5));
+        long ordersBefore = orderRepository.count();
+
+        // When
+        RuntimeException e = assertThrows(RuntimeException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            // 先加载购物车使商品库存快照通过预检查，再在数据库中减少库存，使写入时锁定的库存校验失败
+            cartService.findCartWithItems(user).orElseThrow();
+            jdbcTemplate.update("UPDATE products SET stock = 2 WHERE id = ?", scarce.getId());
+            orderService.checkout(user, new CheckoutRequest("结算地址"));
+        }));
+
+        // Then
+        assertTrue(e.getMessage().contains("商品库存不足: 结算商品D"));
+        assertEquals(ordersBefore, orderRepository.count());
+        assertEquals(10, productRepository.findById(plenty.getId()).orElseThrow().getStock());
+        assertEquals(2, cartService.getCartItems(user).size());
+    }
+}
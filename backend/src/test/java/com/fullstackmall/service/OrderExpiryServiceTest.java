@@ -0,0 +1,101 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.OrderRepository;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 超时订单自动取消集成测试：只取消仍为待处理且已超时的订单，并批量恢复库存
+ * 使用独立的内存数据库，避免与其他测试上下文共享的数据影响计数断言
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:order-expiry;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class OrderExpiryServiceTest {
+
+    @Autowired
+    private OrderExpiryService orderExpiryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void cancelExpired_ExpiredPendingOrders_CancelledAndStockRestored() {
+        // Given
+        User user = userRepository.save(new User("expiry-user", "expiry@example.com", "password"));
+        Product product = productRepository.save(
+            new Product("超时商品", "描述", new BigDecimal("10.00"), 5, "超时分类"));
+        Order expired1 = order(user, product, 2, Order.OrderStatus.PENDING);
+        Order expired2 = order(user, product, 3, Order.OrderStatus.PENDING);
+        Order fresh = order(user, product, 1, Order.OrderStatus.PENDING);
+        Order confirmed = order(user, product, 4, Order.OrderStatus.CONFIRMED);
+        transactionTemplate.executeWithoutResult(status ->
+            orderRepository.insertBatch(List.of(expired1, expired2, fresh, confirmed)));
+        backdate(expired1, 31);
+        backdate(expired2, 45);
+        backdate(confirmed, 60);
+
+        // When
+        long loaded = orderExpiryService.rebuild();
+        int cancelled = orderExpiryService.cancelExpired(
+            List.of(expired1.getId(), expired2.getId(), fresh.getId(), confirmed.getId()));
+
+        // Then
+        assertEquals(3, loaded);
+        assertEquals(2, cancelled);
+        assertEquals("CANCELLED", status(expired1));
+        assertEquals("CANCELLED", status(expired2));
+        assertEquals("PENDING", status(fresh));
+        assertEquals("CONFIRMED", status(confirmed));
+        assertEquals(10, productRepository.findById(product.getId()).orElseThrow().getStock());
+
+        // 重复处理同一批订单不会再次恢复库存
+        assertEquals(0, orderExpiryService.cancelExpired(List.of(expired1.getId(), expired2.getId())));
+        assertEquals(10, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    private Order order(User user, Product product, int quantity, Order.OrderStatus status) {
+        BigDecimal total = product.getPrice().multiply(BigDecimal.valueOf(quantity));
+        Order order = new Order(user, total, "超时地址");
+        order.addItem(new OrderItem(order, product, quantity, product.getPrice()));
+        order.setStatus(status);
+        return order;
+    }
+
+    private void backdate(Order order, int minutes) {
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?",
+            Timestamp.valueOf(LocalDateTime.now().minusMinutes(minutes)), order.getId());
+    }
+
+    private String status(Order order) {
+        return jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = ?", String.class, order.getId());
+    }
+}
@@ -0,0 +1,112 @@
+package com.fullstackmall.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.OrderRepository;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 订单流式导出测试
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderExportServiceTest {
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void export_CsvAndNdjson_WritesOneRowPerMatchingOrder() throws Exception {
+        // Given
+        User user = userRepository.findAll().get(0);
+        Product product = productRepository.findAll().get(0);
+        Order quoted = new Order(user, new BigDecimal("12.30"), "北京市,朝阳区 \"A座\"");
+        quoted.addItem(new OrderItem(quoted, product, 1, product.getPrice()));
+        quoted.setStatus(Order.OrderStatus.SHIPPED);
+        Order other = new Order(user, new BigDecimal("5.00"), "上海市");
+        other.addItem(new OrderItem(other, product, 1, product.getPrice()));
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insertBatch(List.of(quoted, other)));
+        LocalDateTime from = LocalDateTime.now().minusMinutes(1);
+
+        // When
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        long csvRows = orderExportService.export(from, null, Order.OrderStatus.SHIPPED,
+            OrderExportService.Format.CSV, csv);
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long jsonRows = orderExportService.export(from, null, null, OrderExportService.Format.NDJSON, ndjson);
+
+        // Then
+        String[] csvLines = csv.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(csvRows + 1, csvLines.length);
+        assertTrue(csvLines[0].startsWith("\uFEFFid,userId,username,status"));
+        assertTrue(List.of(csvLines).stream().anyMatch(line -> line.startsWith(quoted.getId() + ",")
+            && line.contains(",SHIPPED,12.30,\"北京市,朝阳区 \"\"A座\"\"\",")));
+        assertTrue(List.of(csvLines).stream().noneMatch(line -> line.startsWith(other.getId() + ",")));
+
+        String[] jsonLines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(jsonRows, jsonLines.length);
+        assertTrue(jsonRows >= 2);
+        JsonNode last = objectMapper.readTree(jsonLines[jsonLines.length - 1]);
+        assertTrue(last.get("id").isTextual());
+        assertFalse(last.get("archived").asBoolean());
+    }
+
+    @Test
+    void export_Csv_NeutralizesFormulaValues() throws Exception {
+        // Given
+        User user = userRepository.findAll().get(0);
+        Product product = productRepository.findAll().get(0);
+        Order formula = new Order(user, new BigDecimal("1.00"), "=HYPERLINK(\"http://example.com\",\"点击\")");
+        formula.addItem(new OrderItem(formula, product, 1, product.getPrice()));
+        formula.setStatus(Order.OrderStatus.DELIVERED);
+        Order plusSign = new Order(user, new BigDecimal("2.00"), "+86 上海市");
+        plusSign.addItem(new OrderItem(plusSign, product, 1, product.getPrice()));
+        plusSign.setStatus(Order.OrderStatus.DELIVERED);
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insertBatch(List.of(formula, plusSign)));
+
+        // When
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        orderExportService.export(LocalDateTime.now().minusMinutes(1), null, Order.OrderStatus.DELIVERED,
+            OrderExportService.Format.CSV, csv);
+
+        // Then
+        List<String> lines = List.of(csv.toString(StandardCharsets.UTF_8).split("\r\n"));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith(formula.getId() + ",")
+            && line.contains(",\"'=HYPERLINK(\"\"http://example.com\"\",\"\"点击\"\")\",")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith(plusSign.getId() + ",")
+            && line.contains(",'+86 上海市,")));
+    }
+}
@@ -0,0 +1,204 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.CreateOrderRequest;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderGroupCommitterTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private OrderStatisticsService orderStatisticsService;
+
+    @Mock
+    private OrderExpiryService orderExpiryService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private UserOrderStatsService userOrderStatsService;
+
+    @InjectMocks
+    private OrderWriter orderWriter;
+
+    @InjectMocks
+    private OrderGroupCommitter orderGroupCommitter;
+
+    private User testUser;
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderGroupCommitter, "orderWriter", orderWriter);
+        ReflectionTestUtils.setField(orderGroupCommitter, "transactionTemplate",
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(orderGroupCommitter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(orderGroupCommitter, "enabled", true);
+        ReflectionTestUtils.setField(orderGroupCommitter, "committerCount", 0);
+        ReflectionTestUtils.setField(orderGroupCommitter, "maxBatchSize", 64);
+        orderGroupCommitter.start();
+
+        testUser = new User();
+        testUser.setId(1L);
+        testProduct = new Product("测试商品", "描述", new BigDecimal("10.00"), 5, "电子产品");
+        testProduct.setId(1L);
+        lenient().when(productService.findAllById(any())).thenReturn(List.of(testProduct));
+    }
+
+    @Test
+    void commitGroup_StockForOnlyOneOrder_RejectsTheOther() throws Exception {
+        // Given
+        when(productService.findStockForUpdate(any())).thenReturn(new HashMap<>(Map.of(1L, 5)));
+        when(productService.decreaseStockBatch(any())).thenReturn(List.of());
+        CompletableFuture<Order> first = orderGroupCommitter.submit(testUser, request(3));
+        CompletableFuture<Order> second = orderGroupCommitter.submit(testUser, request(3));
+
+        // When
+        commitQueued();
+
+        // Then
+        Order order = first.get();
+        assertEquals(new BigDecimal("30.00"), order.getTotalAmount());
+        ExecutionException e = assertThrows(ExecutionException.class, second::get);
+        assertEquals("商品库存不足: 测试商品", e.getCause().getMessage());
+
+        ArgumentCaptor<List<Order>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(orderRepository).insertBatch(inserted.capture());
+        assertEquals(List.of(order), inserted.getValue());
+        verify(productService).decreaseStockBatch(Map.of(1L, 3));
+        verify(cartService).clearCarts(Set.of(1L));
+        verify(orderStatisticsService).recordCreated(order);
+        verifyNoMoreInteractions(orderStatisticsService);
+    }
+
+    @Test
+    void commitGroup_SeveralOrders_OneTransactionOneInsertBatch() throws Exception {
+        // Given
+        when(productService.findStockForUpdate(any())).thenReturn(new HashMap<>(Map.of(1L, 5)));
+        when(productService.decreaseStockBatch(any())).thenReturn(List.of());
+        List<CompletableFuture<Order>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(orderGroupCommitter.submit(testUser, request(1)));
+        }
+
+        // When
+        commitQueued();
+
+        // Then
+        for (CompletableFuture<Order> future : futures) {
+            assertNotNull(future.get());
+        }
+        verify(productService, times(1)).findStockForUpdate(any());
+        verify(productService).decreaseStockBatch(Map.of(1L, 5));
+        verify(orderRepository, times(1)).insertBatch(argThat(orders -> orders.size() == 5));
+    }
+
+    @Test
+    void commitGroup_TransactionFails_RetriesEachOrderAlone() throws Exception {
+        // Given
+        when(productService.findStockForUpdate(any())).thenReturn(new HashMap<>(Map.of(1L, 5)));
+        when(productService.decreaseStockBatch(any())).thenReturn(List.of());
+        doThrow(new RuntimeException("Deadlock found"))
+            .doNothing()
+            .doThrow(new RuntimeException("数据截断"))
+            .when(orderRepository).insertBatch(anyList());
+        CompletableFuture<Order> first = orderGroupCommitter.submit(testUser, request(1));
+        CompletableFuture<Order> second = orderGroupCommitter.submit(testUser, request(1));
+
+        // When
+        commitQueued();
+
+        // Then
+        assertNotNull(first.get());
+        ExecutionException e = assertThrows(ExecutionException.class, second::get);
+        assertEquals("数据截断", e.getCause().getMessage());
+        verify(orderRepository, times(3)).insertBatch(anyList());
+    }
+
+    @Test
+    void submit_ProductNotFound_FailsImmediately() {
+        // Given
+        when(productService.findAllById(any())).thenReturn(List.of());
+
+        // When
+        CompletableFuture<Order> future = orderGroupCommitter.submit(testUser, request(1));
+
+        // Then
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertEquals("商品不存在: 1", e.getCause().getMessage());
+        assertEquals(0, queue().size());
+    }
+
+    @Test
+    void createOrder_Disabled_DelegatesToOrderService() {
+        // Given
+        ReflectionTestUtils.setField(orderGroupCommitter, "enabled", false);
+        CreateOrderRequest request = request(1);
+        Order order = new Order();
+        when(orderService.createOrder(testUser, request)).thenReturn(order);
+
+        // When
+        Order result = orderGroupCommitter.createOrder(testUser, request);
+
+        // Then
+        assertSame(order, result);
+        verifyNoInteractions(orderRepository);
+    }
+
+    private void commitQueued() {
+        List<Object> group = new ArrayList<>();
+        queue().drainTo(group);
+        ReflectionTestUtils.invokeMethod(orderGroupCommitter, "commitGroup", group);
+    }
+
+    @SuppressWarnings("unchecked")
+    private BlockingQueue<Object> queue() {
+        return (BlockingQueue<Object>) ReflectionTestUtils.getField(orderGroupCommitter, "queue");
+    }
+
+    private CreateOrderRequest request(int quantity) {
+        return new CreateOrderRequest("测试地址",
+            List.of(new CreateOrderRequest.OrderItemDto(testProduct.getId(), quantity)));
+    }
+}
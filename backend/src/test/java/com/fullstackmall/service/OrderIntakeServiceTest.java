@@ -0,0 +1,146 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.CreateOrderRequest;
+import com.fullstackmall.dto.OrderIntakeStatus;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeServiceTest {
+
+    @Mock
+    private OrderGroupCommitter orderGroupCommitter;
+
+    @InjectMocks
+    private OrderIntakeService orderIntakeService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(orderIntakeService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(orderIntakeService, "queueCapacity", 2);
+        ReflectionTestUtils.setField(orderIntakeService, "workerCount", 0);
+        ReflectionTestUtils.setField(orderIntakeService, "maxBatchSize", 16);
+        ReflectionTestUtils.setField(orderIntakeService, "resultTtlMinutes", 30L);
+
+        testUser = new User();
+        testUser.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderIntakeService.stop();
+    }
+
+    @Test
+    void submit_QueueFull_RejectsRequest() {
+        // Given
+        orderIntakeService.start();
+        orderIntakeService.submit(testUser, request("地址1"));
+        orderIntakeService.submit(testUser, request("地址2"));
+
+        // When
+        Optional<OrderIntakeStatus> rejected = orderIntakeService.submit(testUser, request("地址3"));
+
+        // Then
+        assertTrue(rejected.isEmpty());
+        assertEquals(2, orderIntakeService.getQueueDepth());
+        assertEquals(2.0, meterRegistry.get("orders.intake.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("orders.intake.rejected").counter().count());
+    }
+
+    @Test
+    void submit_WorkerCreatesOrder_CompletesTicket() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(orderIntakeService, "workerCount", 1);
+        orderIntakeService.start();
+        CreateOrderRequest request = request("地址1");
+        when(orderGroupCommitter.submit(testUser, request)).thenReturn(CompletableFuture.completedFuture(order(42L)));
+
+        // When
+        OrderIntakeStatus accepted = orderIntakeService.submit(testUser, request).orElseThrow();
+        OrderIntakeStatus result = orderIntakeService.subscribe(testUser, accepted.getToken()).orElseThrow()
+            .get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(OrderIntakeStatus.Status.COMPLETED, result.getStatus());
+        assertEquals(42L, result.getOrderId());
+        assertEquals(OrderIntakeStatus.Status.COMPLETED,
+            orderIntakeService.getStatus(testUser, accepted.getToken()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void processBatch_OneOrderFails_OthersStillComplete() throws Exception {
+        // Given
+        orderIntakeService.start();
+        CreateOrderRequest good = request("地址1");
+        CreateOrderRequest bad = request("地址2");
+        when(orderGroupCommitter.submit(testUser, good)).thenReturn(CompletableFuture.completedFuture(order(42L)));
+        when(orderGroupCommitter.submit(testUser, bad))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("商品库存不足: 测试商品")));
+        String goodToken = orderIntakeService.submit(testUser, good).orElseThrow().getToken();
+        String badToken = orderIntakeService.submit(testUser, bad).orElseThrow().getToken();
+
+        // When
+        Thread worker = new Thread(() -> ReflectionTestUtils.invokeMethod(orderIntakeService, "workLoop"));
+        worker.setDaemon(true);
+        worker.start();
+        OrderIntakeStatus goodResult = orderIntakeService.subscribe(testUser, goodToken).orElseThrow()
+            .get(5, TimeUnit.SECONDS);
+        OrderIntakeStatus badResult = orderIntakeService.subscribe(testUser, badToken).orElseThrow()
+            .get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(OrderIntakeStatus.Status.COMPLETED, goodResult.getStatus());
+        assertEquals(42L, goodResult.getOrderId());
+        assertEquals(OrderIntakeStatus.Status.FAILED, badResult.getStatus());
+        assertEquals("商品库存不足: 测试商品", badResult.getErrorMessage());
+    }
+
+    @Test
+    void getStatus_OtherUser_ReturnsEmpty() {
+        // Given
+        orderIntakeService.start();
+        String token = orderIntakeService.submit(testUser, request("地址1")).orElseThrow().getToken();
+        User otherUser = new User();
+        otherUser.setId(2L);
+
+        // When & Then
+        assertTrue(orderIntakeService.getStatus(otherUser, token).isEmpty());
+        assertTrue(orderIntakeService.subscribe(otherUser, token).isEmpty());
+        assertTrue(orderIntakeService.getStatus(testUser, "unknown").isEmpty());
+    }
+
+    private CreateOrderRequest request(String shippingAddress) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setShippingAddress(shippingAddress);
+        request.setItems(List.of());
+        return request;
+    }
+
+    private Order order(Long id) {
+        Order order = new Order();
+        order.setId(id);
+        return order;
+    }
+}
@@ -0,0 +1,92 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.AddToCartRequest;
+import com.fullstackmall.dto.CreateOrderRequest;
+import com.fullstackmall.dto.ReorderResult;
+import com.fullstackmall.entity.CartItem;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 再次购买集成测试：可购买的商品批量加入购物车并与已有数量累加，库存不足的商品返回原因
+ * 使用独立的内存数据库，避免与其他测试上下文共享的数据影响断言
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:order-reorder;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class OrderReorderTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void reorder_MergesIntoCartAndSkipsInsufficientStock() {
+        // Given
+        User user = userRepository.save(new User("reorder-user", "reorder@example.com", "password"));
+        Product inCart = productRepository.save(new Product("再次购买商品A", "描述", new BigDecimal("10.00"), 20, "再次购买分类"));
+        Product fresh = productRepository.save(new Product("再次购买商品B", "描述", new BigDecimal("5.00"), 20, "再次购买分类"));
+        Product scarce = productRepository.save(new Product("再次购买商品C", "描述", new BigDecimal("8.00"), 20, "再次购买分类"));
+        Order order = orderService.createOrder(user, new CreateOrderRequest("再次购买地址", List.of(
+            new CreateOrderRequest.OrderItemDto(inCart.getId(), 2),
+            new CreateOrderRequest.OrderItemDto(fresh.getId(), 3),
+            new CreateOrderRequest.OrderItemDto(scarce.getId(), 4))));
+        cartService.addToCart(user, new AddToCartRequest(inCart.getId(), 1));
+        scarce.setStock(3);
+        productRepository.save(scarce);
+
+        // When
+        ReorderResult result = orderService.reorder(user, order.getId());
+
+        // Then
+        assertEquals(2, result.getAddedItems());
+        assertEquals(5, result.getAddedQuantity());
+        assertEquals(1, result.getSkipped().size());
+        ReorderResult.Skipped skipped = result.getSkipped().get(0);
+        assertEquals(scarce.getId(), skipped.getProductId());
+        assertEquals(4, skipped.getQuantity());
+        assertEquals(ReorderResult.Reason.INSUFFICIENT_STOCK, skipped.getReason());
+
+        Map<Long, Integer> quantities = cartService.getCartItems(user).stream()
+            .collect(Collectors.toMap(item -> item.getProduct().getId(), CartItem::getQuantity));
+        assertEquals(Map.of(inCart.getId(), 3, fresh.getId(), 3), quantities);
+    }
+
+    @Test
+    void reorder_OtherUsersOrder_NotFound() {
+        // Given
+        User owner = userRepository.save(new User("reorder-owner", "reorder-owner@example.com", "password"));
+        User other = userRepository.save(new User("reorder-other", "reorder-other@example.com", "password"));
+        Product product = productRepository.save(new Product("再次购买商品D", "描述", new BigDecimal("6.00"), 20, "再次购买分类"));
+        Order order = orderService.createOrder(owner, new CreateOrderRequest("再次购买地址",
+            List.of(new CreateOrderRequest.OrderItemDto(product.getId(), 1))));
+
+        // When
+        RuntimeException e = assertThrows(RuntimeException.class, () -> orderService.reorder(other, order.getId()));
+
+        // Then
+        assertTrue(e.getMessage().contains("订单不存在"));
+        assertTrue(cartService.getCartItems(other).isEmpty());
+    }
+}
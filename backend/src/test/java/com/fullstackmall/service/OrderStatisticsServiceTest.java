@@ -0,0 +1,117 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.OrderStatistics;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.repository.ArchivedOrderRepository;
+import com.fullstackmall.repository.OrderItemRepository;
+import com.fullstackmall.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatisticsServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Mock
+    private OrderArchiveService orderArchiveService;
+
+    @Mock
+    private SalesTelemetryService salesTelemetryService;
+
+    @InjectMocks
+    private OrderStatisticsService orderStatisticsService;
+
+    @Test
+    void getSummary_AfterReconcileAndEvents_ReadsCountersWithoutQuerying() {
+        // Given
+        when(orderRepository.aggregateByStatus()).thenReturn(List.of(
+            new Object[]{Order.OrderStatus.PENDING, 3L, new BigDecimal("300.00")},
+            new Object[]{Order.OrderStatus.CANCELLED, 1L, new BigDecimal("50.00")}));
+        orderStatisticsService.reconcile();
+
+        // When
+        orderStatisticsService.recordCreated(order(new BigDecimal("20.50"), Order.OrderStatus.PENDING));
+        orderStatisticsService.recordBulkStatusChange(Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED,
+            1, 10000, Map.of());
+        OrderStatistics summary = orderStatisticsService.getSummary();
+
+        // Then
+        assertEquals(5, summary.getTotalOrders());
+        assertEquals(new BigDecimal("220.50"), summary.getTotalRevenue());
+        assertEquals(3, summary.getByStatus().get(Order.OrderStatus.PENDING).getOrderCount());
+        assertEquals(2, summary.getByStatus().get(Order.OrderStatus.CANCELLED).getOrderCount());
+        assertEquals(new BigDecimal("150.00"), summary.getByStatus().get(Order.OrderStatus.CANCELLED).getRevenue());
+        assertEquals(0, summary.getByStatus().get(Order.OrderStatus.SHIPPED).getOrderCount());
+        verify(orderRepository, times(1)).aggregateByStatus();
+        verify(salesTelemetryService).recordSale(2050, Map.of());
+        verify(salesTelemetryService).recordCancellations(1, 10000, Map.of());
+    }
+
+    @Test
+    void recordCreated_InsideTransaction_AppliesOnlyAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            orderStatisticsService.recordCreated(order(new BigDecimal("10.00"), Order.OrderStatus.PENDING));
+
+            // Then
+            assertEquals(0, orderStatisticsService.getSummary().getTotalOrders());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, orderStatisticsService.getSummary().getTotalOrders());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getReport_MapsAggregateRows() {
+        // Given
+        when(orderRepository.aggregateByStatus()).thenReturn(List.<Object[]>of(
+            new Object[]{Order.OrderStatus.DELIVERED, 2L, new BigDecimal("80.00")}));
+        when(orderRepository.aggregateByDay(any(), eq(Order.OrderStatus.CANCELLED))).thenReturn(List.<Object[]>of(
+            new Object[]{LocalDate.of(2026, 10, 1), 2L, new BigDecimal("80.00")}));
+        when(orderItemRepository.aggregateByCategory(any(), eq(Order.OrderStatus.CANCELLED))).thenReturn(List.<Object[]>of(
+            new Object[]{"电子产品", 2L, 5L, new BigDecimal("80.00")}));
+
+        // When
+        OrderStatistics report = orderStatisticsService.getReport(7);
+
+        // Then
+        assertEquals(2, report.getTotalOrders());
+        assertEquals(new BigDecimal("80.00"), report.getTotalRevenue());
+        assertEquals("2026-10-01", report.getByDay().get(0).getKey());
+        OrderStatistics.Bucket category = report.getByCategory().get(0);
+        assertEquals("电子产品", category.getKey());
+        assertEquals(5L, category.getQuantity());
+        assertEquals(new BigDecimal("80.00"), category.getRevenue());
+    }
+
+    private Order order(BigDecimal totalAmount, Order.OrderStatus status) {
+        Order order = new Order(null, totalAmount, "测试地址");
+        order.setStatus(status);
+        return order;
+    }
+}
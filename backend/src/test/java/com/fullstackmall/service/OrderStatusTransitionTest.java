@@ -0,0 +1,141 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.OrderRepository;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 订单状态转换集成测试：按状态转换表校验，条件更新保证并发取消只恢复一次库存
+ * 使用独立的内存数据库，避免与其他测试上下文共享的数据影响断言
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:order-transition;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class OrderStatusTransitionTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void transitionTable_AllowsOnlyForwardSteps() {
+        assertTrue(Order.OrderStatus.PENDING.canTransitionTo(Order.OrderStatus.CONFIRMED));
+        assertTrue(Order.OrderStatus.CONFIRMED.canTransitionTo(Order.OrderStatus.CANCELLED));
+        assertFalse(Order.OrderStatus.SHIPPED.canTransitionTo(Order.OrderStatus.CANCELLED));
+        assertFalse(Order.OrderStatus.CANCELLED.canTransitionTo(Order.OrderStatus.PENDING));
+    }
+
+    @Test
+    void updateOrderStatus_ValidAndInvalidTransitions() {
+        // Given
+        User user = userRepository.save(new User("transition-user", "transition@example.com", "password"));
+        Product product = productRepository.save(
+            new Product("状态商品", "描述", new BigDecimal("8.00"), 5, "状态分类"));
+        Order order = order(user, product, 2);
+
+        // When
+        orderService.updateOrderStatus(order.getId(), Order.OrderStatus.CONFIRMED);
+        RuntimeException skipped = assertThrows(RuntimeException.class,
+            () -> orderService.updateOrderStatus(order.getId(), Order.OrderStatus.DELIVERED));
+        orderService.updateOrderStatus(order.getId(), Order.OrderStatus.SHIPPED);
+        RuntimeException lateCancel = assertThrows(RuntimeException.class,
+            () -> orderService.updateOrderStatus(order.getId(), Order.OrderStatus.CANCELLED));
+
+        // Then
+        assertTrue(skipped.getMessage().contains("订单状态不允许"));
+        assertTrue(lateCancel.getMessage().contains("订单状态不允许"));
+        assertEquals("SHIPPED", status(order));
+        assertEquals(5, stock(product));
+    }
+
+    @Test
+    void cancel_ConcurrentAdminAndUser_RestoresStockOnce() throws Exception {
+        // Given
+        User user = userRepository.save(new User("cancel-user", "cancel@example.com", "password"));
+        User other = userRepository.save(new User("other-user", "other@example.com", "password"));
+        Product product = productRepository.save(
+            new Product("取消商品", "描述", new BigDecimal("6.00"), 5, "取消分类"));
+        Order order = order(user, product, 3);
+        RuntimeException denied = assertThrows(RuntimeException.class,
+            () -> orderService.cancelOrder(other, order.getId()));
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        List<Runnable> actions = List.of(
+            () -> orderService.cancelOrder(user, order.getId()),
+            () -> orderService.updateOrderStatus(order.getId(), Order.OrderStatus.CANCELLED));
+        for (Runnable action : actions) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    action.run();
+                    return true;
+                } catch (RuntimeException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            succeeded += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Then
+        assertTrue(denied.getMessage().contains("无权限操作"));
+        assertEquals(1, succeeded);
+        assertEquals("CANCELLED", status(order));
+        assertEquals(8, stock(product));
+    }
+
+    private Order order(User user, Product product, int quantity) {
+        Order order = new Order(user, product.getPrice().multiply(BigDecimal.valueOf(quantity)), "状态地址");
+        order.addItem(new OrderItem(order, product, quantity, product.getPrice()));
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insertBatch(List.of(order)));
+        return order;
+    }
+
+    private String status(Order order) {
+        return jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = ?", String.class, order.getId());
+    }
+
+    private int stock(Product product) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, product.getId());
+    }
+}
@@ -0,0 +1,133 @@
+package com.fullstackmall.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullstackmall.dto.CreateOrderRequest;
+import com.fullstackmall.dto.OrderSummaryDto;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.entity.UserOrderView;
+import com.fullstackmall.repository.OrderRepository;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 订单列表查询语句数测试：一页订单的SQL条数固定，不随订单项数量增长；订单详情展示下单时的商品快照
+ * 开启统计会创建单独的测试上下文，使用独立的内存数据库，避免重建表结构时影响其他上下文的号段
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:order-summary-query;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class OrderSummaryQueryTest {
+
+    private static final int ORDERS = 12;
+    private static final int LINES = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private UserOrderStatsService userOrderStatsService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void findOrderViewsByUser_PageOfOrders_UsesConstantNumberOfStatements() throws Exception {
+        // Given
+        User user = userRepository.save(new User("summary-query-user", "summary-query@example.com", "password"));
+        List<Product> products = new ArrayList<>();
+        for (int j = 0; j < LINES; j++) {
+            products.add(productRepository.save(
+                new Product("列表商品" + j, "描述", new BigDecimal("2.00"), 1000, "列表分类")));
+        }
+        for (int i = 0; i < ORDERS; i++) {
+            List<CreateOrderRequest.OrderItemDto> items = new ArrayList<>();
+            for (int j = 0; j < LINES; j++) {
+                items.add(new CreateOrderRequest.OrderItemDto(products.get(j).getId(), j + 1));
+            }
+            orderService.createOrder(user, new CreateOrderRequest("测试地址", items));
+        }
+        while (outboxDispatcher.dispatchBatch() > 0) {
+            // 投递全部订单事件，写入读模型
+        }
+        userOrderStatsService.getStats(user.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // When
+        statistics.clear();
+        Page<UserOrderView> page = orderService.findOrderViewsByUser(user, PageRequest.of(0, 10));
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(page.getContent()));
+
+        // Then
+        // 一页订单是读模型上的一次范围扫描，总数取自已缓存的用户订单统计，不连接订单项
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(ORDERS, page.getTotalElements());
+        assertEquals(10, json.size());
+        assertTrue(json.get(0).get("orderId").isTextual());
+        assertEquals(LINES, json.get(0).get("itemCount").asInt());
+        assertEquals("列表商品0", json.get(0).get("firstItemName").asText());
+        assertFalse(json.get(0).has("user"));
+    }
+
+    @Test
+    void findSummaryById_ProductRenamedAfterOrder_ShowsSnapshotFromOrderTime() {
+        // Given
+        User user = userRepository.save(new User("summary-snapshot-user", "summary-snapshot@example.com", "password"));
+        Product product = productRepository.save(
+            new Product("快照前名称", "描述", new BigDecimal("8.00"), 10, "快照分类"));
+        Order order = new Order(user, new BigDecimal("8.00"), "测试地址");
+        order.addItem(new OrderItem(order, product, 1, product.getPrice()));
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insertBatch(List.of(order)));
+
+        // When
+        product.setName("快照后名称");
+        product.setCategory("新分类");
+        productRepository.save(product);
+        OrderSummaryDto summary = orderService.findSummaryById(order.getId()).orElseThrow();
+
+        // Then
+        OrderSummaryDto.ProductSnapshot snapshot = summary.getItems().get(0).getProduct();
+        assertEquals(product.getId(), snapshot.getId());
+        assertEquals("快照前名称", snapshot.getName());
+        assertEquals("快照分类", snapshot.getCategory());
+    }
+}
@@ -0,0 +1,140 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.OutboxEvent;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.repository.OrderRepository;
+import com.fullstackmall.repository.OutboxEventRepository;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 事务发件箱集成测试：事件随订单事务提交或回滚，分发失败后按退避间隔重新投递（至少一次）
+ * 使用独立的内存数据库，避免与其他测试上下文共享的数据影响断言
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:order-outbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingSubscriber subscriber;
+
+    @TestConfiguration
+    static class SubscriberConfig {
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+
+    /**
+     * 记录收到的事件，可设置为首次投递失败
+     */
+    static class RecordingSubscriber implements OutboxEventSubscriber {
+        private final List<OutboxEvent> received = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean failNext = new AtomicBoolean();
+
+        @Override
+        public void onEvent(OutboxEvent event) {
+            received.add(event);
+            if (failNext.compareAndSet(true, false)) {
+                throw new IllegalStateException("下游暂不可用");
+            }
+        }
+    }
+
+    @Test
+    void statusChange_WritesEventInSameTransactionAndDeliversAtLeastOnce() {
+        // Given
+        User user = userRepository.save(new User("outbox-user", "outbox@example.com", "password"));
+        Product product = productRepository.save(
+            new Product("发件箱商品", "描述", new BigDecimal("12.00"), 5, "发件箱分类"));
+        Order order = new Order(user, new BigDecimal("12.00"), "发件箱地址");
+        order.addItem(new OrderItem(order, product, 1, product.getPrice()));
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insertBatch(List.of(order)));
+
+        // 回滚的事务不留下事件，事务外写入被拒绝
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.statusChanged(List.of(order.getId()), Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED);
+            status.setRollbackOnly();
+        });
+        assertThrows(IllegalTransactionStateException.class, () -> outboxService.statusChanged(
+            List.of(order.getId()), Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED));
+        assertEquals(0, outboxEventRepository.count());
+
+        // When
+        orderService.updateOrderStatus(order.getId(), Order.OrderStatus.CONFIRMED);
+        subscriber.failNext.set(true);
+        int firstBatch = outboxDispatcher.dispatchBatch();
+
+        // Then
+        assertEquals(1, firstBatch);
+        OutboxEvent pending = outboxEventRepository.findAll().get(0);
+        assertEquals(OutboxEvent.Status.PENDING, pending.getStatus());
+        assertEquals(1, pending.getAttempts());
+        assertEquals("下游暂不可用", pending.getLastError());
+        assertTrue(pending.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        // 退避期间不重新投递，到达重试时间后投递成功
+        assertEquals(0, outboxDispatcher.dispatchBatch());
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = ? WHERE id = ?",
+            LocalDateTime.now().minusSeconds(1), pending.getId());
+        assertEquals(1, outboxDispatcher.dispatchBatch());
+        assertEquals(0, outboxDispatcher.dispatchBatch());
+        OutboxEvent published = outboxEventRepository.findById(pending.getId()).orElseThrow();
+        assertEquals(OutboxEvent.Status.PUBLISHED, published.getStatus());
+        assertNotNull(published.getPublishedAt());
+
+        assertEquals(2, subscriber.received.size());
+        OutboxEvent event = subscriber.received.get(1);
+        assertEquals(OutboxService.ORDER_STATUS_CHANGED, event.getEventType());
+        assertEquals(order.getId(), event.getAggregateId());
+        assertTrue(event.getPayload().contains("\"to\":\"CONFIRMED\""));
+    }
+}
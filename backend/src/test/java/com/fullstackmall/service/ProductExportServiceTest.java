@@ -0,0 +1,118 @@
+package com.fullstackmall.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 商品目录流式导出测试
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductExportServiceTest {
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // 关闭安全窗口，避免共享上下文中刚初始化的商品落入增量结果；需要窗口的用例单独设置
+        ReflectionTestUtils.setField(productExportService, "deltaOverlapSeconds", 0L);
+    }
+
+    @Test
+    void export_FullAndDelta_WritesGzipNdjson() throws Exception {
+        // Given
+        LocalDateTime since = LocalDateTime.now().minusSeconds(1);
+        Product product = productRepository.save(
+            new Product("导出商品", "第一行\n第二行", new BigDecimal("19.90"), 7, "导出分类"));
+
+        // When
+        ByteArrayOutputStream full = new ByteArrayOutputStream();
+        long fullRows = productExportService.export(null, full);
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        long deltaRows = productExportService.export(since, delta);
+
+        // Then
+        List<String> fullLines = gunzipLines(full.toByteArray());
+        assertEquals(productRepository.count(), fullRows);
+        assertEquals(fullRows, fullLines.size());
+
+        List<String> deltaLines = gunzipLines(delta.toByteArray());
+        assertEquals(deltaRows, deltaLines.size());
+        assertTrue(deltaRows < fullRows);
+        JsonNode exported = deltaLines.stream().map(this::parse)
+            .filter(node -> node.get("id").asLong() == product.getId())
+            .findFirst().orElseThrow();
+        assertEquals("第一行\n第二行", exported.get("description").asText());
+        assertEquals(0, new BigDecimal("19.90").compareTo(exported.get("price").decimalValue()));
+        assertEquals(7, exported.get("stock").asInt());
+    }
+
+    @Test
+    void export_Delta_IncludesLateCommittedRowsWithinOverlap() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(productExportService, "deltaOverlapSeconds", 5L);
+        LocalDateTime since = LocalDateTime.now().withNano(0);
+        Product late = productRepository.save(new Product("晚提交商品", "描述", new BigDecimal("1.00"), 1, "导出分类"));
+        Product boundary = productRepository.save(new Product("边界商品", "描述", new BigDecimal("1.00"), 1, "导出分类"));
+        Product stale = productRepository.save(new Product("过期商品", "描述", new BigDecimal("1.00"), 1, "导出分类"));
+        // 模拟提交前取值的更新时间：较晚提交的行时间戳早于或等于上一次导出的最后一行
+        jdbcTemplate.update("UPDATE products SET updated_at = ? WHERE id = ?", Timestamp.valueOf(since.minusSeconds(3)), late.getId());
+        jdbcTemplate.update("UPDATE products SET updated_at = ? WHERE id = ?", Timestamp.valueOf(since), boundary.getId());
+        jdbcTemplate.update("UPDATE products SET updated_at = ? WHERE id = ?", Timestamp.valueOf(since.minusSeconds(30)), stale.getId());
+
+        // When
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        productExportService.export(since, delta);
+
+        // Then
+        List<Long> ids = gunzipLines(delta.toByteArray()).stream().map(line -> parse(line).get("id").asLong()).toList();
+        assertTrue(ids.contains(late.getId()));
+        assertTrue(ids.contains(boundary.getId()));
+        assertFalse(ids.contains(stale.getId()));
+    }
+
+    private List<String> gunzipLines(byte[] bytes) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return text.isEmpty() ? List.of() : List.of(text.split("\n"));
+        }
+    }
+
+    private JsonNode parse(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.ProductImportResult;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 商品批量导入测试
+ */
+@SpringBootTest(properties = {
+    "product.import.chunk-size=2",
+    "product.import.max-record-chars=1024"
+})
+@ActiveProfiles("test")
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void importProducts_Csv_InsertsUpdatesAndReportsInvalidRows() throws Exception {
+        // Given
+        Product existing = productRepository.save(
+            new Product("导入前名称", "描述", new BigDecimal("1.00"), 1, "导入分类"));
+        String csv = "\uFEFFid,name,description,price,stock,category,image_url\r\n" +
+            ",导入商品A,\"多行\n描述, 含逗号\",10.50,5,导入分类,/images/a.svg\r\n" +
+            existing.getId() + ",导入后名称,,2.00,9,导入分类,\r\n" +
+            ",,缺少名称,3.00,1,导入分类,\r\n" +
+            ",价格错误,,abc,1,导入分类,\r\n" +
+            "999999999,不存在的商品,,1.00,1,导入分类,\r\n";
+
+        // When
+        ProductImportResult result = productImportService.importProducts(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductImportService.Format.CSV);
+
+        // Then
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals(3, result.getFailed());
+        assertTrue(result.getErrors().stream().anyMatch(e -> e.getRow() == 3 && e.getMessage().contains("商品名称不能为空")));
+        assertTrue(result.getErrors().stream().anyMatch(e -> e.getRow() == 4 && e.getMessage().contains("商品价格格式错误")));
+        assertTrue(result.getErrors().stream().anyMatch(e -> e.getRow() == 5 && e.getMessage().contains("商品不存在")));
+
+        Product updated = productRepository.findById(existing.getId()).orElseThrow();
+        assertEquals("导入后名称", updated.getName());
+        assertEquals(9, updated.getStock());
+        Product inserted = productRepository.findAll().stream()
+            .filter(p -> p.getName().equals("导入商品A")).findFirst().orElseThrow();
+        assertEquals("多行\n描述, 含逗号", inserted.getDescription());
+        assertEquals("/images/a.svg", inserted.getImageUrl());
+    }
+
+    @Test
+    void importProducts_Ndjson_InsertsValidLines() throws Exception {
+        // Given
+        String ndjson = "{\"name\":\"NDJSON商品\",\"price\":8.8,\"stock\":3,\"category\":\"导入分类\"}\n" +
+            "\n" +
+            "{\"name\":\"库存为负\",\"price\":1,\"stock\":-1,\"category\":\"导入分类\"}\n" +
+            "not json\n";
+
+        // When
+        ProductImportResult result = productImportService.importProducts(
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ProductImportService.Format.NDJSON);
+
+        // Then
+        assertEquals(1, result.getInserted());
+        assertEquals(2, result.getFailed());
+        assertTrue(result.getErrors().stream().anyMatch(e -> e.getRow() == 3 && e.getMessage().contains("商品库存不能小于0")));
+        assertTrue(result.getErrors().stream().anyMatch(e -> e.getRow() == 4 && e.getMessage().contains("JSON格式错误")));
+    }
+
+    @Test
+    void importProducts_CsvUnterminatedQuote_RejectsOversizedRecord() throws Exception {
+        // Given
+        String csv = "name,description,price,stock,category\r\n" +
+            "未闭合前的商品,,1.00,1,导入分类\r\n" +
+            "未闭合引号,\"描述" + "很长的内容\n".repeat(500);
+
+        // When
+        ProductImportResult result = productImportService.importProducts(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductImportService.Format.CSV);
+
+        // Then
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getFailed());
+        assertTrue(result.getErrors().stream().anyMatch(e -> e.getRow() == 2 && e.getMessage().contains("长度上限")));
+    }
+
+    @Test
+    void importProducts_NdjsonOversizedLine_RejectsOnlyThatLine() throws Exception {
+        // Given
+        String ndjson = "{\"name\":\"" + "超长".repeat(1000) + "\"}\n" +
+            "{\"name\":\"超长行之后的商品\",\"price\":1,\"stock\":1,\"category\":\"导入分类\"}\n";
+
+        // When
+        ProductImportResult result = productImportService.importProducts(
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ProductImportService.Format.NDJSON);
+
+        // Then
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getFailed());
+        assertTrue(result.getErrors().stream().anyMatch(e -> e.getRow() == 1 && e.getMessage().contains("长度上限")));
+    }
+
+    @Test
+    void importProducts_ChunkWriteFails_ReportsOnlyOffendingRow() throws Exception {
+        // Given
+        // 名称超过列长度，通过 Bean Validation 但在写入时失败；同一批次的另一条记录应正常写入
+        String csv = "name,price,stock,category\r\n" +
+            "同批正常商品,1.00,1,导入分类\r\n" +
+            "名".repeat(300) + ",1.00,1,导入分类\r\n";
+
+        // When
+        ProductImportResult result = productImportService.importProducts(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductImportService.Format.CSV);
+
+        // Then
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getFailed());
+        assertTrue(result.getErrors().stream().anyMatch(e -> e.getRow() == 2 && e.getMessage().contains("写入失败")));
+        assertTrue(productRepository.findAll().stream().anyMatch(p -> p.getName().equals("同批正常商品")));
+    }
+
+    @Test
+    void importProducts_CsvWithoutRequiredColumn_Rejected() {
+        String csv = "name,price,stock\r\n商品,1.00,1\r\n";
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+            productImportService.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductImportService.Format.CSV));
+        assertTrue(e.getMessage().contains("category"));
+    }
+}
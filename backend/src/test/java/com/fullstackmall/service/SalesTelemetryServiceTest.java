@@ -0,0 +1,104 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.LiveSales;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesTelemetryServiceTest {
+
+    private static final long START = 1_760_000_000_000L;
+
+    private SalesTelemetryService salesTelemetryService;
+    private AtomicLong clock;
+
+    @BeforeEach
+    void setUp() {
+        salesTelemetryService = new SalesTelemetryService();
+        clock = new AtomicLong(START);
+        ReflectionTestUtils.setField(salesTelemetryService, "secondSlots", 60);
+        ReflectionTestUtils.setField(salesTelemetryService, "minuteSlots", 60);
+        ReflectionTestUtils.setField(salesTelemetryService, "clock", (LongSupplier) clock::get);
+        salesTelemetryService.init();
+    }
+
+    @Test
+    void recordSaleAndCancellation_AggregatesPerSecondAndPerMinute() {
+        // Given
+        salesTelemetryService.recordSale(1999, Map.of("电子产品", 2, "图书", 1));
+        clock.addAndGet(1000);
+        salesTelemetryService.recordSale(500, Map.of("图书", 3));
+        salesTelemetryService.recordCancellations(1, 1999, Map.of("电子产品", 2, "图书", 1));
+
+        // When
+        LiveSales live = salesTelemetryService.getLiveSales();
+
+        // Then
+        assertEquals(60, live.getPerSecond().size());
+        LiveSales.Bucket current = live.getPerSecond().get(59);
+        assertEquals(1, current.getOrders());
+        assertEquals(new BigDecimal("5.00"), current.getRevenue());
+        assertEquals(1, current.getCancelledOrders());
+        assertEquals(new BigDecimal("19.99"), current.getRefunded());
+        assertEquals(1, live.getPerSecond().get(58).getOrders());
+
+        assertEquals(2, live.getLastMinute().getOrders());
+        assertEquals(new BigDecimal("24.99"), live.getLastMinute().getRevenue());
+        assertEquals(Map.of("电子产品", 0L, "图书", 3L), live.getLastMinute().getUnitsByCategory());
+        assertEquals(2, live.getLastHour().getOrders());
+    }
+
+    @Test
+    void getLiveSales_SlotReusedAfterOneFullRound_DropsOldData() {
+        // Given
+        salesTelemetryService.recordSale(100, Map.of());
+
+        // When
+        clock.addAndGet(60_000);
+        salesTelemetryService.recordSale(200, Map.of());
+        LiveSales live = salesTelemetryService.getLiveSales();
+
+        // Then
+        assertEquals(1, live.getLastMinute().getOrders());
+        assertEquals(new BigDecimal("2.00"), live.getLastMinute().getRevenue());
+        assertEquals(2, live.getLastHour().getOrders());
+    }
+
+    @Test
+    void recordSale_ConcurrentWriters_NoUpdatesLost() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    salesTelemetryService.recordSale(100, Map.of("电子产品", 1));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        LiveSales live = salesTelemetryService.getLiveSales();
+        assertEquals(80_000, live.getLastMinute().getOrders());
+        assertEquals(new BigDecimal("80000.00"), live.getLastMinute().getRevenue());
+        assertEquals(80_000L, live.getLastMinute().getUnitsByCategory().get("电子产品"));
+    }
+}
@@ -0,0 +1,126 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OrderItem;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.entity.UserOrderStats;
+import com.fullstackmall.repository.OrderRepository;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserOrderStatsRepository;
+import com.fullstackmall.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 用户订单统计集成测试：首次读取从订单表初始化统计行，下单和取消在事务中增量维护，缓存在提交后失效
+ * 使用独立的内存数据库，避免与其他测试上下文共享的数据影响断言
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:user-order-stats;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class UserOrderStatsServiceTest {
+
+    @Autowired
+    private UserOrderStatsService userOrderStatsService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserOrderStatsRepository userOrderStatsRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void getStats_MissingRow_InitializesFromOrders() {
+        // Given
+        User user = userRepository.save(new User("stats-init-user", "stats-init@example.com", "password"));
+        Product product = product();
+        insert(order(user, product, "10.00"), order(user, product, "20.00"));
+        Order cancelled = order(user, product, "5.00");
+        cancelled.setStatus(Order.OrderStatus.CANCELLED);
+        insert(cancelled);
+
+        // When
+        UserOrderStats stats = userOrderStatsService.getStats(user.getId());
+
+        // Then
+        assertEquals(3, stats.getOrderCount());
+        assertEquals(0, new BigDecimal("30.00").compareTo(stats.getTotalSpent()));
+        assertNotNull(stats.getLastOrderAt());
+        assertEquals(3, orderService.countByUserId(user.getId()));
+        assertTrue(userOrderStatsRepository.existsById(user.getId()));
+    }
+
+    @Test
+    void createAndCancel_UpdateRowInTransactionAndInvalidateCache() {
+        // Given
+        User user = userRepository.save(new User("stats-user", "stats@example.com", "password"));
+        Product product = product();
+        Order first = order(user, product, "12.00");
+        // 统计行不存在时，初始化聚合已包含本事务的订单，不能再叠加增量
+        record(first);
+        assertEquals(1, userOrderStatsService.getStats(user.getId()).getOrderCount());
+
+        // When
+        Order second = order(user, product, "8.00");
+        record(second);
+        UserOrderStats afterCreate = userOrderStatsService.getStats(user.getId());
+        Order rolledBack = order(user, product, "99.00");
+        transactionTemplate.executeWithoutResult(status -> {
+            orderRepository.insertBatch(List.of(rolledBack));
+            userOrderStatsService.recordCreated(List.of(rolledBack));
+            status.setRollbackOnly();
+        });
+        UserOrderStats afterRollback = userOrderStatsService.getStats(user.getId());
+        orderService.cancelOrder(user, second.getId());
+        UserOrderStats afterCancel = userOrderStatsService.getStats(user.getId());
+
+        // Then
+        assertEquals(2, afterCreate.getOrderCount());
+        assertEquals(0, new BigDecimal("20.00").compareTo(afterCreate.getTotalSpent()));
+        assertEquals(second.getCreatedAt().withNano(0), afterCreate.getLastOrderAt().withNano(0));
+        assertSame(afterCreate, afterRollback);
+        assertEquals(2, afterCancel.getOrderCount());
+        assertEquals(0, new BigDecimal("12.00").compareTo(afterCancel.getTotalSpent()));
+    }
+
+    private Product product() {
+        return productRepository.save(new Product("统计商品", "描述", new BigDecimal("1.00"), 1000, "统计分类"));
+    }
+
+    private Order order(User user, Product product, String amount) {
+        Order order = new Order(user, new BigDecimal(amount), "统计地址");
+        order.addItem(new OrderItem(order, product, 1, product.getPrice()));
+        return order;
+    }
+
+    private void insert(Order... orders) {
+        transactionTemplate.executeWithoutResult(status -> orderRepository.insertBatch(List.of(orders)));
+    }
+
+    private void record(Order order) {
+        transactionTemplate.executeWithoutResult(status -> {
+            orderRepository.insertBatch(List.of(order));
+            userOrderStatsService.recordCreated(List.of(order));
+        });
+    }
+}
@@ -0,0 +1,153 @@
+package com.fullstackmall.service;
+
+import com.fullstackmall.dto.CreateOrderRequest;
+import com.fullstackmall.entity.Order;
+import com.fullstackmall.entity.OutboxEvent;
+import com.fullstackmall.entity.Product;
+import com.fullstackmall.entity.User;
+import com.fullstackmall.entity.UserOrderView;
+import com.fullstackmall.repository.OutboxEventRepository;
+import com.fullstackmall.repository.ProductRepository;
+import com.fullstackmall.repository.UserOrderViewRepository;
+import com.fullstackmall.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 订单列表读模型集成测试：由发件箱事件维护，重复投递幂等，列表按下单时间倒序分页
+ * 使用独立的内存数据库，避免与其他测试上下文共享的数据影响断言
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:user-order-view;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class UserOrderViewProjectorTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private UserOrderViewProjector userOrderViewProjector;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserOrderViewRepository userOrderViewRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        userOrderViewRepository.deleteAll();
+    }
+
+    @Test
+    void orderEvents_MaintainViewIdempotently() {
+        // Given
+        User user = userRepository.save(new User("view-user", "view@example.com", "password"));
+        Product first = productRepository.save(new Product("读模型商品A", "描述", new BigDecimal("10.00"), 50, "读模型分类"));
+        Product second = productRepository.save(new Product("读模型商品B", "描述", new BigDecimal("3.50"), 50, "读模型分类"));
+        Order older = orderService.createOrder(user, new CreateOrderRequest("读模型地址",
+            List.of(new CreateOrderRequest.OrderItemDto(first.getId(), 1))));
+        Order newer = orderService.createOrder(user, new CreateOrderRequest("读模型地址", List.of(
+            new CreateOrderRequest.OrderItemDto(second.getId(), 2),
+            new CreateOrderRequest.OrderItemDto(first.getId(), 1))));
+
+        // When
+        outboxDispatcher.dispatchBatch();
+        orderService.cancelOrder(user, older.getId());
+        outboxDispatcher.dispatchBatch();
+        // 至少一次投递：重放全部事件不产生重复行，也不回退状态
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        events.forEach(userOrderViewProjector::onEvent);
+        Page<UserOrderView> page = orderService.findOrderViewsByUser(user, PageRequest.of(0, 1));
+
+        // Then
+        assertEquals(3, events.size());
+        assertEquals(2, userOrderViewRepository.count());
+        assertEquals(2, page.getTotalElements());
+        assertEquals(2, page.getTotalPages());
+        UserOrderView latest = page.getContent().get(0);
+        assertEquals(newer.getId(), latest.getOrderId());
+        assertEquals(2, latest.getItemCount());
+        assertEquals("读模型商品B", latest.getFirstItemName());
+        assertEquals(0, new BigDecimal("17.00").compareTo(latest.getTotalAmount()));
+        assertEquals(Order.OrderStatus.PENDING, latest.getStatus());
+
+        UserOrderView cancelled = orderService.findOrderViewsByUser(user, PageRequest.of(1, 1)).getContent().get(0);
+        assertEquals(older.getId(), cancelled.getOrderId());
+        assertEquals(Order.OrderStatus.CANCELLED, cancelled.getStatus());
+    }
+
+    @Test
+    void reconcile_EventsNeverDelivered_FillsMissingRowsAndStatus() {
+        // Given
+        User user = userRepository.save(new User("view-reconcile", "view-reconcile@example.com", "password"));
+        Product product = productRepository.save(new Product("校准商品", "描述", new BigDecimal("4.00"), 50, "读模型分类"));
+        Order delivered = orderService.createOrder(user, new CreateOrderRequest("读模型地址",
+            List.of(new CreateOrderRequest.OrderItemDto(product.getId(), 1))));
+        outboxDispatcher.dispatchBatch();
+        // 之后的事件都没有投递：相当于创建事件最终失败或发件箱被关闭
+        orderService.cancelOrder(user, delivered.getId());
+        Order missing = orderService.createOrder(user, new CreateOrderRequest("读模型地址",
+            List.of(new CreateOrderRequest.OrderItemDto(product.getId(), 3))));
+
+        // When
+        int repaired = userOrderViewProjector.reconcile(LocalDateTime.now().minusHours(1), LocalDateTime.now().plusSeconds(1));
+
+        // Then
+        assertEquals(2, repaired);
+        Page<UserOrderView> page = orderService.findOrderViewsByUser(user, PageRequest.of(0, 10));
+        assertEquals(List.of(missing.getId(), delivered.getId()),
+            page.getContent().stream().map(UserOrderView::getOrderId).toList());
+        assertEquals(Order.OrderStatus.PENDING, page.getContent().get(0).getStatus());
+        assertEquals(0, new BigDecimal("12.00").compareTo(page.getContent().get(0).getTotalAmount()));
+        assertEquals(Order.OrderStatus.CANCELLED, page.getContent().get(1).getStatus());
+        assertEquals(0, userOrderViewProjector.reconcile(LocalDateTime.now().minusHours(1), LocalDateTime.now().plusSeconds(1)));
+    }
+
+    @Test
+    void statusEventBeforeCreatedEvent_ViewFollowsOrdersTable() {
+        // Given
+        User user = userRepository.save(new User("view-reorder", "view-reorder@example.com", "password"));
+        Product product = productRepository.save(new Product("乱序商品", "描述", new BigDecimal("6.00"), 50, "读模型分类"));
+        Order order = orderService.createOrder(user, new CreateOrderRequest("读模型地址",
+            List.of(new CreateOrderRequest.OrderItemDto(product.getId(), 2))));
+        orderService.cancelOrder(user, order.getId());
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        OutboxEvent created = events.stream()
+            .filter(event -> event.getEventType().equals(OutboxService.ORDER_CREATED)).findFirst().orElseThrow();
+        OutboxEvent cancelled = events.stream()
+            .filter(event -> event.getEventType().equals(OutboxService.ORDER_STATUS_CHANGED)).findFirst().orElseThrow();
+
+        // When
+        // 创建事件首次投递失败，重试前状态变更事件先到达
+        userOrderViewProjector.onEvent(cancelled);
+        userOrderViewProjector.onEvent(created);
+
+        // Then
+        UserOrderView view = userOrderViewRepository.findAll().get(0);
+        assertEquals(Order.OrderStatus.CANCELLED, view.getStatus());
+        assertEquals(1, view.getItemCount());
+        assertEquals("乱序商品", view.getFirstItemName());
+        assertEquals(0, new BigDecimal("12.00").compareTo(view.getTotalAmount()));
+    }
+}
@@ -276,10 +276,10 @@ const Profile = () => {
             <>
               <div className="space-y-4">
                 {orders.map(order => (
-                  <div key={order.id} className="card">
+                  <div key={order.orderId} className="card">
                     <div className="flex justify-between items-start mb-4">
                       <div>
-                        <h4 className="font-semibold text-lg">订单号: {order.id}</h4>
+                        <h4 className="font-semibold text-lg">订单号: {order.orderId}</h4>
                         <p className="text-gray-600 text-sm">
                           下单时间: {new Date(order.createdAt).toLocaleString()}
                         </p>
@@ -289,26 +289,20 @@ const Profile = () => {
                       </span>
                     </div>
 
-                    <div className="mb-4">
-                      <h5 className="font-medium mb-2">商品列表:</h5>
-                      <div className="space-y-2">
-                        {order.items.map((item, index) => (
-                          <div key={index} className="flex items-center text-sm">
-                            <img
-                              src={item.product.imageUrl || 'https://via.placeholder.com/40x40'}
-                              alt={item.product.name}
-                              className="w-10 h-10 object-cover rounded mr-3"
-                              onError={(e) => {
-                                e.target.src = 'https://via.placeholder.com/40x40'
-                              }}
-                            />
-                            <div className="flex-1">
-                              <span className="font-medium">{item.product.name}</span>
-                              <span className="text-gray-500 ml-2">x{item.quantity}</span>
-                            </div>
-                            <span className="text-primary font-medium">¥{item.price}</span>
-                          </div>
-                        ))}
+                    <div className="mb-4 flex items-center text-sm">
+                      <img
+                        src={order.firstItemImageUrl || 'https://via.placeholder.com/40x40'}
+                        alt={order.firstItemName}
+                        className="w-10 h-10 object-cover rounded mr-3"
+                        onError={(e) => {
+                          e.target.src = 'https://via.placeholder.com/40x40'
+                        }}
+                      />
+                      <div className="flex-1">
+                        <span className="font-medium">{order.firstItemName}</span>
+                        {order.itemCount > 1 && (
+                          <span className="text-gray-500 ml-2">等 {order.itemCount} 种商品</span>
+                        )}
                       </div>
                     </div>
 
@@ -318,20 +312,17 @@ const Profile = () => {
                           <span className="text-lg font-bold text-primary">
                             总计: ¥{order.totalAmount}
                           </span>
-                          <div className="text-sm text-gray-500 mt-1">
-                            收货地址: {order.shippingAddress}
-                          </div>
                         </div>
                         <div className="space-x-2">
                           <Link
-                            to={`/orders/${order.id}`}
+                            to={`/orders/${order.orderId}`}
                             className="btn-secondary text-sm"
                           >
                             查看详情
                           </Link>
                           {(order.status === 'PENDING' || order.status === 'CONFIRMED') && (
                             <button
-                              onClick={() => cancelOrder(order.id)}
+                              onClick={() => cancelOrder(order.orderId)}
                               className="btn-outline text-sm text-red-600 border-red-600 hover:bg-red-50"
                             >
                               取消订单
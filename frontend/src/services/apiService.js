@@ -100,5 +100,10 @@ export const orderAPI = {
   // 取消订单
   cancelOrder: (id) => {
     return api.put(`/orders/${id}/cancel`)
+  },
+
+  // 再次购买：将订单中的商品加入购物车
+  reorder: (id) => {
+    return api.post(`/orders/${id}/reorder`)
   }
 }
\ No newline at end of file
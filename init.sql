@@ -56,7 +56,8 @@ CREATE TABLE IF NOT EXISTS products (
     FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE SET NULL,
     INDEX idx_category (category_id),
     INDEX idx_price (price),
-    INDEX idx_name (name)
+    INDEX idx_name (name),
+    INDEX idx_products_updated_at (updated_at)
 );
 
 -- 创建购物车表
@@ -83,24 +84,115 @@ CREATE TABLE IF NOT EXISTS orders (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
-    INDEX idx_user (user_id),
-    INDEX idx_status (status),
-    INDEX idx_created_at (created_at)
+    -- 复合索引对应管理员订单搜索：等值条件列在前，下单时间其次，金额在最后，分页与计数只读索引
+    INDEX idx_orders_user_created (user_id, created_at, total_amount),
+    INDEX idx_orders_status_created (status, created_at, total_amount),
+    INDEX idx_orders_created_amount (created_at, total_amount)
 );
 
 -- 创建订单明细表
 CREATE TABLE IF NOT EXISTS order_items (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     order_id BIGINT NOT NULL,
-    product_id BIGINT NOT NULL,
+    product_id BIGINT NULL,
+    product_name VARCHAR(255),
+    product_image_url VARCHAR(500),
+    product_category VARCHAR(100),
     quantity INT NOT NULL,
     price DECIMAL(10, 2) NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
-    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    -- 删除商品不影响历史订单，订单项依靠商品快照字段展示
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE SET NULL,
     INDEX idx_order (order_id)
 );
 
+-- 创建归档订单表（已送达、已取消且超过保留期的订单由归档任务迁移至此，只读）
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    shipping_address TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NULL,
+    archived_at TIMESTAMP NOT NULL,
+    INDEX idx_orders_archive_user_created (user_id, created_at),
+    INDEX idx_orders_archive_created_at (created_at)
+);
+
+-- 创建归档订单明细表（不关联商品表，依靠商品快照字段展示）
+CREATE TABLE IF NOT EXISTS order_items_archive (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NULL,
+    product_name VARCHAR(255),
+    product_image_url VARCHAR(500),
+    product_category VARCHAR(100),
+    quantity INT NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    FOREIGN KEY (order_id) REFERENCES orders_archive(id) ON DELETE CASCADE,
+    INDEX idx_order_items_archive_order (order_id)
+);
+
+-- 创建下单幂等键表
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(128) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    order_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    UNIQUE KEY uk_idempotency_user_key (user_id, idempotency_key),
+    INDEX idx_idempotency_expires_at (expires_at)
+);
+
+-- 创建订单事件发件箱表（与订单变更同一事务写入，异步投递）
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT PRIMARY KEY,
+    event_type VARCHAR(64) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(16) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP NULL,
+    INDEX idx_outbox_status_id (status, id)
+);
+
+-- 创建用户订单统计表（下单和取消时增量维护，个人中心按主键读取）
+CREATE TABLE IF NOT EXISTS user_order_stats (
+    user_id BIGINT PRIMARY KEY,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    total_spent DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    last_order_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- 创建用户订单列表读模型表（由订单事件异步维护；按用户聚簇存放，一页订单为一次主键范围扫描）
+CREATE TABLE IF NOT EXISTS user_order_view (
+    order_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    item_count INT NOT NULL,
+    first_item_name VARCHAR(255),
+    first_item_image_url VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NULL,
+    PRIMARY KEY (user_id, created_at, order_id),
+    UNIQUE KEY uk_user_order_view_order (order_id)
+);
+
+-- 创建主键号段表（按实体表名分段，首次分配时以各表最大ID+1为起始值）
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+
 -- 插入初始数据
 
 -- 插入管理员用户 (密码: admin123)